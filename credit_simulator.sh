@@ -26,6 +26,9 @@ JAR_PATTERN="target/credit_simulator-*.jar"
 CLEAN_BUILD=false
 RUN_TESTS=false
 INPUT_FILE=""
+BATCH_FILE=""
+BATCH_OUTPUT=""
+PIPE_MODE=false
 
 while [[ $# -gt 0 ]]; do
     case $1 in
@@ -41,6 +44,18 @@ while [[ $# -gt 0 ]]; do
             RUN_TESTS=true
             shift
             ;;
+        --pipe)
+            PIPE_MODE=true
+            shift
+            ;;
+        --batch)
+            BATCH_FILE="$2"
+            shift 2
+            if [[ $# -gt 0 && "$1" != -* ]]; then
+                BATCH_OUTPUT="$1"
+                shift
+            fi
+            ;;
         -*)
             log_error "Unknown option: $1"
             show_help
@@ -83,17 +98,23 @@ print_banner() {
 
 show_help() {
     echo "Usage: ./credit_simulator [OPTIONS] [INPUT_FILE]"
+    echo "       ./credit_simulator --batch LOANS_CSV [OUTPUT_CSV]"
+    echo "       ./credit_simulator --pipe < requests.ndjson > results.ndjson"
     echo ""
     echo "OPTIONS:"
     echo "  -h, --help     Show this help message"
     echo "  --clean        Clean build (remove target directory)"
     echo "  --test         Run unit tests"
+    echo "  --batch        Calculate every record of a CSV file (resumes an interrupted run)"
+    echo "  --pipe         Read NDJSON requests from stdin, write NDJSON results to stdout"
     echo ""
     echo "EXAMPLES:"
     echo "  ./credit_simulator                    # Interactive mode"
     echo "  ./credit_simulator file_inputs.txt   # File input mode"
     echo "  ./credit_simulator --clean           # Clean build first"
     echo "  ./credit_simulator --test            # Run with tests"
+    echo "  ./credit_simulator --batch loans.csv # Batch mode, results in loans.csv.result.csv"
+    echo "  ./credit_simulator --pipe < in.ndjson > out.ndjson  # Pipe mode"
     echo ""
 }
 
@@ -207,7 +228,21 @@ find_jar() {
 run_application() {
     local input_file="$1"
 
-    if [[ -z "$input_file" ]]; then
+    if [[ "$PIPE_MODE" == "true" ]]; then
+        # Results go to the original stdout (fd 3), everything else of this script to stderr
+        java -jar "$JAR_FILE" --pipe >&3
+        return $?
+    elif [[ -n "$BATCH_FILE" ]]; then
+        if [[ ! -f "$BATCH_FILE" ]]; then
+            log_error "Batch file not found: $BATCH_FILE"
+            return 1
+        fi
+
+        log_info "Processing batch file: $BATCH_FILE"
+        echo ""
+        echo -e "${BLUE}================================================================${RESET}"
+        java -jar "$JAR_FILE" --batch "$BATCH_FILE" $BATCH_OUTPUT --spring.main.web-application-type=none
+    elif [[ -z "$input_file" ]]; then
         log_info "Starting in interactive mode..."
         echo ""
         echo -e "${BLUE}================================================================${RESET}"
@@ -241,6 +276,11 @@ run_application() {
 # Main Execution
 # ============================================================================
 
+# In pipe mode stdout only carries results: keep it as fd 3 and send the script output to stderr
+if [[ "$PIPE_MODE" == "true" ]]; then
+    exec 3>&1 1>&2
+fi
+
 print_banner
 
 # System checks
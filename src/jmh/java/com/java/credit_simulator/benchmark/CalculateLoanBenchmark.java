@@ -0,0 +1,67 @@
+package com.java.credit_simulator.benchmark;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.service.CalculateLoanService;
+import com.java.credit_simulator.service.impl.CalculateLoanServiceImplement;
+import com.java.credit_simulator.service.impl.FixedPointCalculateLoanServiceImplement;
+import com.java.credit_simulator.util.IsExisting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Yearly amortization only, for every tenure and vehicle type on both calculation engines.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculateLoanBenchmark {
+    @Param({"big-decimal", "fixed-point"})
+    private String engine;
+
+    @Param({"Mobil", "Motor"})
+    private String vehicleType;
+
+    @Param({"1", "2", "3", "4", "5", "6"})
+    private int loanTenure;
+
+    private CalculateLoanService calculateLoanService;
+
+    private CalculateRequest request;
+
+    @Setup
+    public void setUp() {
+        calculateLoanService = "fixed-point".equals(engine)
+                ? FixedPointCalculateLoanServiceImplement.builder().build()
+                : CalculateLoanServiceImplement.builder().build();
+
+        request = CalculateRequest.builder()
+                .vehicleType(vehicleType)
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(387_088_560.04)
+                .loanTenure(loanTenure)
+                .downPayment(201_961_127.90)
+                .isExisting(IsExisting.N)
+                .build();
+    }
+
+    @Benchmark
+    public CalculateResponse calculate() {
+        return calculateLoanService.calculate(request);
+    }
+}
@@ -0,0 +1,115 @@
+package com.java.credit_simulator.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.service.impl.AuditLogServiceImplement;
+import com.java.credit_simulator.service.impl.CalculateLoanServiceImplement;
+import com.java.credit_simulator.service.impl.CalculateMetricsServiceImplement;
+import com.java.credit_simulator.service.impl.CalculationCacheServiceImplement;
+import com.java.credit_simulator.service.impl.CreditSimulatorServiceImplement;
+import com.java.credit_simulator.util.CreditSimulatorUtils;
+import com.java.credit_simulator.util.IsExisting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full service path (validation, cache lookup and calculation) plus the CreditSimulatorUtils
+ * arithmetic it is built from.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreditSimulatorBenchmark {
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    private CreditSimulatorServiceImplement creditSimulatorService;
+
+    private CalculateRequest request;
+
+    private CalculateRequest invalidRequest;
+
+    private final BigDecimal principalAmount = BigDecimal.valueOf(185_127_432.14);
+
+    private final BigDecimal rate = BigDecimal.valueOf(0.097);
+
+    private final BigDecimal months = BigDecimal.valueOf(36.0);
+
+    @Setup
+    public void setUp() {
+        creditSimulatorService = CreditSimulatorServiceImplement.builder()
+                .calculateLoanService(CalculateLoanServiceImplement.builder().build())
+                .thirdPartyService(() -> {
+                    throw new IllegalStateException("Benchmarks do not call the third party");
+                })
+                .calculationCacheService(new CalculationCacheServiceImplement(cacheEnabled, 10_000, Duration.ofMinutes(10)))
+                .calculateMetricsService(new CalculateMetricsServiceImplement(new SimpleMeterRegistry()))
+                .auditLogService(new AuditLogServiceImplement(false, 0, 16, new ObjectMapper(), new SimpleMeterRegistry()))
+                .build();
+
+        request = CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(387_088_560.04)
+                .loanTenure(6)
+                .downPayment(201_961_127.90)
+                .isExisting(IsExisting.N)
+                .build();
+
+        invalidRequest = CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(387_088_560.04)
+                .loanTenure(6)
+                .downPayment(1_000_000.0)
+                .isExisting(IsExisting.N)
+                .build();
+    }
+
+    @Benchmark
+    public CalculateResponse calculate() {
+        return creditSimulatorService.calculate(request);
+    }
+
+    @Benchmark
+    public Object calculateInvalidRequest() {
+        try {
+            return creditSimulatorService.calculate(invalidRequest);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public void utilsArithmetic(Blackhole blackhole) {
+        BigDecimal interestAmount = CreditSimulatorUtils.getInterestAmount(principalAmount, rate);
+        BigDecimal totalLoanAmount = CreditSimulatorUtils.getTotalLoanAmount(principalAmount, interestAmount);
+        BigDecimal installmentMonthly = CreditSimulatorUtils.getInstallmentMonthly(totalLoanAmount, months);
+        BigDecimal installmentYearly = CreditSimulatorUtils.getInstallmentYearly(installmentMonthly);
+
+        blackhole.consume(CreditSimulatorUtils.formatBigDecimal(totalLoanAmount));
+        blackhole.consume(CreditSimulatorUtils.getPrincipalAmount(
+                totalLoanAmount.doubleValue(), installmentYearly.doubleValue()));
+    }
+}
@@ -0,0 +1,223 @@
+package com.java.credit_simulator.benchmark;
+
+import com.java.credit_simulator.CreditSimulatorApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and latency of {@code /calculate} with Tomcat on its platform thread pool and on
+ * virtual threads, under a mix of local ({@code isExisting=N}) and remote ({@code isExisting=Y})
+ * requests. The third party is a local stub that answers after a fixed delay; the existing data and
+ * calculation caches are disabled so every remote request waits on it.
+ *
+ * <p>Virtual threads need Java 21, run with:
+ * {@code mvn -Pbenchmark,java21 test-compile exec:exec@compare-thread-modes}. On an older JVM only
+ * the platform mode is measured.
+ *
+ * <p>Options: {@code --concurrency 400 --duration 20 --warmup 5 --remote-ratio 0.3 --upstream-latency 100}
+ * (durations in seconds, latency in milliseconds).
+ */
+public final class ThreadModeComparison {
+    private static final String EXISTING_DATA = "{\"vehicleType\":\"Mobil\",\"vehicleCondition\":\"Bekas\","
+            + "\"vehicleYear\":2024,\"totalLoanAmount\":100000000,\"loanTenure\":3,\"downPayment\":25000000,"
+            + "\"isExisting\":\"Y\"}";
+
+    private static final String REQUEST = "{\"vehicleType\":\"%s\",\"vehicleCondition\":\"Bekas\","
+            + "\"vehicleYear\":2024,\"totalLoanAmount\":%d,\"loanTenure\":%d,\"downPayment\":%d,\"isExisting\":\"%s\"}";
+
+    private ThreadModeComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = intOption(args, "--concurrency", 400);
+        int durationSeconds = intOption(args, "--duration", 20);
+        int warmupSeconds = intOption(args, "--warmup", 5);
+        double remoteRatio = Double.parseDouble(option(args, "--remote-ratio", "0.3"));
+        int upstreamLatencyMillis = intOption(args, "--upstream-latency", 100);
+
+        HttpServer upstream = startUpstream(upstreamLatencyMillis);
+        String upstreamUrl = "http://127.0.0.1:" + upstream.getAddress().getPort() + "/existing";
+
+        List<String> rows = new ArrayList<>();
+        try {
+            rows.add(run(false, upstreamUrl, concurrency, warmupSeconds, durationSeconds, remoteRatio));
+            if (Runtime.version().feature() >= 21) {
+                rows.add(run(true, upstreamUrl, concurrency, warmupSeconds, durationSeconds, remoteRatio));
+            } else {
+                System.out.println("Java " + Runtime.version().feature() + ": virtual threads need Java 21, skipped");
+            }
+        } finally {
+            upstream.stop(0);
+        }
+
+        System.out.printf("%nconcurrency=%d remote-ratio=%.2f upstream-latency=%dms duration=%ds%n",
+                concurrency, remoteRatio, upstreamLatencyMillis, durationSeconds);
+        System.out.printf("%-10s %10s %8s %12s %10s %10s%n", "mode", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+        rows.forEach(System.out::println);
+    }
+
+    private static String run(boolean virtualThreads, String upstreamUrl, int concurrency, int warmupSeconds,
+                              int durationSeconds, double remoteRatio) throws Exception {
+        // Command line arguments, so they take precedence over application.properties. The file input keeps
+        // the console view from waiting on stdin
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CreditSimulatorApplication.class).run(
+                "file_inputs.txt",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--third-party.url=" + upstreamUrl,
+                "--third-party.cache.enabled=false",
+                "--third-party.http.max-total=" + concurrency,
+                "--third-party.http.max-per-route=" + concurrency,
+                "--third-party.http.connection-request-timeout=30s",
+                "--third-party.bulkhead.max-concurrent-calls=" + concurrency,
+                "--third-party.snapshot-file=" + Files.createTempDirectory("thread-mode-comparison").resolve("snapshot.json"),
+                "--credit-simulator.cache.enabled=false",
+                "--credit-simulator.audit.enabled=false");
+
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI uri = URI.create("http://127.0.0.1:" + port + "/api/v1/loan/calculate");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+            drive(client, uri, concurrency, warmupSeconds, remoteRatio, null);
+            long[][] latencies = new long[concurrency][];
+            long requests = drive(client, uri, concurrency, durationSeconds, remoteRatio, latencies);
+            long errors = Arrays.stream(latencies).mapToLong(l -> l[0]).sum();
+
+            long[] all = Arrays.stream(latencies)
+                    .flatMapToLong(l -> Arrays.stream(l, 1, l.length))
+                    .sorted()
+                    .toArray();
+            return String.format("%-10s %10d %8d %12.1f %10.1f %10.1f",
+                    virtualThreads ? "virtual" : "platform", requests, errors, requests / (double) durationSeconds,
+                    percentileMillis(all, 0.50), percentileMillis(all, 0.99));
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Each client thread sends requests back to back until the time is up. Element 0 of a client's
+     * latency array is its error count, the rest are latencies in nanos.
+     */
+    private static long drive(HttpClient client, URI uri, int concurrency, int seconds, double remoteRatio,
+                              long[][] latencies) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong requests = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            int clientIndex = i;
+            clients.execute(() -> {
+                long[] samples = new long[1024];
+                int count = 1;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(nextBody(remoteRatio)))
+                                .build();
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, samples.length * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                        if (!ok) {
+                            samples[0]++;
+                        }
+                        requests.incrementAndGet();
+                    }
+                } finally {
+                    if (latencies != null) {
+                        latencies[clientIndex] = Arrays.copyOf(samples, count);
+                    }
+                    done.countDown();
+                }
+            });
+        }
+
+        done.await();
+        clients.shutdown();
+        return requests.get();
+    }
+
+    private static String nextBody(double remoteRatio) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long totalLoanAmount = random.nextLong(10_000_000, 1_000_000_000);
+        return String.format(REQUEST, random.nextBoolean() ? "Mobil" : "Motor", totalLoanAmount,
+                random.nextInt(1, 7), totalLoanAmount / 2, random.nextDouble() < remoteRatio ? "Y" : "N");
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static HttpServer startUpstream(int latencyMillis) throws Exception {
+        // The JDK server closes keep-alive connections above 200 idle ones, which the pooled client would
+        // then find closed under it
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "10000");
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/existing", exchange -> {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = EXISTING_DATA.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        return server;
+    }
+
+    private static int intOption(String[] args, String name, int defaultValue) {
+        return Integer.parseInt(option(args, name, String.valueOf(defaultValue)));
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -1,13 +1,25 @@
 package com.java.credit_simulator;
 
+import org.springframework.boot.Banner;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Arrays;
+import java.util.Map;
+
 @SpringBootApplication
 public class CreditSimulatorApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(CreditSimulatorApplication.class, args);
+		SpringApplication application = new SpringApplication(CreditSimulatorApplication.class);
+		if (Arrays.asList(args).contains("--pipe")) {
+			// stdout carries the results: no banner, no console logging and no web server
+			application.setBannerMode(Banner.Mode.OFF);
+			application.setWebApplicationType(WebApplicationType.NONE);
+			application.setDefaultProperties(Map.of("logging.threshold.console", "OFF"));
+		}
+		application.run(args);
 	}
 
 }
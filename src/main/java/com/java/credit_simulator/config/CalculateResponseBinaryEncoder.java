@@ -0,0 +1,55 @@
+package com.java.credit_simulator.config;
+
+import com.java.credit_simulator.util.CalculateResponseBinaryWriter;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * WebFlux counterpart of the binary converter in {@link CalculateResponseConverterConfig}. Every
+ * element of a {@code Flux} is a complete message, header included.
+ */
+final class CalculateResponseBinaryEncoder extends AbstractEncoder<Object> {
+    CalculateResponseBinaryEncoder() {
+        super(CalculateResponseConverterConfig.LOAN_BINARY);
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+        return CalculateResponseBody.of(elementType) != null && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, @Nullable MimeType mimeType,
+                                   @Nullable Map<String, Object> hints) {
+        return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        CalculateResponseBinaryWriter writer;
+        try {
+            writer = CalculateResponseBody.of(valueType).write(value, CalculateResponseBinaryWriter.get());
+        } catch (IllegalArgumentException e) {
+            throw new EncodingException(e.getMessage(), e);
+        }
+        DataBuffer buffer = bufferFactory.allocateBuffer(writer.size());
+        try {
+            writer.writeTo(buffer.asOutputStream());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return buffer;
+    }
+}
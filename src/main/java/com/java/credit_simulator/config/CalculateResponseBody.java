@@ -0,0 +1,52 @@
+package com.java.credit_simulator.config;
+
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.WebResponse;
+import com.java.credit_simulator.util.CalculateResponseBinaryWriter;
+import com.java.credit_simulator.util.CalculateResponseJsonWriter;
+import org.springframework.core.ResolvableType;
+
+import java.util.List;
+
+/**
+ * Response bodies written by {@link CalculateResponseJsonWriter} instead of Jackson, and the ones
+ * that can be sent as {@value CalculateResponseBinaryWriter#MEDIA_TYPE_VALUE}.
+ */
+enum CalculateResponseBody {
+    /** {@code WebResponse<CalculateResponse>} */
+    RESPONSE,
+
+    /** {@code WebResponse<List<WebResponse<CalculateResponse>>>} */
+    BATCH;
+
+    /**
+     * @return the body {@code type} declares, {@code null} when Jackson should write it
+     */
+    static CalculateResponseBody of(ResolvableType type) {
+        if (type == null || type.resolve() != WebResponse.class) {
+            return null;
+        }
+        ResolvableType data = type.getGeneric(0);
+        if (data.resolve() == CalculateResponse.class) {
+            return RESPONSE;
+        }
+        if (data.resolve() == List.class && of(data.getGeneric(0)) == RESPONSE) {
+            return BATCH;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    CalculateResponseJsonWriter write(Object body, CalculateResponseJsonWriter writer) {
+        return this == RESPONSE
+                ? writer.writeResponse((WebResponse<CalculateResponse>) body)
+                : writer.writeBatch((WebResponse<List<WebResponse<CalculateResponse>>>) body);
+    }
+
+    @SuppressWarnings("unchecked")
+    CalculateResponseBinaryWriter write(Object body, CalculateResponseBinaryWriter writer) {
+        return this == RESPONSE
+                ? writer.writeResponse((WebResponse<CalculateResponse>) body)
+                : writer.writeBatch((WebResponse<List<WebResponse<CalculateResponse>>>) body);
+    }
+}
@@ -0,0 +1,113 @@
+package com.java.credit_simulator.config;
+
+import com.java.credit_simulator.service.CalculateMetricsService;
+import com.java.credit_simulator.util.CalculateResponseBinaryWriter;
+import com.java.credit_simulator.util.CalculateResponseJsonWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes calculate and batch responses with {@link CalculateResponseJsonWriter}, ahead of the
+ * Jackson converter, and with {@link CalculateResponseBinaryWriter} when the caller accepts
+ * {@value CalculateResponseBinaryWriter#MEDIA_TYPE_VALUE}. Every other body still goes through
+ * Jackson.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CalculateResponseConverterConfig implements WebMvcConfigurer {
+    static final MediaType LOAN_BINARY = MediaType.parseMediaType(CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE);
+
+    private final CalculateMetricsService calculateMetricsService;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new CalculateResponseJsonHttpMessageConverter(calculateMetricsService));
+        converters.add(1, new CalculateResponseBinaryHttpMessageConverter(calculateMetricsService));
+    }
+
+    private abstract static class CalculateResponseHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+        final CalculateMetricsService calculateMetricsService;
+
+        CalculateResponseHttpMessageConverter(CalculateMetricsService calculateMetricsService, MediaType mediaType) {
+            super(mediaType);
+            this.calculateMetricsService = calculateMetricsService;
+        }
+
+        @Override
+        protected boolean supports(Class<?> clazz) {
+            return false;
+        }
+
+        @Override
+        public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+            return type != null && CalculateResponseBody.of(ResolvableType.forType(type)) != null && canWrite(mediaType);
+        }
+
+        @Override
+        public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+            throw new UnsupportedOperationException("Only writes responses");
+        }
+
+        @Override
+        protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+            throw new UnsupportedOperationException("Only writes responses");
+        }
+    }
+
+    private static final class CalculateResponseJsonHttpMessageConverter extends CalculateResponseHttpMessageConverter {
+        private CalculateResponseJsonHttpMessageConverter(CalculateMetricsService calculateMetricsService) {
+            super(calculateMetricsService, MediaType.APPLICATION_JSON);
+        }
+
+        @Override
+        protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage)
+                throws IOException {
+            long start = System.nanoTime();
+            CalculateResponseJsonWriter writer = CalculateResponseBody.of(ResolvableType.forType(type))
+                    .write(body, CalculateResponseJsonWriter.get());
+            calculateMetricsService.recordStage(CalculateMetricsService.STAGE_SERIALIZATION, System.nanoTime() - start);
+            writer.writeTo(outputMessage.getBody());
+        }
+    }
+
+    private static final class CalculateResponseBinaryHttpMessageConverter extends CalculateResponseHttpMessageConverter {
+        private CalculateResponseBinaryHttpMessageConverter(CalculateMetricsService calculateMetricsService) {
+            super(calculateMetricsService, LOAN_BINARY);
+        }
+
+        @Override
+        protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage)
+                throws IOException {
+            long start = System.nanoTime();
+            CalculateResponseBinaryWriter writer;
+            try {
+                writer = CalculateResponseBody.of(ResolvableType.forType(type))
+                        .write(body, CalculateResponseBinaryWriter.get());
+            } catch (IllegalArgumentException e) {
+                throw new HttpMessageNotWritableException(e.getMessage(), e);
+            }
+            calculateMetricsService.recordStage(CalculateMetricsService.STAGE_SERIALIZATION, System.nanoTime() - start);
+            writer.writeTo(outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.java.credit_simulator.config;
+
+import com.java.credit_simulator.util.CalculateResponseJsonWriter;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * WebFlux counterpart of the converter in {@link CalculateResponseConverterConfig}: calculate and batch
+ * responses, single or as an NDJSON stream, written with {@link CalculateResponseJsonWriter}. A
+ * {@code Flux} sent as {@code application/json} becomes a JSON array, as with Jackson.
+ */
+final class CalculateResponseJsonEncoder extends AbstractEncoder<Object> {
+    private static final byte[] ARRAY_START = {'['};
+
+    private static final byte[] ARRAY_END = {']'};
+
+    CalculateResponseJsonEncoder() {
+        super(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON);
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+        return CalculateResponseBody.of(elementType) != null && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, @Nullable MimeType mimeType,
+                                   @Nullable Map<String, Object> hints) {
+        CalculateResponseBody body = CalculateResponseBody.of(elementType);
+        if (inputStream instanceof Mono) {
+            return Mono.from(inputStream).map(value -> encode(body, value, bufferFactory, false, false)).flux();
+        }
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(mimeType)) {
+            return Flux.from(inputStream).map(value -> encode(body, value, bufferFactory, false, true));
+        }
+        return Flux.concat(
+                Mono.fromCallable(() -> bufferFactory.wrap(ARRAY_START)),
+                Flux.from(inputStream).index()
+                        .map(indexed -> encode(body, indexed.getT2(), bufferFactory, indexed.getT1() > 0, false)),
+                Mono.fromCallable(() -> bufferFactory.wrap(ARRAY_END)));
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        return encode(CalculateResponseBody.of(valueType), value, bufferFactory, false, false);
+    }
+
+    private static DataBuffer encode(CalculateResponseBody body, Object value, DataBufferFactory bufferFactory,
+                                     boolean separator, boolean newLine) {
+        CalculateResponseJsonWriter writer = body.write(value, CalculateResponseJsonWriter.get());
+        if (newLine) {
+            writer.writeNewLine();
+        }
+        DataBuffer buffer = bufferFactory.allocateBuffer(writer.size() + 1);
+        if (separator) {
+            buffer.write((byte) ',');
+        }
+        try {
+            writer.writeTo(buffer.asOutputStream());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return buffer;
+    }
+}
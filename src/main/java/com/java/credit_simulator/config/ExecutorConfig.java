@@ -0,0 +1,62 @@
+package com.java.credit_simulator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+    @Value("${credit-simulator.calculation.pool-size:0}")
+    private int poolSize;
+
+    @Value("${credit-simulator.calculation.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${credit-simulator.stream.pool-size:16}")
+    private int streamPoolSize;
+
+    @Value("${credit-simulator.stream.queue-capacity:64}")
+    private int streamQueueCapacity;
+
+    /**
+     * Bounded pool used to fan out batch calculations. When the queue is full the submitting
+     * thread runs the task itself, so a huge batch slows down instead of being rejected. The
+     * threads are daemons so a CLI run without a web server exits once its work is written.
+     */
+    @Bean(name = "calculationExecutor")
+    public ThreadPoolTaskExecutor calculationExecutor() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("calculation-");
+        executor.setDaemon(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded pool running streamed responses (NDJSON stream, CSV export) off the servlet thread.
+     * Each stream holds its thread while it blocks on the connection, so these never share the CPU-bound
+     * {@code calculationExecutor}. Once the pool and queue are full new streams are rejected.
+     */
+    @Bean(name = "streamExecutor")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ThreadPoolTaskExecutor streamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamPoolSize);
+        executor.setMaxPoolSize(streamPoolSize);
+        executor.setQueueCapacity(streamQueueCapacity);
+        executor.setThreadNamePrefix("stream-");
+        executor.initialize();
+        return executor;
+    }
+}
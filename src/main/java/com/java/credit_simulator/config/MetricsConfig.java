@@ -0,0 +1,102 @@
+package com.java.credit_simulator.config;
+
+import com.java.credit_simulator.service.CalculateMetricsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Times the two MVC stages that run outside the service: bean validation of {@code @Valid} request
+ * bodies and JSON serialization of the response.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class MetricsConfig implements WebMvcConfigurer {
+    private final jakarta.validation.Validator validator;
+
+    private final CalculateMetricsService calculateMetricsService;
+
+    @Override
+    public Validator getValidator() {
+        return new TimedValidator(new SpringValidatorAdapter(validator), calculateMetricsService);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jacksonConverter) {
+                converters.set(i, new TimedJacksonHttpMessageConverter(jacksonConverter, calculateMetricsService));
+            }
+        }
+    }
+
+    private static final class TimedValidator implements SmartValidator {
+        private final SmartValidator delegate;
+
+        private final CalculateMetricsService calculateMetricsService;
+
+        private TimedValidator(SmartValidator delegate, CalculateMetricsService calculateMetricsService) {
+            this.delegate = delegate;
+            this.calculateMetricsService = calculateMetricsService;
+        }
+
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return delegate.supports(clazz);
+        }
+
+        @Override
+        public void validate(Object target, Errors errors) {
+            validate(target, errors, new Object[0]);
+        }
+
+        @Override
+        public void validate(Object target, Errors errors, Object... validationHints) {
+            long start = System.nanoTime();
+            delegate.validate(target, errors, validationHints);
+            calculateMetricsService.recordStage(CalculateMetricsService.STAGE_BEAN_VALIDATION, System.nanoTime() - start);
+
+            for (ObjectError error : errors.getAllErrors()) {
+                String source = error instanceof FieldError fieldError ? fieldError.getField() : error.getObjectName();
+                calculateMetricsService.countValidationFailure(source + "." + error.getCode());
+            }
+        }
+    }
+
+    private static final class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+        private final CalculateMetricsService calculateMetricsService;
+
+        private TimedJacksonHttpMessageConverter(MappingJackson2HttpMessageConverter converter,
+                                                 CalculateMetricsService calculateMetricsService) {
+            super(converter.getObjectMapper());
+            setSupportedMediaTypes(converter.getSupportedMediaTypes());
+            this.calculateMetricsService = calculateMetricsService;
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                calculateMetricsService.recordStage(CalculateMetricsService.STAGE_SERIALIZATION,
+                        System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.java.credit_simulator.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Beans of the reactive variant ({@code --spring.profiles.active=reactive}).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig implements WebFluxConfigurer {
+    @Value("${credit-simulator.calculation.pool-size:0}")
+    private int poolSize;
+
+    @Value("${third-party.url}")
+    private String thirdPartyUrl;
+
+    @Value("${third-party.http.max-total:50}")
+    private int maxTotal;
+
+    @Value("${third-party.http.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${third-party.http.response-timeout:5s}")
+    private Duration responseTimeout;
+
+    @Value("${third-party.http.connection-request-timeout:1s}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${third-party.http.idle-eviction:30s}")
+    private Duration idleEviction;
+
+    /**
+     * Calculate and batch responses are written by {@link CalculateResponseJsonEncoder}, ahead of Jackson,
+     * or by {@link CalculateResponseBinaryEncoder} when the caller accepts the binary format.
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new CalculateResponseJsonEncoder());
+        configurer.customCodecs().register(new CalculateResponseBinaryEncoder());
+    }
+
+    /**
+     * Bounded pool for the CPU-bound calculation, so it never runs on a server event-loop thread.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler calculationScheduler() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newParallel("calculation", threads);
+    }
+
+    /**
+     * Non-blocking client for the third party, with the same pool limits and timeouts as the
+     * blocking client in {@link RestTemplateConfig}.
+     */
+    @Bean
+    public WebClient thirdPartyWebClient(WebClient.Builder webClientBuilder) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("third-party")
+                .maxConnections(maxTotal)
+                .pendingAcquireTimeout(connectionRequestTimeout)
+                .maxIdleTime(idleEviction)
+                .evictInBackground(idleEviction)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+
+        return webClientBuilder
+                .baseUrl(thirdPartyUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -1,13 +1,80 @@
 package com.java.credit_simulator.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
+    private final int maxTotal;
+
+    private final int maxPerRoute;
+
+    private final Duration connectTimeout;
+
+    private final Duration responseTimeout;
+
+    private final Duration connectionRequestTimeout;
+
+    private final Duration idleEviction;
+
+    public RestTemplateConfig(@Value("${third-party.http.max-total:50}") int maxTotal,
+                              @Value("${third-party.http.max-per-route:20}") int maxPerRoute,
+                              @Value("${third-party.http.connect-timeout:2s}") Duration connectTimeout,
+                              @Value("${third-party.http.response-timeout:5s}") Duration responseTimeout,
+                              @Value("${third-party.http.connection-request-timeout:1s}") Duration connectionRequestTimeout,
+                              @Value("${third-party.http.idle-eviction:30s}") Duration idleEviction) {
+        this.maxTotal = maxTotal;
+        this.maxPerRoute = maxPerRoute;
+        this.connectTimeout = connectTimeout;
+        this.responseTimeout = responseTimeout;
+        this.connectionRequestTimeout = connectionRequestTimeout;
+        this.idleEviction = idleEviction;
+    }
+
+    /**
+     * Pooled keep-alive client for the third party. Every wait is bounded: opening a connection,
+     * waiting for a free connection from the pool and waiting for the response, so a slow upstream
+     * cannot hold request threads indefinitely. Idle and expired connections are closed by a
+     * background evictor.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient thirdPartyHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient thirdPartyHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(thirdPartyHttpClient));
     }
 }
@@ -0,0 +1,43 @@
+package com.java.credit_simulator.controller;
+
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.CalculationRecord;
+import com.java.credit_simulator.model.WebResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+
+/**
+ * Calculate and calculation lookup bodies shared by the servlet and reactive controllers.
+ */
+final class CalculationResponses {
+    static final String CALCULATION_ID_HEADER = "X-Calculation-Id";
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    static final String SCHEDULE_CSV_DISPOSITION = "attachment; filename=\"schedule.csv\"";
+
+    private CalculationResponses() {
+    }
+
+    static ResponseEntity<WebResponse<CalculateResponse>> calculated(CalculateResponse response, Long calculationId) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (calculationId != null) {
+            builder.header(CALCULATION_ID_HEADER, calculationId.toString());
+        }
+        return builder.body(WebResponse.<CalculateResponse>builder().data(response).build());
+    }
+
+    static ResponseEntity<WebResponse<CalculationRecord>> calculation(long id, Optional<CalculationRecord> calculation) {
+        return calculation
+                .map(record -> ResponseEntity.ok(WebResponse.<CalculationRecord>builder().data(record).build()))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(WebResponse.<CalculationRecord>builder()
+                                .errors(String.format("Calculation %d not found", id))
+                                .build()));
+    }
+}
@@ -1,47 +1,285 @@
 package com.java.credit_simulator.controller;
 
+import com.java.credit_simulator.model.AffordabilityRequest;
+import com.java.credit_simulator.model.AffordabilityResponse;
 import com.java.credit_simulator.model.CalculateRequest;
 import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.CalculationCacheStatsResponse;
+import com.java.credit_simulator.model.CalculationRecord;
+import com.java.credit_simulator.model.InterestRateScheduleResponse;
+import com.java.credit_simulator.model.MonthlySchedulePage;
+import com.java.credit_simulator.model.SweepRequest;
+import com.java.credit_simulator.model.SweepResponse;
 import com.java.credit_simulator.model.WebResponse;
+import com.java.credit_simulator.service.AffordabilityService;
+import com.java.credit_simulator.service.BatchCalculateService;
+import com.java.credit_simulator.service.CalculationCacheService;
+import com.java.credit_simulator.service.CalculationHistoryService;
 import com.java.credit_simulator.service.CreditSimulatorService;
+import com.java.credit_simulator.service.MonthlyScheduleService;
+import com.java.credit_simulator.service.StreamCalculateService;
+import com.java.credit_simulator.service.SweepCalculateService;
+import com.java.credit_simulator.util.CalculateResponseBinaryWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/loan")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Credit Simulator", description = "API for vehicle loan simulation")
 public class CreditSimulatorController {
+    /** Servlet async timeout meaning no timeout */
+    private static final long STREAM_TIMEOUT_NONE = -1;
 
     private final CreditSimulatorService creditSimulatorService;
 
+    private final BatchCalculateService batchCalculateService;
+
+    private final StreamCalculateService streamCalculateService;
+
+    private final SweepCalculateService sweepCalculateService;
+
+    private final AffordabilityService affordabilityService;
+
+    private final MonthlyScheduleService monthlyScheduleService;
+
+    private final CalculationCacheService calculationCacheService;
+
+    private final CalculationHistoryService calculationHistoryService;
+
+    private final AsyncTaskExecutor streamExecutor;
+
     @Operation(
             summary = "Calculate vehicle loan simulation",
             description = "Calculate monthly installments based on vehicle loan amount and tenure requested"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully calculated loan simulation",
-                    content = @Content(mediaType = "application/json")),
+                    content = {@Content(mediaType = "application/json"),
+                            @Content(mediaType = CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE)}),
             @ApiResponse(responseCode = "400", description = "Invalid input data"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping(
             path = "/calculate",
+            produces = {MediaType.APPLICATION_JSON_VALUE, CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE},
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<WebResponse<CalculateResponse>> calculate(@RequestBody CalculateRequest request){
+        CalculateResponse response = creditSimulatorService.calculate(request);
+        return CalculationResponses.calculated(response, calculationHistoryService.save(request, response));
+    }
+
+    @Operation(
+            summary = "Get a stored calculation",
+            description = "Get a calculation by the id returned in the X-Calculation-Id header of the calculate call, "
+                    + "instead of calculating it again"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Calculation found",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Unknown id or past retention")
+    })
+    @GetMapping(
+            path = "/calculations/{id}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<WebResponse<CalculationRecord>> calculation(@PathVariable long id){
+        return CalculationResponses.calculation(id, calculationHistoryService.get(id));
+    }
+
+    @Operation(
+            summary = "Get a page of the monthly amortization schedule",
+            description = "Month by month installment, principal and interest split and outstanding balance of the "
+                    + "calculation. Only the months of the requested page are built"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Schedule page",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or page"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(
+            path = "/calculate/schedule",
             produces = MediaType.APPLICATION_JSON_VALUE,
             consumes = MediaType.APPLICATION_JSON_VALUE
     )
-    public WebResponse<CalculateResponse> calculate(@Valid @RequestBody CalculateRequest request){
-        return WebResponse.<CalculateResponse>builder().data(creditSimulatorService.calculate(request)).build();
+    public WebResponse<MonthlySchedulePage> schedule(@RequestBody CalculateRequest request,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "12") int size){
+        return WebResponse.<MonthlySchedulePage>builder()
+                .data(monthlyScheduleService.page(creditSimulatorService.calculate(request), page, size))
+                .build();
+    }
+
+    @Operation(
+            summary = "Export the monthly amortization schedule as CSV",
+            description = "Every month of the schedule, streamed one line at a time"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Schedule export",
+                    content = @Content(mediaType = CalculationResponses.TEXT_CSV_VALUE))
+    })
+    @PostMapping(
+            path = "/calculate/schedule",
+            produces = CalculationResponses.TEXT_CSV_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> exportSchedule(@RequestBody CalculateRequest request){
+        Iterable<String> lines = monthlyScheduleService.exportCsv(creditSimulatorService.calculate(request));
+        return ResponseEntity.ok()
+                .contentType(CalculationResponses.TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, CalculationResponses.SCHEDULE_CSV_DISPOSITION)
+                .body(outputStream -> {
+                    Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+                    for (String line : lines) {
+                        writer.write(line);
+                    }
+                    writer.flush();
+                });
+    }
+
+    @Operation(
+            summary = "Calculate a batch of vehicle loan simulations",
+            description = "Calculate several loan simulations in parallel. Results are returned in input order "
+                    + "and a failing item only reports its own error"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, check each item for errors",
+                    content = {@Content(mediaType = "application/json"),
+                            @Content(mediaType = CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE)}),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(
+            path = "/calculate/batch",
+            produces = {MediaType.APPLICATION_JSON_VALUE, CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE},
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public WebResponse<List<WebResponse<CalculateResponse>>> calculateBatch(@RequestBody List<CalculateRequest> requests){
+        return WebResponse.<List<WebResponse<CalculateResponse>>>builder()
+                .data(batchCalculateService.calculate(requests))
+                .build();
+    }
+
+    @Operation(
+            summary = "Stream vehicle loan simulations as NDJSON",
+            description = "Read one calculate request per line and write one result per line as soon as it is "
+                    + "calculated. Errors are reported on the line of the failing request"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream processed, check each line for errors",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE))
+    })
+    @PostMapping(
+            path = "/calculate/batch",
+            produces = MediaType.APPLICATION_NDJSON_VALUE,
+            consumes = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public WebAsyncTask<Void> calculateStream(HttpServletRequest request, HttpServletResponse response){
+        // A stream can run for a long time, so only this endpoint opts out of the async request timeout
+        return new WebAsyncTask<>(STREAM_TIMEOUT_NONE, streamExecutor, () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            streamCalculateService.calculate(request.getInputStream(), response.getOutputStream());
+            return null;
+        });
+    }
+
+    @Operation(
+            summary = "Calculate a grid of vehicle loan simulations",
+            description = "Calculate every combination of vehicle type, tenure and down payment percentage of the "
+                    + "requested ranges. Installments come back as matrices, rows are down payments and columns are tenures"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully calculated the grid",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or oversized grid"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(
+            path = "/calculate/sweep",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public WebResponse<SweepResponse> calculateSweep(@Valid @RequestBody SweepRequest request){
+        return WebResponse.<SweepResponse>builder().data(sweepCalculateService.calculate(request)).build();
+    }
+
+    @Operation(
+            summary = "Solve the loan amount or down payment for a target installment",
+            description = "Find the highest total loan amount (solveFor=LOAN_AMOUNT) or the lowest down payment "
+                    + "(solveFor=DOWN_PAYMENT) whose monthly installment fits the target, within the minimum down "
+                    + "payment and 1 billion loan amount rules"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully solved",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(
+            path = "/affordability",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public WebResponse<AffordabilityResponse> affordability(@Valid @RequestBody AffordabilityRequest request){
+        return WebResponse.<AffordabilityResponse>builder().data(affordabilityService.solve(request)).build();
+    }
+
+    @Operation(
+            summary = "Get interest rate schedules",
+            description = "Interest rate per loan year for every vehicle type. The schedule only changes with a "
+                    + "new product configuration, so clients may cache it and revalidate with the ETag"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Interest rate schedules",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping(
+            path = "/rates",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<WebResponse<List<InterestRateScheduleResponse>>> rates(){
+        return InterestRateScheduleResponses.current();
+    }
+
+    @Operation(
+            summary = "Get calculation cache statistics",
+            description = "Size, hit/miss counts and evictions of the calculation result cache"
+    )
+    @GetMapping(
+            path = "/cache/stats",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public WebResponse<CalculationCacheStatsResponse> cacheStats(){
+        return WebResponse.<CalculationCacheStatsResponse>builder().data(calculationCacheService.stats()).build();
     }
 
-}
\ No newline at end of file
+}
@@ -1,21 +1,72 @@
 package com.java.credit_simulator.controller;
 
+import com.java.credit_simulator.external.ThirdPartyUnavailableException;
+import com.java.credit_simulator.model.ValidationViolation;
 import com.java.credit_simulator.model.WebResponse;
+import com.java.credit_simulator.service.ValidationException;
+import com.java.credit_simulator.util.ValidationResult;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+
+/**
+ * Error bodies are always JSON, also when the client only accepts the binary loan format.
+ */
 @RestControllerAdvice
 public class ErrorController {
+    /**
+     * Every broken rule as a code, field and message; {@code errors} keeps the first message.
+     */
+    @ExceptionHandler(ValidationException.class)
+    public ResponseEntity<WebResponse<List<ValidationViolation>>> validationException(ValidationException exception) {
+        ValidationResult result = exception.getResult();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(WebResponse.<List<ValidationViolation>>builder()
+                        .data(result.getViolations())
+                        .errors(result.getMessage(0))
+                        .build());
+    }
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<WebResponse<String>> illegalArgumentException(IllegalArgumentException exception) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(WebResponse.<String>builder().errors(exception.getMessage()).build());
+    }
+    @ExceptionHandler(ThirdPartyUnavailableException.class)
+    public ResponseEntity<WebResponse<String>> thirdPartyUnavailableException(ThirdPartyUnavailableException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
                 .body(WebResponse.<String>builder().errors(exception.getMessage()).build());
     }
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<WebResponse<String>> methodArgumentNotValidException(MethodArgumentNotValidException exception) {
+        // Bean validation failures of the servlet controller, reported like the reactive ones below
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(WebResponse.<String>builder().errors(exception.getAllErrors().get(0).getDefaultMessage()).build());
+    }
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<WebResponse<String>> responseStatusException(ResponseStatusException exception) {
+        // Bean validation failures of the reactive controller, report the first violated constraint
+        String message = exception instanceof WebExchangeBindException bindException && bindException.hasErrors()
+                ? bindException.getAllErrors().get(0).getDefaultMessage()
+                : exception.getReason();
+        return ResponseEntity.status(exception.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(WebResponse.<String>builder().errors(message).build());
+    }
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<WebResponse<String>> runtimeException(RuntimeException exception) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .contentType(MediaType.APPLICATION_JSON)
                 .body(WebResponse.<String>builder().errors(exception.getMessage()).build());
     }
 }
@@ -0,0 +1,46 @@
+package com.java.credit_simulator.controller;
+
+import com.java.credit_simulator.model.InterestRateScheduleResponse;
+import com.java.credit_simulator.model.WebResponse;
+import com.java.credit_simulator.util.InterestRateSchedule;
+import com.java.credit_simulator.util.ProductCatalog;
+import com.java.credit_simulator.util.VehicleTypeSpec;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@code GET /rates} body shared by the servlet and reactive controllers.
+ */
+final class InterestRateScheduleResponses {
+    private InterestRateScheduleResponses() {
+    }
+
+    static ResponseEntity<WebResponse<List<InterestRateScheduleResponse>>> current() {
+        ProductCatalog productCatalog = ProductCatalog.current();
+        InterestRateSchedule interestRateSchedule = productCatalog.getInterestRateSchedule();
+
+        List<InterestRateScheduleResponse> schedules = new ArrayList<>();
+        int hash = 1;
+        for (VehicleTypeSpec vehicleTypeSpec : productCatalog.getVehicleTypes()) {
+            double[] rates = interestRateSchedule.getRates(vehicleTypeSpec);
+            hash = 31 * (31 * (31 * hash + vehicleTypeSpec.getType().hashCode())
+                    + vehicleTypeSpec.getStepUpRule().getSource().hashCode()) + Arrays.hashCode(rates);
+            schedules.add(InterestRateScheduleResponse.builder()
+                    .vehicleType(vehicleTypeSpec.getType())
+                    .baseInterestRate(vehicleTypeSpec.getBaseInterestRate())
+                    .stepUp(vehicleTypeSpec.getStepUpRule().getSource())
+                    .interestRates(Arrays.stream(rates).boxed().toList())
+                    .build());
+        }
+
+        // Rates change whenever the product catalog is reloaded, so caches revalidate with the ETag
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .eTag(Integer.toHexString(hash))
+                .body(WebResponse.<List<InterestRateScheduleResponse>>builder().data(schedules).build());
+    }
+}
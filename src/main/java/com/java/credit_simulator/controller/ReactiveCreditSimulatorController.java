@@ -0,0 +1,174 @@
+package com.java.credit_simulator.controller;
+
+import com.java.credit_simulator.model.AffordabilityRequest;
+import com.java.credit_simulator.model.AffordabilityResponse;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.CalculationCacheStatsResponse;
+import com.java.credit_simulator.model.CalculationRecord;
+import com.java.credit_simulator.model.InterestRateScheduleResponse;
+import com.java.credit_simulator.model.MonthlySchedulePage;
+import com.java.credit_simulator.model.SweepRequest;
+import com.java.credit_simulator.model.SweepResponse;
+import com.java.credit_simulator.model.WebResponse;
+import com.java.credit_simulator.service.CalculationCacheService;
+import com.java.credit_simulator.service.CalculationHistoryService;
+import com.java.credit_simulator.service.MonthlyScheduleService;
+import com.java.credit_simulator.service.ReactiveCreditSimulatorService;
+import com.java.credit_simulator.util.CalculateResponseBinaryWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Reactive variant of {@link CreditSimulatorController}, same paths and request/response contract.
+ * Only registered when the application runs as a reactive web application.
+ */
+@RestController
+@RequestMapping("/api/v1/loan")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Credit Simulator", description = "API for vehicle loan simulation")
+public class ReactiveCreditSimulatorController {
+
+    private final ReactiveCreditSimulatorService reactiveCreditSimulatorService;
+
+    private final CalculationCacheService calculationCacheService;
+
+    private final CalculationHistoryService calculationHistoryService;
+
+    private final MonthlyScheduleService monthlyScheduleService;
+
+    @Operation(summary = "Calculate vehicle loan simulation")
+    @PostMapping(
+            path = "/calculate",
+            produces = {MediaType.APPLICATION_JSON_VALUE, CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE},
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<WebResponse<CalculateResponse>>> calculate(@RequestBody CalculateRequest request){
+        return reactiveCreditSimulatorService.calculate(request)
+                .flatMap(response -> Mono.fromCallable(() -> CalculationResponses.calculated(response,
+                                calculationHistoryService.save(request, response)))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    @Operation(summary = "Get a stored calculation")
+    @GetMapping(
+            path = "/calculations/{id}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<WebResponse<CalculationRecord>>> calculation(@PathVariable long id){
+        // The history does file I/O (and maps its segments on first use), never on an event-loop thread
+        return Mono.fromCallable(() -> CalculationResponses.calculation(id, calculationHistoryService.get(id)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Operation(summary = "Get a page of the monthly amortization schedule")
+    @PostMapping(
+            path = "/calculate/schedule",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<WebResponse<MonthlySchedulePage>> schedule(@RequestBody CalculateRequest request,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "12") int size){
+        return reactiveCreditSimulatorService.calculate(request)
+                .map(response -> WebResponse.<MonthlySchedulePage>builder()
+                        .data(monthlyScheduleService.page(response, page, size))
+                        .build());
+    }
+
+    @Operation(summary = "Export the monthly amortization schedule as CSV")
+    @PostMapping(
+            path = "/calculate/schedule",
+            produces = CalculationResponses.TEXT_CSV_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<Flux<String>>> exportSchedule(@RequestBody CalculateRequest request){
+        return reactiveCreditSimulatorService.calculate(request)
+                .map(response -> ResponseEntity.ok()
+                        .contentType(CalculationResponses.TEXT_CSV)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, CalculationResponses.SCHEDULE_CSV_DISPOSITION)
+                        .body(Flux.fromIterable(monthlyScheduleService.exportCsv(response))));
+    }
+
+    @Operation(summary = "Calculate a batch of vehicle loan simulations")
+    @PostMapping(
+            path = "/calculate/batch",
+            produces = {MediaType.APPLICATION_JSON_VALUE, CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE},
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<WebResponse<List<WebResponse<CalculateResponse>>>> calculateBatch(@RequestBody List<CalculateRequest> requests){
+        return reactiveCreditSimulatorService.calculateBatch(requests)
+                .collectList()
+                .map(results -> WebResponse.<List<WebResponse<CalculateResponse>>>builder().data(results).build());
+    }
+
+    @Operation(summary = "Stream vehicle loan simulations as NDJSON")
+    @PostMapping(
+            path = "/calculate/batch",
+            produces = MediaType.APPLICATION_NDJSON_VALUE,
+            consumes = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public Flux<WebResponse<CalculateResponse>> calculateStream(@RequestBody Flux<String> requestLines){
+        return reactiveCreditSimulatorService.calculateStream(requestLines);
+    }
+
+    @Operation(summary = "Calculate a grid of vehicle loan simulations")
+    @PostMapping(
+            path = "/calculate/sweep",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<WebResponse<SweepResponse>> calculateSweep(@Valid @RequestBody SweepRequest request){
+        return reactiveCreditSimulatorService.calculateSweep(request)
+                .map(response -> WebResponse.<SweepResponse>builder().data(response).build());
+    }
+
+    @Operation(summary = "Solve the loan amount or down payment for a target installment")
+    @PostMapping(
+            path = "/affordability",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<WebResponse<AffordabilityResponse>> affordability(@Valid @RequestBody AffordabilityRequest request){
+        return reactiveCreditSimulatorService.solveAffordability(request)
+                .map(response -> WebResponse.<AffordabilityResponse>builder().data(response).build());
+    }
+
+    @Operation(summary = "Get interest rate schedules")
+    @GetMapping(
+            path = "/rates",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<WebResponse<List<InterestRateScheduleResponse>>> rates(){
+        return InterestRateScheduleResponses.current();
+    }
+
+    @Operation(summary = "Get calculation cache statistics")
+    @GetMapping(
+            path = "/cache/stats",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public WebResponse<CalculationCacheStatsResponse> cacheStats(){
+        return WebResponse.<CalculationCacheStatsResponse>builder().data(calculationCacheService.stats()).build();
+    }
+
+}
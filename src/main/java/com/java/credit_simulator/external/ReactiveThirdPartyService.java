@@ -0,0 +1,8 @@
+package com.java.credit_simulator.external;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveThirdPartyService {
+    Mono<CalculateRequest> loadExistingData();
+}
@@ -0,0 +1,11 @@
+package com.java.credit_simulator.external;
+
+/**
+ * The third party could not be reached (or the circuit breaker rejected the call) and there is no
+ * snapshot to fall back to.
+ */
+public class ThirdPartyUnavailableException extends RuntimeException {
+    public ThirdPartyUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
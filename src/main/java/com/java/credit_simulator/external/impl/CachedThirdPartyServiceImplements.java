@@ -0,0 +1,63 @@
+package com.java.credit_simulator.external.impl;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.java.credit_simulator.external.ThirdPartyService;
+import com.java.credit_simulator.model.CalculateRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Keeps the last existing data loaded from the third party. Once {@code ttl} has passed the next
+ * caller still gets the cached copy while a single background call refreshes it; only when nothing
+ * was loaded yet, or the data is older than {@code max-stale}, does a caller wait for the upstream.
+ * Concurrent loads of the same entry share one upstream call. If a refresh fails the old data is
+ * kept until {@code max-stale}.
+ */
+@Service
+@Primary
+@Slf4j
+public class CachedThirdPartyServiceImplements implements ThirdPartyService {
+    private static final String EXISTING_DATA_KEY = "existing-data";
+
+    private final ThirdPartyService thirdPartyService;
+
+    private final boolean enabled;
+
+    private final LoadingCache<String, CalculateRequest> cache;
+
+    public CachedThirdPartyServiceImplements(@Qualifier("resilientThirdPartyServiceImplements") ThirdPartyService thirdPartyService,
+                                             @Value("${third-party.cache.enabled:true}") boolean enabled,
+                                             @Value("${third-party.cache.ttl:60s}") Duration ttl,
+                                             @Value("${third-party.cache.max-stale:10m}") Duration maxStale) {
+        if (maxStale.compareTo(ttl) < 0) {
+            throw new IllegalArgumentException("third-party.cache.max-stale must not be shorter than third-party.cache.ttl");
+        }
+        this.thirdPartyService = thirdPartyService;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .refreshAfterWrite(ttl)
+                .expireAfterWrite(maxStale)
+                .build(key -> load());
+    }
+
+    @Override
+    public CalculateRequest loadExistingData() {
+        if (!enabled) {
+            return thirdPartyService.loadExistingData();
+        }
+        // Callers are free to change what they get back, so never hand out the cached instance
+        return cache.get(EXISTING_DATA_KEY).toBuilder().build();
+    }
+
+    private CalculateRequest load() {
+        log.info("[loadExistingData] Refresh cached existing data");
+        return thirdPartyService.loadExistingData();
+    }
+}
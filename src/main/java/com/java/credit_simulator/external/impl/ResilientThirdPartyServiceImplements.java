@@ -0,0 +1,107 @@
+package com.java.credit_simulator.external.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.external.ThirdPartyService;
+import com.java.credit_simulator.external.ThirdPartyUnavailableException;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.service.CalculateMetricsService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Supplier;
+
+/**
+ * Guards the upstream call with a bulkhead and a circuit breaker. Every good payload is kept in
+ * memory and in a snapshot file; when the call fails or is rejected (open circuit, bulkhead full)
+ * the last good payload is returned instead, so callers do not wait for a dead upstream. The
+ * snapshot is read back at startup, which keeps the fallback working across restarts.
+ */
+@Service
+@Slf4j
+public class ResilientThirdPartyServiceImplements implements ThirdPartyService {
+    private final Supplier<CalculateRequest> guardedCall;
+
+    private final ObjectMapper objectMapper;
+
+    private final CalculateMetricsService calculateMetricsService;
+
+    private final Path snapshotFile;
+
+    private volatile CalculateRequest lastGood;
+
+    public ResilientThirdPartyServiceImplements(@Qualifier("thirdPartyServiceImplements") ThirdPartyService thirdPartyService,
+                                                CircuitBreaker thirdPartyCircuitBreaker,
+                                                Bulkhead thirdPartyBulkhead,
+                                                ObjectMapper objectMapper,
+                                                CalculateMetricsService calculateMetricsService,
+                                                @Value("${third-party.snapshot-file:data/third-party-snapshot.json}") Path snapshotFile) {
+        // Bulkhead outside the breaker: calls rejected for concurrency do not count as upstream failures
+        this.guardedCall = Bulkhead.decorateSupplier(thirdPartyBulkhead,
+                CircuitBreaker.decorateSupplier(thirdPartyCircuitBreaker, thirdPartyService::loadExistingData));
+        this.objectMapper = objectMapper;
+        this.calculateMetricsService = calculateMetricsService;
+        this.snapshotFile = snapshotFile;
+        this.lastGood = readSnapshot();
+    }
+
+    @Override
+    public CalculateRequest loadExistingData() {
+        CalculateRequest request;
+        try {
+            request = guardedCall.get();
+        } catch (RuntimeException e) {
+            return fallback(e);
+        }
+        saveSnapshot(request);
+        return request;
+    }
+
+    private CalculateRequest fallback(RuntimeException cause) {
+        CalculateRequest snapshot = lastGood;
+        if (snapshot == null) {
+            throw new ThirdPartyUnavailableException("Failed to load data from API", cause);
+        }
+        calculateMetricsService.countThirdPartyCall(CalculateMetricsService.THIRD_PARTY_FALLBACK);
+        log.warn("[loadExistingData] Third party unavailable ({}), using last good data",
+                cause.getClass().getSimpleName());
+        return snapshot.toBuilder().build();
+    }
+
+    private void saveSnapshot(CalculateRequest request) {
+        if (request.equals(lastGood)) {
+            return;
+        }
+        lastGood = request.toBuilder().build();
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporaryFile = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temporaryFile.toFile(), request);
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log.warn("[loadExistingData] Failed to save snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private CalculateRequest readSnapshot() {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return null;
+        }
+        try {
+            CalculateRequest snapshot = objectMapper.readValue(snapshotFile.toFile(), CalculateRequest.class);
+            log.info("[loadExistingData] Loaded snapshot {}", snapshotFile);
+            return snapshot;
+        } catch (IOException e) {
+            log.warn("[loadExistingData] Ignoring unreadable snapshot {}: {}", snapshotFile, e.getMessage());
+            return null;
+        }
+    }
+}
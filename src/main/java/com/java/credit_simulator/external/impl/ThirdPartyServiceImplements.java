@@ -2,6 +2,7 @@ package com.java.credit_simulator.external.impl;
 
 import com.java.credit_simulator.external.ThirdPartyService;
 import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.service.CalculateMetricsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,26 +15,31 @@ import org.springframework.web.client.RestTemplate;
 public class ThirdPartyServiceImplements implements ThirdPartyService {
     private final RestTemplate restTemplate;
 
+    private final CalculateMetricsService calculateMetricsService;
+
     @Value("${third-party.url}")
     public String API_URL;
 
     @Override
     public CalculateRequest loadExistingData() {
+        CalculateRequest request;
         try {
             log.info("[loadExistingData] Load data from API: {}", API_URL);
-            CalculateRequest request = restTemplate.getForObject(API_URL, CalculateRequest.class);
-            if (request != null) {
-                log.info("[loadExistingData] Existing data from API : {}", request);
-                return request;
-            } else {
-                log.error("[loadExistingData] Failed load Data Existing from API");
-                throw new RuntimeException("Failed load data from API : No data received");
-            }
-
+            request = restTemplate.getForObject(API_URL, CalculateRequest.class);
         } catch (Exception e) {
+            calculateMetricsService.countThirdPartyCall(CalculateMetricsService.THIRD_PARTY_ERROR);
             log.error("[loadExistingData] Error load data from API: {}", e.getMessage());
             throw new RuntimeException("Failed to load data from API");
         }
+
+        if (request == null) {
+            calculateMetricsService.countThirdPartyCall(CalculateMetricsService.THIRD_PARTY_EMPTY);
+            log.error("[loadExistingData] Failed load Data Existing from API : No data received");
+            throw new RuntimeException("Failed to load data from API");
+        }
+
+        calculateMetricsService.countThirdPartyCall(CalculateMetricsService.THIRD_PARTY_SUCCESS);
+        log.info("[loadExistingData] Existing data from API : {}", request);
+        return request;
     }
 }
-
@@ -0,0 +1,89 @@
+package com.java.credit_simulator.external.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.java.credit_simulator.external.ReactiveThirdPartyService;
+import com.java.credit_simulator.external.ThirdPartyUnavailableException;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.service.CalculateMetricsService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking counterpart of the blocking third party chain: the same circuit breaker, bulkhead
+ * and stale-while-revalidate cache settings, with the call made through {@link WebClient}.
+ */
+@Service
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class WebClientThirdPartyServiceImplements implements ReactiveThirdPartyService {
+    private static final String EXISTING_DATA_KEY = "existing-data";
+
+    private final WebClient thirdPartyWebClient;
+
+    private final CircuitBreaker thirdPartyCircuitBreaker;
+
+    private final Bulkhead thirdPartyBulkhead;
+
+    private final CalculateMetricsService calculateMetricsService;
+
+    private final AsyncLoadingCache<String, CalculateRequest> cache;
+
+    public WebClientThirdPartyServiceImplements(WebClient thirdPartyWebClient,
+                                                CircuitBreaker thirdPartyCircuitBreaker,
+                                                Bulkhead thirdPartyBulkhead,
+                                                CalculateMetricsService calculateMetricsService,
+                                                @Value("${third-party.cache.enabled:true}") boolean cacheEnabled,
+                                                @Value("${third-party.cache.ttl:60s}") Duration ttl,
+                                                @Value("${third-party.cache.max-stale:10m}") Duration maxStale) {
+        this.thirdPartyWebClient = thirdPartyWebClient;
+        this.thirdPartyCircuitBreaker = thirdPartyCircuitBreaker;
+        this.thirdPartyBulkhead = thirdPartyBulkhead;
+        this.calculateMetricsService = calculateMetricsService;
+        this.cache = cacheEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(1)
+                        .refreshAfterWrite(ttl)
+                        .expireAfterWrite(maxStale)
+                        .buildAsync((key, executor) -> fetch().toFuture())
+                : null;
+    }
+
+    @Override
+    public Mono<CalculateRequest> loadExistingData() {
+        if (cache == null) {
+            return fetch();
+        }
+        // Callers are free to change what they get back, so never hand out the cached instance
+        return Mono.fromFuture(() -> cache.get(EXISTING_DATA_KEY))
+                .map(request -> request.toBuilder().build());
+    }
+
+    private Mono<CalculateRequest> fetch() {
+        return thirdPartyWebClient.get()
+                .retrieve()
+                .bodyToMono(CalculateRequest.class)
+                .doOnNext(request -> calculateMetricsService.countThirdPartyCall(CalculateMetricsService.THIRD_PARTY_SUCCESS))
+                .doOnError(e -> calculateMetricsService.countThirdPartyCall(CalculateMetricsService.THIRD_PARTY_ERROR))
+                .switchIfEmpty(Mono.defer(() -> {
+                    calculateMetricsService.countThirdPartyCall(CalculateMetricsService.THIRD_PARTY_EMPTY);
+                    return Mono.error(new IllegalStateException("No data received"));
+                }))
+                .transformDeferred(CircuitBreakerOperator.of(thirdPartyCircuitBreaker))
+                .transformDeferred(BulkheadOperator.of(thirdPartyBulkhead))
+                .onErrorMap(e -> {
+                    log.error("[loadExistingData] Error load data from API: {}", e.getMessage());
+                    return new ThirdPartyUnavailableException("Failed to load data from API", e);
+                });
+    }
+}
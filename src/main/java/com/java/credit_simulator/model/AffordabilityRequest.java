@@ -0,0 +1,60 @@
+package com.java.credit_simulator.model;
+
+import com.java.credit_simulator.util.InstallmentTarget;
+import com.java.credit_simulator.util.SolveFor;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Target installment to solve the loan amount or down payment for")
+public class AffordabilityRequest {
+
+    @NotNull(message = "Solve for is required")
+    @Schema(description = "Value to solve for", example = "LOAN_AMOUNT")
+    private SolveFor solveFor;
+
+    @NotNull(message = "Target installment is required")
+    @DecimalMin(value = "0.01", message = "Target installment must be at least 0.01")
+    @Schema(description = "Installment the customer can afford per month", example = "3000000")
+    private Double targetInstallment;
+
+    @Schema(description = "Installment compared with the target, MONTHLY when empty", example = "MONTHLY")
+    private InstallmentTarget installmentTarget;
+
+    @NotBlank(message = "Vehicle type is required")
+    @Schema(description = "Type of vehicle", example = "Mobil", allowableValues = {"Mobil", "Motor"})
+    private String vehicleType;
+
+    @NotBlank(message = "Vehicle condition is required")
+    @Schema(description = "Condition of vehicle", example = "Bekas", allowableValues = {"Baru", "Bekas"})
+    private String vehicleCondition;
+
+    @NotNull(message = "Vehicle year is required")
+    @Schema(description = "Year of vehicle manufacture", example = "2024")
+    private Integer vehicleYear;
+
+    @NotNull(message = "Loan tenure is required")
+    @Min(value = 1, message = "Minimum tenure is 1 year")
+    @Max(value = 6, message = "Maximum tenure is 6 years")
+    @Schema(description = "Loan tenure in years", example = "3", minimum = "1", maximum = "6")
+    private Integer loanTenure;
+
+    @Schema(description = "Total loan amount, required when solving for DOWN_PAYMENT", example = "100000000")
+    private Double totalLoanAmount;
+
+    @DecimalMin(value = "0", message = "Down payment cannot be negative")
+    @Schema(description = "Down payment when solving for LOAN_AMOUNT, the minimum down payment when empty",
+            example = "25000000")
+    private Double downPayment;
+}
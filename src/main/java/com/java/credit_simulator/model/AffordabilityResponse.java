@@ -0,0 +1,35 @@
+package com.java.credit_simulator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Solved loan amount and down payment, with the calculation they give")
+public class AffordabilityResponse {
+
+    @Schema(description = "Total loan amount, the solved value for LOAN_AMOUNT", example = "122893401.12")
+    private BigDecimal totalLoanAmount;
+
+    @Schema(description = "Down payment, the solved value for DOWN_PAYMENT", example = "30723350.28")
+    private BigDecimal downPayment;
+
+    @Schema(description = "Installment compared with the target", example = "2999999.98")
+    private BigDecimal installment;
+
+    @Schema(description = "True when the answer is set by a business rule (minimum down payment or "
+            + "the 1 billion cap) and the target leaves room to spare", example = "false")
+    private boolean limitedByRule;
+
+    @Schema(description = "Calculations done to find the answer", example = "9")
+    private int calculations;
+
+    private CalculateResponse calculation;
+}
@@ -0,0 +1,23 @@
+package com.java.credit_simulator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchFileSummary {
+    private Long records;
+
+    private Long failed;
+
+    /**
+     * Input line the run continued after, 0 when the file was processed from the start
+     */
+    private Long resumedAfterLine;
+
+    private Long elapsedMillis;
+}
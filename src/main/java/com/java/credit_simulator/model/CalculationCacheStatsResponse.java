@@ -0,0 +1,32 @@
+package com.java.credit_simulator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Statistics of the calculation result cache")
+public class CalculationCacheStatsResponse {
+    @Schema(description = "Whether the cache is enabled", example = "true")
+    private Boolean enabled;
+
+    @Schema(description = "Number of cached results", example = "120")
+    private Long size;
+
+    @Schema(description = "Number of requests answered from the cache", example = "9000")
+    private Long hitCount;
+
+    @Schema(description = "Number of requests that had to be calculated", example = "1000")
+    private Long missCount;
+
+    @Schema(description = "Share of requests answered from the cache", example = "0.9")
+    private Double hitRate;
+
+    @Schema(description = "Number of results evicted because of size or age", example = "10")
+    private Long evictionCount;
+}
@@ -0,0 +1,26 @@
+package com.java.credit_simulator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "A stored calculation")
+public class CalculationRecord {
+    @Schema(description = "Calculation id, returned in the X-Calculation-Id header of the calculate call", example = "42")
+    private Long id;
+
+    @Schema(description = "When the calculation was made")
+    private Instant calculatedAt;
+
+    private CalculateRequest request;
+
+    private CalculateResponse response;
+}
@@ -0,0 +1,22 @@
+package com.java.credit_simulator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CalculationSheet {
+    private Long id;
+
+    private Instant savedAt;
+
+    private CalculateRequest request;
+
+    private CalculateResponse response;
+}
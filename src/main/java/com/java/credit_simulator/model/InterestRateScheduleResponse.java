@@ -0,0 +1,28 @@
+package com.java.credit_simulator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Interest rate schedule of a vehicle type")
+public class InterestRateScheduleResponse {
+    @Schema(description = "Type of vehicle", example = "Mobil")
+    private String vehicleType;
+
+    @Schema(description = "Base interest rate in percent", example = "8.0")
+    private Double baseInterestRate;
+
+    @Schema(description = "Step-up rule the yearly rates are built with", example = "every 2 from 2: +0.1; every 2 from 3: +0.5")
+    private String stepUp;
+
+    @Schema(description = "Interest rate in percent for loan year 1, 2, ...", example = "[8.0, 8.1, 8.6, 8.7, 9.2, 9.3]")
+    private List<Double> interestRates;
+}
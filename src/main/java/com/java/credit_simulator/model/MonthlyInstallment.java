@@ -0,0 +1,33 @@
+package com.java.credit_simulator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "One month of the amortization schedule")
+public class MonthlyInstallment {
+
+    @Schema(description = "Loan month, 1 based", example = "13")
+    private Integer month;
+
+    @Schema(description = "Loan year of the month", example = "2")
+    private Integer year;
+
+    @Schema(description = "Installment paid this month", example = "2432250.00")
+    private BigDecimal installment;
+
+    @Schema(description = "Part of the installment paying back principal", example = "2067750.00")
+    private BigDecimal principal;
+
+    @Schema(description = "Part of the installment paying interest", example = "364500.00")
+    private BigDecimal interest;
+
+    @Schema(description = "Principal outstanding after this month's installment", example = "51932250.00")
+    private BigDecimal outstandingBalance;
+}
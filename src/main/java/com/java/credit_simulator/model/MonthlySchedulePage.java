@@ -0,0 +1,31 @@
+package com.java.credit_simulator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Page of the month by month amortization schedule")
+public class MonthlySchedulePage {
+
+    @Schema(description = "Page number, 0 based", example = "0")
+    private Integer page;
+
+    @Schema(description = "Months per page", example = "12")
+    private Integer size;
+
+    @Schema(description = "Months of the whole loan", example = "36")
+    private Integer totalMonths;
+
+    @Schema(description = "Pages of the whole loan", example = "3")
+    private Integer totalPages;
+
+    private List<MonthlyInstallment> months;
+}
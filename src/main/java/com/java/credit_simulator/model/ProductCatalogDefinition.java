@@ -0,0 +1,50 @@
+package com.java.credit_simulator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Content of the product catalog file, see {@link com.java.credit_simulator.util.ProductCatalog}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductCatalogDefinition {
+    private List<VehicleType> vehicleTypes;
+
+    private List<VehicleCondition> vehicleConditions;
+
+    /** Step-up rule of every vehicle type without its own, see {@link com.java.credit_simulator.util.StepUpRule} */
+    private String stepUp;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class VehicleType {
+        private String type;
+
+        /** Rate before the step-up of the first loan year in percent, e.g. {@code 8.0} */
+        private Double baseInterestRate;
+
+        /** Step-up rule of this vehicle type, the catalog one when {@code null} */
+        private String stepUp;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class VehicleCondition {
+        private String condition;
+
+        /** Fraction of the loan amount, e.g. {@code 0.35} */
+        private Double minimumDownPaymentPercentage;
+
+        /** Whether the vehicle year must be at most one year old */
+        private boolean newVehicle;
+    }
+}
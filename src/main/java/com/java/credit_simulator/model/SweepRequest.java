@@ -0,0 +1,67 @@
+package com.java.credit_simulator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Grid of loan scenarios: every vehicle type, tenure and down payment percentage of the ranges")
+public class SweepRequest {
+
+    @Schema(description = "Vehicle types, all types when empty", example = "[\"Mobil\", \"Motor\"]")
+    private List<String> vehicleTypes;
+
+    @NotBlank(message = "Vehicle condition is required")
+    @Schema(description = "Condition of vehicle", example = "Bekas", allowableValues = {"Baru", "Bekas"})
+    private String vehicleCondition;
+
+    @NotNull(message = "Vehicle year is required")
+    @Schema(description = "Year of vehicle manufacture", example = "2024")
+    private Integer vehicleYear;
+
+    @NotNull(message = "Total loan amount is required")
+    @DecimalMin(value = "1000000", message = "Minimum loan amount is 1,000,000")
+    @DecimalMax(value = "1000000000", message = "Maximum loan amount is 1,000,000,000")
+    @Schema(description = "Total loan amount", example = "100000000", maximum = "1000000000")
+    private Double totalLoanAmount;
+
+    @Min(value = 1, message = "Minimum tenure is 1 year")
+    @Max(value = 6, message = "Maximum tenure is 6 years")
+    @Schema(description = "Shortest tenure in years, 1 when empty", example = "1")
+    private Integer minLoanTenure;
+
+    @Min(value = 1, message = "Minimum tenure is 1 year")
+    @Max(value = 6, message = "Maximum tenure is 6 years")
+    @Schema(description = "Longest tenure in years, 6 when empty", example = "6")
+    private Integer maxLoanTenure;
+
+    @NotNull(message = "Lowest down payment percentage is required")
+    @DecimalMin(value = "0", message = "Down payment percentage cannot be negative")
+    @DecimalMax(value = "100", message = "Down payment percentage cannot be above 100")
+    @Schema(description = "Lowest down payment, percent of the loan amount", example = "25")
+    private BigDecimal minDownPaymentPercentage;
+
+    @NotNull(message = "Highest down payment percentage is required")
+    @DecimalMin(value = "0", message = "Down payment percentage cannot be negative")
+    @DecimalMax(value = "100", message = "Down payment percentage cannot be above 100")
+    @Schema(description = "Highest down payment, percent of the loan amount", example = "50")
+    private BigDecimal maxDownPaymentPercentage;
+
+    @DecimalMin(value = "0.01", message = "Down payment percentage step must be at least 0.01")
+    @Schema(description = "Step between down payment percentages, 5 when empty", example = "5")
+    private BigDecimal downPaymentPercentageStep;
+}
@@ -0,0 +1,48 @@
+package com.java.credit_simulator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Installments of every scenario of a sweep. Matrix rows follow downPayments, columns follow loanTenures")
+public class SweepResponse {
+
+    @Schema(description = "Matrix columns", example = "[1, 2, 3, 4, 5, 6]")
+    private List<Integer> loanTenures;
+
+    @Schema(description = "Matrix rows, percent of the loan amount", example = "[25, 30, 35]")
+    private List<BigDecimal> downPaymentPercentages;
+
+    @Schema(description = "Down payment amount of each row", example = "[25000000.00, 30000000.00, 35000000.00]")
+    private List<BigDecimal> downPayments;
+
+    private List<Matrix> matrices;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Schema(description = "Installments of one vehicle type")
+    public static class Matrix {
+
+        @Schema(description = "Type of vehicle", example = "Mobil")
+        private String vehicleType;
+
+        @Schema(description = "Interest rate of each loan year, up to the longest tenure", example = "[8.0, 8.1, 8.6]")
+        private List<Double> interestRates;
+
+        @Schema(description = "Average monthly installment, [down payment][tenure]")
+        private List<List<BigDecimal>> installmentMonthlyAverage;
+
+        @Schema(description = "Monthly installment of the first year, [down payment][tenure]")
+        private List<List<BigDecimal>> installmentMonthlyFirstYear;
+    }
+}
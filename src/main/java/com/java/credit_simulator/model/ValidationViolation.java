@@ -0,0 +1,22 @@
+package com.java.credit_simulator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "One rule a calculate request breaks")
+public class ValidationViolation {
+
+    @Schema(description = "Stable error code", example = "DOWN_PAYMENT_BELOW_MINIMUM")
+    private String code;
+
+    @Schema(description = "Request field the rule is about", example = "downPayment")
+    private String field;
+
+    @Schema(description = "Readable message", example = "Down payment must be at least 25% of loan amount (Rp 25000000.00)")
+    private String message;
+}
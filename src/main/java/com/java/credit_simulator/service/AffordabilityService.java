@@ -0,0 +1,9 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.AffordabilityRequest;
+import com.java.credit_simulator.model.AffordabilityResponse;
+
+public interface AffordabilityService {
+    AffordabilityResponse solve (AffordabilityRequest affordabilityRequest);
+
+}
@@ -0,0 +1,9 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+
+public interface AuditLogService {
+    void record (CalculateRequest request, CalculateResponse response, String error, long elapsedNanos);
+
+}
@@ -0,0 +1,17 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.WebResponse;
+
+import java.util.List;
+
+public interface BatchCalculateService {
+    List<WebResponse<CalculateResponse>> calculate (List<CalculateRequest> calculateRequests);
+
+    /**
+     * Rejects an empty or oversized batch.
+     */
+    void validate (List<CalculateRequest> calculateRequests);
+
+}
@@ -0,0 +1,15 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.BatchFileSummary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface BatchFileService {
+    /**
+     * Calculates every CSV record of {@code input} and writes one result line per record to
+     * {@code output}, in input order. When the checkpoint of an interrupted run
+     * ({@code <output>.checkpoint}) exists the run continues after the last completed record.
+     */
+    BatchFileSummary calculate(Path input, Path output) throws IOException;
+}
@@ -2,8 +2,16 @@ package com.java.credit_simulator.service;
 
 import com.java.credit_simulator.model.CalculateRequest;
 import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.util.ProductCatalog;
 
 public interface CalculateLoanService {
-    CalculateResponse calculate (CalculateRequest calculateRequest);
+    /**
+     * @param productCatalog snapshot the rest of the request was resolved against
+     */
+    CalculateResponse calculate (CalculateRequest calculateRequest, ProductCatalog productCatalog);
+
+    default CalculateResponse calculate (CalculateRequest calculateRequest) {
+        return calculate(calculateRequest, ProductCatalog.current());
+    }
 
 }
@@ -0,0 +1,34 @@
+package com.java.credit_simulator.service;
+
+import java.util.function.Supplier;
+
+public interface CalculateMetricsService {
+    String STAGE_BEAN_VALIDATION = "bean_validation";
+
+    String STAGE_VALIDATE = "validate";
+
+    String STAGE_LOAD_EXISTING_DATA = "load_existing_data";
+
+    String STAGE_CALCULATE = "calculate";
+
+    String STAGE_SERIALIZATION = "serialization";
+
+    String THIRD_PARTY_SUCCESS = "success";
+
+    String THIRD_PARTY_EMPTY = "empty";
+
+    String THIRD_PARTY_ERROR = "error";
+
+    String THIRD_PARTY_FALLBACK = "fallback";
+
+    <T> T recordStage (String stage, Supplier<T> supplier);
+
+    void recordStage (String stage, long elapsedNanos);
+
+    void countCalculation (String vehicleType, int loanTenure);
+
+    void countValidationFailure (String reason);
+
+    void countThirdPartyCall (String outcome);
+
+}
@@ -0,0 +1,19 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.CalculationCacheStatsResponse;
+import com.java.credit_simulator.util.ProductCatalog;
+
+import java.util.function.Function;
+
+public interface CalculationCacheService {
+    /**
+     * @param productCatalog snapshot the request was validated against; the key is resolved in it
+     */
+    CalculateResponse get (CalculateRequest calculateRequest, ProductCatalog productCatalog,
+                           Function<CalculateRequest, CalculateResponse> calculator);
+
+    CalculationCacheStatsResponse stats ();
+
+}
@@ -0,0 +1,19 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.CalculationRecord;
+
+import java.util.Optional;
+
+public interface CalculationHistoryService {
+    /**
+     * @return id of the stored calculation, {@code null} when the history is disabled
+     */
+    Long save(CalculateRequest request, CalculateResponse response);
+
+    /**
+     * @return the calculation, empty when it is unknown or past retention
+     */
+    Optional<CalculationRecord> get(long id);
+}
@@ -2,8 +2,35 @@ package com.java.credit_simulator.service;
 
 import com.java.credit_simulator.model.CalculateRequest;
 import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.util.ProductCatalog;
+import com.java.credit_simulator.util.ValidationResult;
 
 public interface CreditSimulatorService {
     CalculateResponse calculate (CalculateRequest calculateRequest);
 
+    /**
+     * Business rule validation done by {@link #calculate}, for callers that load the existing data
+     * themselves. {@code productCatalog} is the snapshot the caller keeps for the whole request.
+     *
+     * @throws ValidationException with every violated rule
+     */
+    void validate (CalculateRequest calculateRequest, ProductCatalog productCatalog);
+
+    /**
+     * Same rules as {@link #validate(CalculateRequest, ProductCatalog)}, with every violation
+     * collected into {@code result} instead of thrown.
+     *
+     * @return {@code true} when the request is valid
+     */
+    boolean validate (CalculateRequest calculateRequest, ProductCatalog productCatalog, ValidationResult result);
+
+    /**
+     * Calculation step of {@link #calculate} for a request that already passed {@link #validate}.
+     *
+     * @param existingData data loaded from the third party when {@code isExisting=Y}, otherwise {@code null}
+     * @param productCatalog snapshot the request was validated against
+     */
+    CalculateResponse calculateValidated (CalculateRequest calculateRequest, CalculateRequest existingData,
+                                          ProductCatalog productCatalog);
+
 }
@@ -0,0 +1,17 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.MonthlySchedulePage;
+
+public interface MonthlyScheduleService {
+    /**
+     * Months {@code page * size + 1} to {@code (page + 1) * size} of the calculation, only those are built.
+     */
+    MonthlySchedulePage page (CalculateResponse calculateResponse, int page, int size);
+
+    /**
+     * CSV export of every month: a header line, then one line per month, each built when it is read.
+     */
+    Iterable<String> exportCsv (CalculateResponse calculateResponse);
+
+}
@@ -0,0 +1,18 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.util.ProductCatalog;
+
+public interface ProductCatalogService {
+    /**
+     * @return the snapshot in use, to be kept for the whole request
+     */
+    ProductCatalog current();
+
+    /**
+     * Reads the catalog file again and installs it when its content changed.
+     *
+     * @return the snapshot in use afterwards
+     * @throws IllegalArgumentException when the file is not a valid catalog, the snapshot in use is kept
+     */
+    ProductCatalog reload();
+}
@@ -0,0 +1,26 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.AffordabilityRequest;
+import com.java.credit_simulator.model.AffordabilityResponse;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.SweepRequest;
+import com.java.credit_simulator.model.SweepResponse;
+import com.java.credit_simulator.model.WebResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveCreditSimulatorService {
+    Mono<CalculateResponse> calculate (CalculateRequest calculateRequest);
+
+    Flux<WebResponse<CalculateResponse>> calculateBatch (List<CalculateRequest> calculateRequests);
+
+    Flux<WebResponse<CalculateResponse>> calculateStream (Flux<String> requestLines);
+
+    Mono<SweepResponse> calculateSweep (SweepRequest sweepRequest);
+
+    Mono<AffordabilityResponse> solveAffordability (AffordabilityRequest affordabilityRequest);
+
+}
@@ -0,0 +1,28 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.CalculationSheet;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+public interface SheetLogService {
+    CalculationSheet append(CalculateRequest request, CalculateResponse response) throws IOException;
+
+    Optional<CalculationSheet> get(long id) throws IOException;
+
+    /**
+     * @param page 0 based page, page 0 holds the newest sheets
+     * @return sheets of the page, newest first
+     */
+    List<CalculationSheet> list(int page, int pageSize) throws IOException;
+
+    /**
+     * @return number of sheets kept, older ones are dropped by compaction
+     */
+    long count() throws IOException;
+
+    void compact() throws IOException;
+}
@@ -0,0 +1,10 @@
+package com.java.credit_simulator.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface StreamCalculateService {
+    void calculate (InputStream requestLines, OutputStream responseLines) throws IOException;
+
+}
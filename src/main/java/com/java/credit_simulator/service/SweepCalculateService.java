@@ -0,0 +1,8 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.SweepRequest;
+import com.java.credit_simulator.model.SweepResponse;
+
+public interface SweepCalculateService {
+    SweepResponse calculate(SweepRequest request);
+}
@@ -0,0 +1,31 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.util.ValidationResult;
+
+/**
+ * A calculate request broke one or more business rules. The message is the first violation, the
+ * result has all of them.
+ *
+ * <p>Invalid input is an expected outcome, not a bug, so no stack trace is captured.
+ */
+public class ValidationException extends IllegalArgumentException {
+    private final transient ValidationResult result;
+
+    public ValidationException(ValidationResult result) {
+        this.result = result;
+    }
+
+    public ValidationResult getResult() {
+        return result;
+    }
+
+    @Override
+    public String getMessage() {
+        return result.getMessage(0);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,221 @@
+package com.java.credit_simulator.service.impl;
+
+import com.java.credit_simulator.model.AffordabilityRequest;
+import com.java.credit_simulator.model.AffordabilityResponse;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.service.AffordabilityService;
+import com.java.credit_simulator.service.CalculateLoanService;
+import com.java.credit_simulator.service.CreditSimulatorService;
+import com.java.credit_simulator.util.CreditSimulatorUtils;
+import com.java.credit_simulator.util.InstallmentTarget;
+import com.java.credit_simulator.util.IsExisting;
+import com.java.credit_simulator.util.ProductCatalog;
+import com.java.credit_simulator.util.SolveFor;
+import com.java.credit_simulator.util.VehicleConditionSpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.LongFunction;
+
+/**
+ * Finds the highest loan amount or the lowest down payment whose installment still fits a target.
+ *
+ * <p>Both cases are a search over one amount in cents (the total loan amount, or the principal left
+ * after the down payment) where the installment grows with the amount. The bounds come from the
+ * business rules: the 1 billion cap and the minimum down payment of the vehicle condition. The
+ * installment is close to proportional to the principal, so the first probe is the linear estimate
+ * from the upper bound; the search then gallops away from it with doubling steps until the answer is
+ * bracketed and bisects the bracket. The estimate is usually a few cents off, which makes it a
+ * handful of calculations, and a bad estimate costs at most about twice a plain bisection.
+ */
+@Service
+@Slf4j
+public class AffordabilityServiceImplement implements AffordabilityService {
+    private static final long MAX_LOAN_AMOUNT_CENTS = 100_000_000_000L;
+
+    private final CreditSimulatorService creditSimulatorService;
+
+    private final CalculateLoanService calculateLoanService;
+
+    @Value("${credit-simulator.affordability.max-calculations:100}")
+    private int maxCalculations;
+
+    public AffordabilityServiceImplement(CreditSimulatorService creditSimulatorService,
+                                         CalculateLoanService calculateLoanService) {
+        this.creditSimulatorService = creditSimulatorService;
+        this.calculateLoanService = calculateLoanService;
+    }
+
+    @Override
+    public AffordabilityResponse solve(AffordabilityRequest request) {
+        if (request.getSolveFor() == null) {
+            throw new IllegalArgumentException("Missing 'solveFor' in request");
+        }
+        if (request.getTargetInstallment() == null || request.getTargetInstallment() <= 0) {
+            throw new IllegalArgumentException("Target installment must be above 0");
+        }
+        // Every probe is calculated against the same snapshot
+        ProductCatalog productCatalog = ProductCatalog.current();
+        VehicleConditionSpec vehicleConditionSpec = productCatalog.getVehicleCondition(request.getVehicleCondition());
+        double minimumDownPaymentPercentage = vehicleConditionSpec.getMinimumDownPaymentPercentage();
+
+        long lower;
+        long upper;
+        LongFunction<CalculateRequest> requestAt;
+        if (request.getSolveFor() == SolveFor.DOWN_PAYMENT) {
+            if (request.getTotalLoanAmount() == null) {
+                throw new IllegalArgumentException("Missing 'totalLoanAmount' in request");
+            }
+            // Searching the principal; the down payment is what is left of the loan amount
+            BigDecimal totalLoanAmount = BigDecimal.valueOf(request.getTotalLoanAmount());
+            double minimumDownPayment = CreditSimulatorUtils.getMinimumDownPayment(
+                    request.getTotalLoanAmount(), minimumDownPaymentPercentage);
+            requestAt = principalCents -> request(request, totalLoanAmount.doubleValue(),
+                    totalLoanAmount.subtract(BigDecimal.valueOf(principalCents, 2)).doubleValue());
+            lower = 0;
+            upper = Math.max(0, totalLoanAmount.subtract(toCentsCeiling(minimumDownPayment))
+                    .movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue());
+            while (upper > 0 && requestAt.apply(upper).getDownPayment() < minimumDownPayment) {
+                upper--;
+            }
+        } else if (request.getDownPayment() != null) {
+            double downPayment = request.getDownPayment();
+            requestAt = totalLoanAmountCents -> request(request, totalLoanAmountCents / 100.0, downPayment);
+            lower = toCentsCeiling(downPayment).movePointRight(2).longValue();
+            upper = Math.min(MAX_LOAN_AMOUNT_CENTS,
+                    (long) Math.floor(downPayment / minimumDownPaymentPercentage * 100));
+            while (upper > 0 && CreditSimulatorUtils.getMinimumDownPayment(upper / 100.0,
+                    minimumDownPaymentPercentage) > downPayment) {
+                upper--;
+            }
+        } else {
+            requestAt = totalLoanAmountCents -> {
+                double totalLoanAmount = totalLoanAmountCents / 100.0;
+                return request(request, totalLoanAmount, toCentsCeiling(CreditSimulatorUtils.getMinimumDownPayment(
+                        totalLoanAmount, minimumDownPaymentPercentage)).doubleValue());
+            };
+            lower = 0;
+            upper = MAX_LOAN_AMOUNT_CENTS;
+        }
+
+        // The widest answer allowed by the rules; also checks the fields the search does not touch
+        CalculateRequest upperRequest = requestAt.apply(upper);
+        creditSimulatorService.validate(upperRequest, productCatalog);
+
+        InstallmentTarget installmentTarget = request.getInstallmentTarget() != null
+                ? request.getInstallmentTarget()
+                : InstallmentTarget.MONTHLY;
+        BigDecimal target = BigDecimal.valueOf(request.getTargetInstallment());
+
+        CalculateResponse upperResponse = calculateLoanService.calculate(upperRequest, productCatalog);
+        int calculations = 1;
+        if (installment(upperResponse, installmentTarget).compareTo(target) <= 0) {
+            return response(upperRequest, upperResponse, installmentTarget, true, calculations);
+        }
+
+        // lower has no principal left, so its installment is 0 and always fits
+        long fits = lower;
+        CalculateRequest fitsRequest = null;
+        CalculateResponse fitsResponse = null;
+        long exceeds = upper;
+        double estimate = lower + (upper - lower) * (target.doubleValue()
+                / installment(upperResponse, installmentTarget).doubleValue());
+        // +1 while galloping up from fits, -1 while galloping down from exceeds, 0 once bisecting
+        int direction = 0;
+        long step = 1;
+
+        while (exceeds - fits > 1 && calculations < maxCalculations) {
+            long probe;
+            if (calculations == 1) {
+                probe = (long) estimate;
+            } else if (direction > 0) {
+                probe = fits + step;
+                step <<= 1;
+            } else if (direction < 0) {
+                probe = exceeds - step;
+                step <<= 1;
+            } else {
+                probe = fits + (exceeds - fits) / 2;
+            }
+            probe = Math.max(fits + 1, Math.min(exceeds - 1, probe));
+
+            CalculateRequest probeRequest = requestAt.apply(probe);
+            CalculateResponse probeResponse = calculateLoanService.calculate(probeRequest, productCatalog);
+            boolean probeFits = installment(probeResponse, installmentTarget).compareTo(target) <= 0;
+            if (probeFits) {
+                fits = probe;
+                fitsRequest = probeRequest;
+                fitsResponse = probeResponse;
+            } else {
+                exceeds = probe;
+            }
+
+            if (calculations == 1) {
+                direction = probeFits ? 1 : -1;
+            } else if (direction != 0 && probeFits != (direction > 0)) {
+                direction = 0;
+            }
+            calculations++;
+        }
+        if (exceeds - fits > 1) {
+            log.warn("[solve] Stopped after {} calculations, answer is within {} cents", calculations, exceeds - fits);
+        }
+
+        if (fitsResponse == null) {
+            fitsRequest = requestAt.apply(fits);
+            fitsResponse = calculateLoanService.calculate(fitsRequest, productCatalog);
+            calculations++;
+        }
+        creditSimulatorService.validate(fitsRequest, productCatalog);
+        log.info("[solve] {} in {} calculations", request.getSolveFor(), calculations);
+        return response(fitsRequest, fitsResponse, installmentTarget, false, calculations);
+    }
+
+    private CalculateRequest request(AffordabilityRequest request, double totalLoanAmount, double downPayment) {
+        return CalculateRequest.builder()
+                .vehicleType(request.getVehicleType())
+                .vehicleCondition(request.getVehicleCondition())
+                .vehicleYear(request.getVehicleYear())
+                .totalLoanAmount(totalLoanAmount)
+                .loanTenure(request.getLoanTenure())
+                .downPayment(downPayment)
+                .isExisting(IsExisting.N)
+                .build();
+    }
+
+    private AffordabilityResponse response(CalculateRequest request, CalculateResponse response,
+                                           InstallmentTarget installmentTarget, boolean limitedByRule,
+                                           int calculations) {
+        return AffordabilityResponse.builder()
+                .totalLoanAmount(BigDecimal.valueOf(request.getTotalLoanAmount()).setScale(2, RoundingMode.HALF_UP))
+                .downPayment(BigDecimal.valueOf(request.getDownPayment()).setScale(2, RoundingMode.HALF_UP))
+                .installment(installment(response, installmentTarget))
+                .limitedByRule(limitedByRule)
+                .calculations(calculations)
+                .calculation(response)
+                .build();
+    }
+
+    private BigDecimal installment(CalculateResponse response, InstallmentTarget installmentTarget) {
+        if (installmentTarget == InstallmentTarget.AVERAGE) {
+            return response.getInstallmentMonthlyAverage();
+        }
+        BigDecimal highest = BigDecimal.ZERO;
+        for (CalculateResponse.YearlyInformation yearlyInformation : response.getYearlyInformations()) {
+            highest = highest.max(yearlyInformation.getInstallmentMonthly());
+        }
+        return highest;
+    }
+
+    /**
+     * Rounds up to whole cents, so a down payment built from it is never below the minimum it was
+     * computed from.
+     */
+    private static BigDecimal toCentsCeiling(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.CEILING);
+    }
+}
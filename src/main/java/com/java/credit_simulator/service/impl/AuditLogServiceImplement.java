@@ -0,0 +1,175 @@
+package com.java.credit_simulator.service.impl;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.service.AuditLogService;
+import com.java.credit_simulator.util.RingBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of calculate requests, written as one JSON line per event to the
+ * {@code credit_simulator.audit} logger.
+ *
+ * <p>The request thread only decides whether the event is sampled and puts the request/response
+ * references in a {@link RingBuffer}; JSON formatting and logging happen on a background writer. When
+ * the buffer is full the event is dropped and counted rather than slowing the request down. An idle
+ * writer parks until the next event is recorded, so it costs no wakeups while there is no traffic.
+ */
+@Service
+@Slf4j
+public class AuditLogServiceImplement implements AuditLogService {
+    private static final Logger AUDIT_LOG = LoggerFactory.getLogger("credit_simulator.audit");
+
+    private final boolean enabled;
+
+    private final double sampleRate;
+
+    private final RingBuffer<AuditEvent> buffer;
+
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+
+    private volatile boolean writerParked;
+
+    private Thread writer;
+
+    public AuditLogServiceImplement(@Value("${credit-simulator.audit.enabled:true}") boolean enabled,
+                                    @Value("${credit-simulator.audit.sample-rate:1.0}") double sampleRate,
+                                    @Value("${credit-simulator.audit.buffer-size:8192}") int bufferSize,
+                                    ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.buffer = new RingBuffer<>(bufferSize);
+        this.objectMapper = objectMapper;
+
+        FunctionCounter.builder("credit_simulator.audit.dropped", dropped, AtomicLong::get)
+                .description("Audit events dropped because the buffer was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+            if (writer.isAlive()) {
+                // Still polling the buffer, a second consumer would corrupt it
+                log.warn("[audit] Writer did not stop within 5s, pending audit events are left to it");
+                return;
+            }
+        }
+        drain();
+    }
+
+    @Override
+    public void record(CalculateRequest request, CalculateResponse response, String error, long elapsedNanos) {
+        if (!isSampled()) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(System.currentTimeMillis(), request, response, error, elapsedNanos);
+        if (!buffer.offer(event)) {
+            dropped.incrementAndGet();
+        } else if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Writes every pending event on the calling thread. Only one thread may drain at a time, which is
+     * the writer until it has exited.
+     *
+     * @return number of events written
+     */
+    public int drain() {
+        int written = 0;
+        AuditEvent event;
+        while ((event = buffer.poll()) != null) {
+            write(event);
+            written++;
+        }
+        return written;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private boolean isSampled() {
+        if (!enabled || sampleRate <= 0) {
+            return false;
+        }
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private void writeLoop() {
+        while (running) {
+            if (drain() > 0) {
+                continue;
+            }
+            // Flag first, then look again: an offer that missed the flag is seen by this drain, and
+            // one that lands after it sees the flag and unparks
+            writerParked = true;
+            if (drain() == 0 && running) {
+                LockSupport.park(this);
+            }
+            writerParked = false;
+        }
+    }
+
+    private void write(AuditEvent event) {
+        if (!AUDIT_LOG.isInfoEnabled()) {
+            return;
+        }
+        try {
+            AUDIT_LOG.info(objectMapper.writeValueAsString(AuditLine.of(event)));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("[audit] Failed to write audit event: {}", e.getMessage());
+        }
+    }
+
+    private record AuditEvent(long timestampMillis, CalculateRequest request, CalculateResponse response,
+                              String error, long elapsedNanos) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private record AuditLine(String timestamp, CalculateRequest request, CalculateResponse response, String error,
+                             long elapsedMicros) {
+        private static AuditLine of(AuditEvent event) {
+            return new AuditLine(Instant.ofEpochMilli(event.timestampMillis()).toString(), event.request(),
+                    event.response(), event.error(), TimeUnit.NANOSECONDS.toMicros(event.elapsedNanos()));
+        }
+    }
+}
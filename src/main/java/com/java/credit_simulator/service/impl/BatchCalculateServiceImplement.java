@@ -0,0 +1,79 @@
+package com.java.credit_simulator.service.impl;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.WebResponse;
+import com.java.credit_simulator.service.BatchCalculateService;
+import com.java.credit_simulator.service.CreditSimulatorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+@Service
+@Slf4j
+public class BatchCalculateServiceImplement implements BatchCalculateService {
+    private final CreditSimulatorService creditSimulatorService;
+
+    private final Executor calculationExecutor;
+
+    @Value("${credit-simulator.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    public BatchCalculateServiceImplement(CreditSimulatorService creditSimulatorService,
+                                          @Qualifier("calculationExecutor") Executor calculationExecutor) {
+        this.creditSimulatorService = creditSimulatorService;
+        this.calculationExecutor = calculationExecutor;
+    }
+
+    @Override
+    public List<WebResponse<CalculateResponse>> calculate(List<CalculateRequest> requests) {
+        validate(requests);
+        log.info("[calculateBatch] Items : {}", requests.size());
+
+        List<CompletableFuture<WebResponse<CalculateResponse>>> futures = new ArrayList<>(requests.size());
+        for (CalculateRequest request : requests) {
+            futures.add(CompletableFuture
+                    .supplyAsync(() -> calculateItem(request), calculationExecutor)
+                    .exceptionally(this::toErrorResponse));
+        }
+
+        // Joining in submission order keeps the results aligned with the input list
+        List<WebResponse<CalculateResponse>> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<WebResponse<CalculateResponse>> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    @Override
+    public void validate(List<CalculateRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch request must contain at least one item");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    String.format("Batch size %d exceeds the maximum of %d items", requests.size(), maxBatchSize));
+        }
+    }
+
+    private WebResponse<CalculateResponse> calculateItem(CalculateRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Batch item cannot be null");
+        }
+        return WebResponse.<CalculateResponse>builder().data(creditSimulatorService.calculate(request)).build();
+    }
+
+    private WebResponse<CalculateResponse> toErrorResponse(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        return WebResponse.<CalculateResponse>builder().errors(cause.getMessage()).build();
+    }
+}
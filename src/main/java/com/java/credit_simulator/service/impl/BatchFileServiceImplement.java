@@ -0,0 +1,255 @@
+package com.java.credit_simulator.service.impl;
+
+import com.java.credit_simulator.model.BatchFileSummary;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.service.BatchFileService;
+import com.java.credit_simulator.service.CreditSimulatorService;
+import com.java.credit_simulator.util.IsExisting;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Streams a CSV file of loan requests through {@link CreditSimulatorService}.
+ *
+ * <p>Input: one record per line, {@code vehicleType,vehicleCondition,vehicleYear,totalLoanAmount,
+ * loanTenure,downPayment[,isExisting]}; blank lines and a header line are skipped. Records are
+ * calculated on {@code calculationExecutor} with at most {@code window} records in flight, and the
+ * results are written in input order, so memory stays bounded whatever the file size.
+ *
+ * <p>Every {@code checkpoint-interval} records the output is flushed and the last written input line
+ * and output size are saved next to the output file. A run that finds this checkpoint truncates the
+ * output to the saved size and continues after the saved line; the checkpoint is removed once the
+ * whole file is done.
+ */
+@Service
+@Slf4j
+public class BatchFileServiceImplement implements BatchFileService {
+    private static final String OUTPUT_HEADER = "line,status,installmentMonthlyAverage,installmentMonthly,error";
+
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    private final CreditSimulatorService creditSimulatorService;
+
+    private final Executor calculationExecutor;
+
+    private final int window;
+
+    private final int checkpointInterval;
+
+    private final int progressInterval;
+
+    public BatchFileServiceImplement(CreditSimulatorService creditSimulatorService,
+                                     @Qualifier("calculationExecutor") Executor calculationExecutor,
+                                     @Value("${credit-simulator.batch-file.window:256}") int window,
+                                     @Value("${credit-simulator.batch-file.checkpoint-interval:1000}") int checkpointInterval,
+                                     @Value("${credit-simulator.batch-file.progress-interval:10000}") int progressInterval) {
+        this.creditSimulatorService = creditSimulatorService;
+        this.calculationExecutor = calculationExecutor;
+        this.window = Math.max(1, window);
+        this.checkpointInterval = Math.max(1, checkpointInterval);
+        this.progressInterval = Math.max(1, progressInterval);
+    }
+
+    @Override
+    public BatchFileSummary calculate(Path input, Path output) throws IOException {
+        long start = System.nanoTime();
+        Path checkpointFile = output.resolveSibling(output.getFileName() + ".checkpoint");
+        Checkpoint resumeFrom = readCheckpoint(checkpointFile);
+
+        long inputSize = Math.max(1, Files.size(input));
+        Progress progress = new Progress(start);
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (resumeFrom != null) {
+                log.info("[batchFile] Resuming {} after line {}", input, resumeFrom.line());
+                channel.truncate(resumeFrom.outputSize());
+            } else {
+                channel.truncate(0);
+            }
+            channel.position(channel.size());
+
+            BufferedWriter writer = new BufferedWriter(
+                    new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+            if (resumeFrom == null) {
+                writer.write(OUTPUT_HEADER);
+                writer.write('\n');
+            }
+
+            long skipUntil = resumeFrom == null ? 0 : resumeFrom.line();
+            Deque<CompletableFuture<Result>> inFlight = new ArrayDeque<>(window);
+            long lineNumber = 0;
+            long bytesRead = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                bytesRead += line.length() + 1;
+                if (lineNumber <= skipUntil || line.isBlank() || isHeader(line)) {
+                    continue;
+                }
+
+                long recordLine = lineNumber;
+                String record = line;
+                inFlight.addLast(CompletableFuture.supplyAsync(() -> calculateRecord(recordLine, record), calculationExecutor));
+
+                if (inFlight.size() >= window) {
+                    write(inFlight.removeFirst().join(), writer, channel, checkpointFile, progress);
+                    progress.logIfDue(bytesRead * 100 / inputSize);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.removeFirst().join(), writer, channel, checkpointFile, progress);
+            }
+            writer.flush();
+        }
+        Files.deleteIfExists(checkpointFile);
+
+        BatchFileSummary summary = BatchFileSummary.builder()
+                .records(progress.records)
+                .failed(progress.failed)
+                .resumedAfterLine(resumeFrom == null ? 0 : resumeFrom.line())
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+        log.info("[batchFile] Done : {}", summary);
+        return summary;
+    }
+
+    private void write(Result result, BufferedWriter writer, FileChannel channel, Path checkpointFile,
+                       Progress progress) throws IOException {
+        writer.write(result.line());
+        writer.write('\n');
+        progress.records++;
+        if (result.failed()) {
+            progress.failed++;
+        }
+
+        if (progress.records % checkpointInterval == 0) {
+            writer.flush();
+            writeCheckpoint(checkpointFile, new Checkpoint(result.inputLine(), channel.position()));
+        }
+    }
+
+    private Result calculateRecord(long lineNumber, String record) {
+        try {
+            CalculateResponse response = creditSimulatorService.calculate(parse(record));
+            StringBuilder line = new StringBuilder(96)
+                    .append(lineNumber).append(",OK,")
+                    .append(response.getInstallmentMonthlyAverage().toPlainString()).append(',');
+            List<CalculateResponse.YearlyInformation> yearlyInformations = response.getYearlyInformations();
+            for (int i = 0; i < yearlyInformations.size(); i++) {
+                if (i > 0) {
+                    line.append('|');
+                }
+                line.append(yearlyInformations.get(i).getInstallmentMonthly().toPlainString());
+            }
+            return new Result(lineNumber, line.append(',').toString(), false);
+        } catch (RuntimeException e) {
+            return new Result(lineNumber, lineNumber + ",ERROR,,," + quote(e.getMessage()), true);
+        }
+    }
+
+    private static CalculateRequest parse(String record) {
+        String[] fields = record.split(",", -1);
+        if (fields.length < 6 || fields.length > 7) {
+            throw new IllegalArgumentException(
+                    String.format("Expected 6 or 7 fields but found %d", fields.length));
+        }
+        try {
+            return CalculateRequest.builder()
+                    .vehicleType(fields[0].trim())
+                    .vehicleCondition(fields[1].trim())
+                    .vehicleYear(Integer.parseInt(fields[2].trim()))
+                    .totalLoanAmount(Double.parseDouble(fields[3].trim()))
+                    .loanTenure(Integer.parseInt(fields[4].trim()))
+                    .downPayment(Double.parseDouble(fields[5].trim()))
+                    .isExisting(fields.length == 7 && !fields[6].isBlank()
+                            ? IsExisting.valueOf(fields[6].trim().toUpperCase())
+                            : IsExisting.N)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and unknown isExisting values
+            throw new IllegalArgumentException("Malformed record: " + e.getMessage());
+        }
+    }
+
+    private static boolean isHeader(String line) {
+        return line.regionMatches(true, 0, "vehicleType", 0, "vehicleType".length());
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static Checkpoint readCheckpoint(Path checkpointFile) throws IOException {
+        if (!Files.isRegularFile(checkpointFile)) {
+            return null;
+        }
+        String[] fields = Files.readString(checkpointFile, StandardCharsets.UTF_8).trim().split(" ");
+        try {
+            return new Checkpoint(Long.parseLong(fields[0]), Long.parseLong(fields[1]));
+        } catch (RuntimeException e) {
+            throw new IOException("Unreadable checkpoint " + checkpointFile + ", delete it to start over", e);
+        }
+    }
+
+    private static void writeCheckpoint(Path checkpointFile, Checkpoint checkpoint) throws IOException {
+        Path parent = checkpointFile.toAbsolutePath().getParent();
+        Path temporaryFile = Files.createTempFile(parent, checkpointFile.getFileName().toString(), ".tmp");
+        Files.writeString(temporaryFile, checkpoint.line() + " " + checkpoint.outputSize(), StandardCharsets.UTF_8);
+        Files.move(temporaryFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @param line       last input line whose result is in the output
+     * @param outputSize output size in bytes right after that result
+     */
+    private record Checkpoint(long line, long outputSize) {
+    }
+
+    private record Result(long inputLine, String line, boolean failed) {
+    }
+
+    private final class Progress {
+        private final long start;
+
+        private long records;
+
+        private long failed;
+
+        private Progress(long start) {
+            this.start = start;
+        }
+
+        private void logIfDue(long percent) {
+            if (records % progressInterval != 0) {
+                return;
+            }
+            double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+            log.info("[batchFile] {}% : {} records ({} failed), {} records/s",
+                    Math.min(percent, 100), records, failed, Math.round(records / seconds));
+        }
+    }
+}
@@ -4,10 +4,12 @@ import com.java.credit_simulator.model.CalculateRequest;
 import com.java.credit_simulator.model.CalculateResponse;
 import com.java.credit_simulator.service.CalculateLoanService;
 import com.java.credit_simulator.util.CreditSimulatorUtils;
+import com.java.credit_simulator.util.InterestRateSchedule;
+import com.java.credit_simulator.util.ProductCatalog;
 import com.java.credit_simulator.util.VehicleTypeSpec;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -17,15 +19,15 @@ import java.util.List;
 
 @Service
 @Builder
-@Slf4j
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "credit-simulator.calculation.engine", havingValue = "big-decimal", matchIfMissing = true)
 public class CalculateLoanServiceImplement implements CalculateLoanService {
     @Override
-    public CalculateResponse calculate (CalculateRequest request){
-        VehicleTypeSpec vehicleTypeSpec = VehicleTypeSpec.fromString(request.getVehicleType());
+    public CalculateResponse calculate (CalculateRequest request, ProductCatalog productCatalog){
+        VehicleTypeSpec vehicleTypeSpec = productCatalog.getVehicleType(request.getVehicleType());
 
         int tenure = request.getLoanTenure();
-        double baseInterestRate = vehicleTypeSpec.getBaseInterestRate();
+        InterestRateSchedule interestRateSchedule = productCatalog.getInterestRateSchedule();
 
         BigDecimal principalAmount = CreditSimulatorUtils.getPrincipalAmount(
                 request.getTotalLoanAmount(),
@@ -35,32 +37,23 @@ public class CalculateLoanServiceImplement implements CalculateLoanService {
         List<CalculateResponse.YearlyInformation> yearlyInformations = new ArrayList<>();
 
         for (int year = 1; year <= tenure; year++) {
-            log.debug("[calculate] Year : {}, principalAmount : {},  ",year, principalAmount);
-            log.debug("[calculate] Year : {}, principalAmount : {},  ",year, principalAmount);
-
-            double currentInterestRate = calculateInterestRate(baseInterestRate, year);
+            double currentInterestRate = interestRateSchedule.getRate(vehicleTypeSpec, year);
             double currentRateAfterConverted = CreditSimulatorUtils.convertPercentageRateToActualRate(currentInterestRate);
 
             BigDecimal interestAmount = CreditSimulatorUtils.getInterestAmount(
                     principalAmount,
                     BigDecimal.valueOf(currentRateAfterConverted)
             );
-            log.debug("[calculate] Year : {}, InterestAmount : {}", year, interestAmount);
 
             BigDecimal totalLoanAmount = CreditSimulatorUtils.getTotalLoanAmount(principalAmount,interestAmount);
-            log.debug("[calculate] Year : {}, totalLoanAmount : {}", year, totalLoanAmount);
 
             double installmentMonthlyDivider = CreditSimulatorUtils.getInstallmentMonthlyDivider(year,tenure);
-            log.debug("[calculate] Year : {}, installmentMonthlyDivider : {},  ", year, installmentMonthlyDivider);
 
             BigDecimal installmentMonthly = CreditSimulatorUtils.getInstallmentMonthly(
                     totalLoanAmount,
                     BigDecimal.valueOf(installmentMonthlyDivider));
-            log.debug("[calculate] Year : {}, installmentMonthly : {},  ", year, installmentMonthly);
-
 
             BigDecimal installmentYearly = CreditSimulatorUtils.getInstallmentYearly(installmentMonthly);
-            log.debug("[calculate] Year : {}, installmentYearly : {},  ", year, installmentYearly);
 
             CalculateResponse.YearlyInformation yearlyInformation = new CalculateResponse.YearlyInformation(
                     year,
@@ -74,7 +67,6 @@ public class CalculateLoanServiceImplement implements CalculateLoanService {
             yearlyInformations.add(yearlyInformation);
 
             // Update information for next iteration
-            baseInterestRate = currentInterestRate;
             principalAmount = CreditSimulatorUtils.getPrincipalAmount(
                     totalLoanAmount.doubleValue(),
                     installmentYearly.doubleValue()
@@ -82,7 +74,6 @@ public class CalculateLoanServiceImplement implements CalculateLoanService {
         }
 
         BigDecimal installmentMonthlyAverage = calculateAverageInstallmentMonthly(yearlyInformations,tenure);
-        log.debug("[calculate] installmentMonthlyAverage : {},  ", installmentMonthlyAverage);
 
         return CalculateResponse.builder()
                 .yearlyInformations(yearlyInformations)
@@ -90,28 +81,6 @@ public class CalculateLoanServiceImplement implements CalculateLoanService {
                 .build();
     }
 
-    private double calculateInterestRate(double baseRate, int year) {
-        double additionalRate = 0;
-        boolean isFirstYear = (year - 1) == 0 ;
-        boolean isEveryTwoYear = (year - 2) % 2 == 1;
-
-        if(!isFirstYear && !isEveryTwoYear){
-            Double yearlyAddtionalRate = CreditSimulatorUtils.getAdditionalYearlyRate();
-            additionalRate += yearlyAddtionalRate;
-        }
-
-        if(isEveryTwoYear){
-            Double twoYearlyAdditionalRate = CreditSimulatorUtils.getTwoYearAdditionalRate();
-            additionalRate += twoYearlyAdditionalRate;
-        }
-
-        double finalRate = CreditSimulatorUtils.getFinalRate(baseRate,additionalRate);
-        double roundedRate = Math.round(finalRate * 100.0) / 100.0;
-
-        log.debug("[calculateInterestRate] Year : {}, Final Rate : {} ", year, finalRate);
-        return roundedRate;
-    }
-
     private BigDecimal calculateAverageInstallmentMonthly(List<CalculateResponse.YearlyInformation> yearlyInformations, int tenure) {
         BigDecimal totalInstallmentYearly = yearlyInformations.stream()
                 .map(CalculateResponse.YearlyInformation::getInstallmentYearly)
@@ -0,0 +1,118 @@
+package com.java.credit_simulator.service.impl;
+
+import com.java.credit_simulator.service.CalculateMetricsService;
+import com.java.credit_simulator.util.ProductCatalog;
+import com.java.credit_simulator.util.VehicleTypeSpec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the calculate pipeline. Meters are looked up once and kept here, so recording
+ * on the request path does not go through the registry.
+ */
+@Service
+public class CalculateMetricsServiceImplement implements CalculateMetricsService {
+    private static final String STAGE_TIMER = "credit_simulator.stage";
+
+    private static final String CALCULATION_COUNTER = "credit_simulator.calculations";
+
+    private static final String VALIDATION_FAILURE_COUNTER = "credit_simulator.validation.failures";
+
+    private static final String THIRD_PARTY_COUNTER = "credit_simulator.third_party.calls";
+
+    private static final int MAX_TENURE = 6;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> validationFailureCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> thirdPartyCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Counters per tenure, keyed by the catalog spelling of the vehicle type. Types added by a catalog
+     * reload get their counters on first use.
+     */
+    private final Map<String, Counter[]> calculationCounters = new ConcurrentHashMap<>();
+
+    public CalculateMetricsServiceImplement(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (VehicleTypeSpec vehicleTypeSpec : ProductCatalog.current().getVehicleTypes()) {
+            calculationCounters(vehicleTypeSpec.getType());
+        }
+    }
+
+    @Override
+    public <T> T recordStage(String stage, Supplier<T> supplier) {
+        return stageTimer(stage).record(supplier);
+    }
+
+    @Override
+    public void recordStage(String stage, long elapsedNanos) {
+        stageTimer(stage).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void countCalculation(String vehicleType, int loanTenure) {
+        if (loanTenure < 1 || loanTenure > MAX_TENURE) {
+            return;
+        }
+        VehicleTypeSpec vehicleTypeSpec = ProductCatalog.current().findVehicleType(vehicleType);
+        if (vehicleTypeSpec == null) {
+            return;
+        }
+        calculationCounters(vehicleTypeSpec.getType())[loanTenure].increment();
+    }
+
+    @Override
+    public void countValidationFailure(String reason) {
+        validationFailureCounters.computeIfAbsent(reason, key -> Counter.builder(VALIDATION_FAILURE_COUNTER)
+                .description("Rejected calculate requests per validation rule")
+                .tag("reason", key)
+                .register(meterRegistry))
+                .increment();
+    }
+
+    @Override
+    public void countThirdPartyCall(String outcome) {
+        thirdPartyCounters.computeIfAbsent(outcome, key -> Counter.builder(THIRD_PARTY_COUNTER)
+                .description("Third party existing data calls per outcome")
+                .tag("outcome", key)
+                .register(meterRegistry))
+                .increment();
+    }
+
+    private Counter[] calculationCounters(String vehicleType) {
+        return calculationCounters.computeIfAbsent(vehicleType, key -> {
+            Counter[] counters = new Counter[MAX_TENURE + 1];
+            for (int tenure = 1; tenure <= MAX_TENURE; tenure++) {
+                counters[tenure] = Counter.builder(CALCULATION_COUNTER)
+                        .description("Calculations per vehicle type and loan tenure")
+                        .tag("vehicle_type", key)
+                        .tag("tenure", String.valueOf(tenure))
+                        .register(meterRegistry);
+            }
+            return counters;
+        });
+    }
+
+    private Timer stageTimer(String stage) {
+        // Stages run in microseconds, so the histogram starts well below the 1ms Micrometer default
+        return stageTimers.computeIfAbsent(stage, key -> Timer.builder(STAGE_TIMER)
+                .description("Time spent in each stage of the calculate pipeline")
+                .tag("stage", key)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry));
+    }
+}
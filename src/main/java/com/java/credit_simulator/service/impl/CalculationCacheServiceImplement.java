@@ -0,0 +1,100 @@
+package com.java.credit_simulator.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.CalculateResponse.YearlyInformation;
+import com.java.credit_simulator.model.CalculationCacheStatsResponse;
+import com.java.credit_simulator.service.CalculationCacheService;
+import com.java.credit_simulator.util.ProductCatalog;
+import com.java.credit_simulator.util.VehicleConditionSpec;
+import com.java.credit_simulator.util.VehicleTypeSpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of calculation results keyed on the normalized request. Concurrent requests for the
+ * same key wait for a single calculation instead of each running their own.
+ */
+@Service
+@Slf4j
+public class CalculationCacheServiceImplement implements CalculationCacheService {
+    private final boolean enabled;
+
+    private final Cache<CalculationKey, CalculateResponse> cache;
+
+    public CalculationCacheServiceImplement(@Value("${credit-simulator.cache.enabled:true}") boolean enabled,
+                                            @Value("${credit-simulator.cache.maximum-size:10000}") long maximumSize,
+                                            @Value("${credit-simulator.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public CalculateResponse get(CalculateRequest request, ProductCatalog productCatalog,
+                                 Function<CalculateRequest, CalculateResponse> calculator) {
+        if (!enabled) {
+            return calculator.apply(request);
+        }
+        // Callers are free to change what they get back, so never hand out the cached instance
+        return copy(cache.get(CalculationKey.of(request, productCatalog), key -> calculator.apply(request)));
+    }
+
+    @Override
+    public CalculationCacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return CalculationCacheStatsResponse.builder()
+                .enabled(enabled)
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    private static CalculateResponse copy(CalculateResponse response) {
+        List<YearlyInformation> yearlyInformations = null;
+        if (response.getYearlyInformations() != null) {
+            yearlyInformations = new ArrayList<>(response.getYearlyInformations().size());
+            for (YearlyInformation yearlyInformation : response.getYearlyInformations()) {
+                yearlyInformations.add(new YearlyInformation(yearlyInformation.getYear(),
+                        yearlyInformation.getInterestRate(),
+                        yearlyInformation.getPrincipalAmount(),
+                        yearlyInformation.getTotalLoanAmount(),
+                        yearlyInformation.getInstallmentMonthly(),
+                        yearlyInformation.getInstallmentYearly()));
+            }
+        }
+        return new CalculateResponse(yearlyInformations, response.getInstallmentMonthlyAverage());
+    }
+
+    /**
+     * Request fields that affect the result. Vehicle type and condition are resolved to their spec so
+     * "mobil" and " Mobil" share an entry.
+     */
+    private record CalculationKey(VehicleTypeSpec vehicleTypeSpec, VehicleConditionSpec vehicleConditionSpec,
+                                  int vehicleYear, double totalLoanAmount, int loanTenure, double downPayment) {
+        static CalculationKey of(CalculateRequest request, ProductCatalog productCatalog) {
+            return new CalculationKey(
+                    productCatalog.getVehicleType(request.getVehicleType()),
+                    productCatalog.getVehicleCondition(request.getVehicleCondition()),
+                    request.getVehicleYear(),
+                    request.getTotalLoanAmount(),
+                    request.getLoanTenure(),
+                    request.getDownPayment());
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package com.java.credit_simulator.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.CalculationRecord;
+import com.java.credit_simulator.service.CalculationHistoryService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * History of REST calculations, kept in memory-mapped segment files so it survives restarts without
+ * an external database.
+ *
+ * <p>Each segment {@code history-<firstId>.seg} holds records {@code [length][crc32][json]} one after
+ * the other, the rest of the file is zero. Ids are consecutive, so the in-memory index is one
+ * {@code int} offset per record per segment and a lookup is an array read plus a read of the mapped
+ * record. The id of a record is its position, {@code firstId} plus its slot, and is not part of the
+ * JSON. A segment is scanned once at startup; a record with a bad length or checksum ends it.
+ *
+ * <p>Segments are opened on the first save or lookup, so runs that never serve {@code /calculate},
+ * like the CLI, pipe and batch modes, do not create or map anything.
+ *
+ * <p>When the active segment is full a new one is started. Whole segments are dropped once their
+ * newest record is older than {@code retention} or there are more than {@code max-segments}.
+ *
+ * <p>Records are converted to JSON before taking the lock, only assigning the id and appending are
+ * serialized. Reads take no lock and only see records whose index entry was published after the
+ * record was written.
+ */
+@Service
+@Slf4j
+public class CalculationHistoryServiceImplement implements CalculationHistoryService {
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final long MIN_SEGMENT_SIZE = 1 << 16;
+
+    private static final Duration RETENTION_CHECK_INTERVAL = Duration.ofMinutes(1);
+
+    private final boolean enabled;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final int maxSegments;
+
+    private final Duration retention;
+
+    private final Clock clock;
+
+    private final ObjectWriter recordWriter;
+
+    private final ObjectReader recordReader;
+
+    /**
+     * Oldest first, replaced as a whole so readers can use it without a lock
+     */
+    private volatile List<Segment> segments = List.of();
+
+    private volatile boolean opened;
+
+    private long nextId = 1;
+
+    private Instant nextRetentionCheck = Instant.MIN;
+
+    @Autowired
+    public CalculationHistoryServiceImplement(@Value("${credit-simulator.history.enabled:true}") boolean enabled,
+                                              @Value("${credit-simulator.history.directory:data/history}") Path directory,
+                                              @Value("${credit-simulator.history.segment-size:64MB}") DataSize segmentSize,
+                                              @Value("${credit-simulator.history.max-segments:16}") int maxSegments,
+                                              @Value("${credit-simulator.history.retention:7d}") Duration retention,
+                                              ObjectMapper objectMapper) {
+        this(enabled, directory, segmentSize.toBytes(), maxSegments, retention, objectMapper, Clock.systemUTC());
+    }
+
+    public CalculationHistoryServiceImplement(boolean enabled, Path directory, long segmentSize, int maxSegments,
+                                              Duration retention, ObjectMapper objectMapper, Clock clock) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_SEGMENT_SIZE, segmentSize));
+        this.maxSegments = Math.max(1, maxSegments);
+        this.retention = retention;
+        this.clock = clock;
+        this.recordWriter = objectMapper.writerFor(CalculationRecord.class);
+        this.recordReader = objectMapper.readerFor(CalculationRecord.class);
+    }
+
+    /**
+     * Loads the segments of previous runs. Done by the first save or lookup, does nothing when already open.
+     */
+    public synchronized void open() throws IOException {
+        if (!enabled || opened) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "history-*.seg")) {
+            stream.forEach(files::add);
+        }
+        files.sort((a, b) -> Long.compare(firstId(a), firstId(b)));
+
+        List<Segment> loaded = new ArrayList<>(files.size());
+        for (Path file : files) {
+            Segment segment = Segment.load(file, firstId(file), segmentSize);
+            if (segment.count > 0) {
+                segment.newestAt = read(segment, segment.count - 1).getCalculatedAt();
+            }
+            if (!loaded.isEmpty()) {
+                loaded.get(loaded.size() - 1).close();
+            }
+            loaded.add(segment);
+        }
+        segments = List.copyOf(loaded);
+        if (!loaded.isEmpty()) {
+            Segment last = loaded.get(loaded.size() - 1);
+            nextId = last.firstId + last.count;
+        }
+        dropExpired(clock.instant());
+        opened = true;
+        log.info("[open] Calculation history {} : {} segments, next id {}", directory, segments.size(), nextId);
+    }
+
+    private void ensureOpen() {
+        if (opened) {
+            return;
+        }
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            segment.close();
+        }
+    }
+
+    @Override
+    public Long save(CalculateRequest request, CalculateResponse response) {
+        if (!enabled) {
+            return null;
+        }
+        Instant now = clock.instant();
+        byte[] json;
+        try {
+            json = recordWriter.writeValueAsBytes(CalculationRecord.builder()
+                    .calculatedAt(now)
+                    .request(request)
+                    .response(response)
+                    .build());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (json.length + RECORD_HEADER_SIZE > segmentSize) {
+            throw new IllegalStateException("Calculation record does not fit in a history segment");
+        }
+        ensureOpen();
+        return append(json, now);
+    }
+
+    private synchronized long append(byte[] json, Instant now) {
+        long id = nextId;
+        Segment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        boolean rolled = active == null || !active.fits(json.length);
+        if (rolled) {
+            active = roll(active, id, now);
+        }
+        active.append(json, now);
+        nextId++;
+
+        if (rolled || !now.isBefore(nextRetentionCheck)) {
+            dropExpired(now);
+        }
+        return id;
+    }
+
+    @Override
+    public Optional<CalculationRecord> get(long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        ensureOpen();
+        List<Segment> current = segments;
+        int low = 0;
+        int high = current.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Segment segment = current.get(middle);
+            if (id < segment.firstId) {
+                high = middle - 1;
+            } else if (id >= segment.firstId + segment.count) {
+                low = middle + 1;
+            } else {
+                return Optional.of(read(segment, (int) (id - segment.firstId)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private CalculationRecord read(Segment segment, int slot) {
+        int offset = segment.offsets[slot];
+        int length = segment.buffer.getInt(offset);
+        byte[] json = new byte[length];
+        segment.buffer.get(offset + RECORD_HEADER_SIZE, json);
+        CalculationRecord record;
+        try {
+            record = recordReader.readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        record.setId(segment.firstId + slot);
+        return record;
+    }
+
+    private Segment roll(Segment full, long firstId, Instant now) {
+        if (full != null) {
+            full.close();
+        }
+        try {
+            Segment segment = Segment.create(directory.resolve("history-" + firstId + ".seg"), firstId, segmentSize, now);
+            List<Segment> rolled = new ArrayList<>(segments);
+            rolled.add(segment);
+            segments = List.copyOf(rolled);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void dropExpired(Instant now) {
+        nextRetentionCheck = now.plus(RETENTION_CHECK_INTERVAL);
+        List<Segment> kept = new ArrayList<>(segments);
+        Instant oldestKept = now.minus(retention);
+        // The active segment is never dropped
+        while (kept.size() > 1 && (kept.size() > maxSegments || kept.get(0).newestAt.isBefore(oldestKept))) {
+            Segment dropped = kept.remove(0);
+            try {
+                Files.deleteIfExists(dropped.file);
+                log.info("[dropExpired] Dropped history ids {} - {}", dropped.firstId, dropped.firstId + dropped.count - 1);
+            } catch (IOException e) {
+                log.warn("[dropExpired] Failed to delete {}: {}", dropped.file, e.getMessage());
+            }
+        }
+        if (kept.size() != segments.size()) {
+            segments = List.copyOf(kept);
+        }
+    }
+
+    private static long firstId(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring("history-".length(), name.length() - ".seg".length()));
+    }
+
+    private static final class Segment {
+        private final Path file;
+
+        private final long firstId;
+
+        private final MappedByteBuffer buffer;
+
+        private volatile int[] offsets;
+
+        /**
+         * Published after the record and its offset are written
+         */
+        private volatile int count;
+
+        private int position;
+
+        private Instant newestAt;
+
+        private FileChannel channel;
+
+        private Segment(Path file, long firstId, MappedByteBuffer buffer, FileChannel channel, Instant newestAt) {
+            this.file = file;
+            this.firstId = firstId;
+            this.buffer = buffer;
+            this.channel = channel;
+            this.offsets = new int[1024];
+            this.newestAt = newestAt;
+        }
+
+        static Segment create(Path file, long firstId, int size, Instant createdAt) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            return new Segment(file, firstId, channel.map(FileChannel.MapMode.READ_WRITE, 0, size), channel, createdAt);
+        }
+
+        static Segment load(Path file, long firstId, int size) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+            // Empty segments count as new, the age of others is set from their newest record
+            Segment segment = new Segment(file, firstId, buffer, channel, Instant.now());
+            segment.scan();
+            return segment;
+        }
+
+        private void scan() {
+            CRC32 crc = new CRC32();
+            int limit = buffer.capacity();
+            int scanned = 0;
+            int at = 0;
+            while (at + RECORD_HEADER_SIZE <= limit) {
+                int length = buffer.getInt(at);
+                if (length <= 0 || length > limit - at - RECORD_HEADER_SIZE) {
+                    break;
+                }
+                crc.reset();
+                crc.update(buffer.slice(at + RECORD_HEADER_SIZE, length));
+                if ((int) crc.getValue() != buffer.getInt(at + Integer.BYTES)) {
+                    break;
+                }
+                addOffset(scanned++, at);
+                at += RECORD_HEADER_SIZE + length;
+            }
+            if (at + Integer.BYTES <= limit && buffer.getInt(at) != 0) {
+                // Cut short by a crash: clear it so the next record does not start in garbage
+                buffer.putInt(at, 0);
+            }
+            position = at;
+            count = scanned;
+        }
+
+        boolean fits(int length) {
+            return channel != null && position + RECORD_HEADER_SIZE + length <= buffer.capacity();
+        }
+
+        void append(byte[] json, Instant at) {
+            CRC32 crc = new CRC32();
+            crc.update(json);
+            buffer.put(position + RECORD_HEADER_SIZE, json);
+            buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+            buffer.putInt(position, json.length);
+
+            int slot = count;
+            addOffset(slot, position);
+            position += RECORD_HEADER_SIZE + json.length;
+            newestAt = at;
+            count = slot + 1;
+        }
+
+        private void addOffset(int slot, int offset) {
+            int[] current = offsets;
+            if (slot == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                current[slot] = offset;
+                offsets = current;
+            } else {
+                current[slot] = offset;
+            }
+        }
+
+        /**
+         * Flushes and stops appending; the mapping stays readable
+         */
+        void close() {
+            if (channel == null) {
+                return;
+            }
+            buffer.force();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("[close] Failed to close {}: {}", file, e.getMessage());
+            }
+            channel = null;
+        }
+    }
+}
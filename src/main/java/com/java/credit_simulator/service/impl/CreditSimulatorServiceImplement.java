@@ -3,10 +3,17 @@ package com.java.credit_simulator.service.impl;
 import com.java.credit_simulator.external.ThirdPartyService;
 import com.java.credit_simulator.model.CalculateRequest;
 import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.service.AuditLogService;
 import com.java.credit_simulator.service.CalculateLoanService;
+import com.java.credit_simulator.service.CalculateMetricsService;
+import com.java.credit_simulator.service.CalculationCacheService;
 import com.java.credit_simulator.service.CreditSimulatorService;
+import com.java.credit_simulator.service.ValidationException;
 import com.java.credit_simulator.util.CreditSimulatorUtils;
 import com.java.credit_simulator.util.IsExisting;
+import com.java.credit_simulator.util.ProductCatalog;
+import com.java.credit_simulator.util.ValidationCode;
+import com.java.credit_simulator.util.ValidationResult;
 import com.java.credit_simulator.util.VehicleConditionSpec;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
@@ -20,114 +27,168 @@ import java.time.Year;
 @Slf4j
 @RequiredArgsConstructor
 public class CreditSimulatorServiceImplement implements CreditSimulatorService {
+    private static final ThreadLocal<ValidationResult> VALIDATION_RESULTS = ThreadLocal.withInitial(ValidationResult::new);
+
     private final CalculateLoanService calculateLoanService;
 
     private final ThirdPartyService thirdPartyService;
 
+    private final CalculationCacheService calculationCacheService;
+
+    private final CalculateMetricsService calculateMetricsService;
+
+    private final AuditLogService auditLogService;
+
     @Override
     public CalculateResponse calculate(CalculateRequest request) {
-        log.info("[calculate] REQ : {} ", request);
+        long start = System.nanoTime();
+        try {
+            CalculateResponse response = calculateRequest(request);
+            auditLogService.record(request, response, null, System.nanoTime() - start);
+            return response;
+        } catch (RuntimeException err) {
+            auditLogService.record(request, null, err.getMessage(), System.nanoTime() - start);
+            throw err;
+        }
+    }
 
-        validate(request);
+    private CalculateResponse calculateRequest(CalculateRequest request) {
+        // One snapshot for the whole request, a reload in between cannot mix two catalogs
+        ProductCatalog productCatalog = ProductCatalog.current();
+        validate(request, productCatalog);
 
+        CalculateRequest existingData = null;
         if (isLoadExisting(request)) {
-            request = thirdPartyService.loadExistingData();
+            existingData = calculateMetricsService.recordStage(
+                    CalculateMetricsService.STAGE_LOAD_EXISTING_DATA, thirdPartyService::loadExistingData);
         }
+        return calculateValidated(request, existingData, productCatalog);
+    }
 
+    @Override
+    public CalculateResponse calculateValidated(CalculateRequest request, CalculateRequest existingData,
+                                                ProductCatalog productCatalog) {
+        if (isLoadExisting(request)) {
+            // Existing data comes from the third party on every call, so it is never served from the cache
+            calculateMetricsService.countCalculation(existingData.getVehicleType(), existingData.getLoanTenure());
+            return calculateLoan(existingData, productCatalog);
+        }
+        // Counted before the lookup, a calculation served from the cache is still a calculation
+        calculateMetricsService.countCalculation(request.getVehicleType(), request.getLoanTenure());
+        return calculationCacheService.get(request, productCatalog,
+                cacheMiss -> calculateLoan(cacheMiss, productCatalog));
+    }
 
-        CalculateResponse response = calculateLoanService.calculate(request);
-        log.info("[calculate] RES : {} ", response);
-        return response;
+    private CalculateResponse calculateLoan(CalculateRequest request, ProductCatalog productCatalog) {
+        return calculateMetricsService.recordStage(CalculateMetricsService.STAGE_CALCULATE,
+                () -> calculateLoanService.calculate(request, productCatalog));
     }
 
-    private void validate(CalculateRequest request) {
-        try {
-            validateMandatoryRequest(request);
-            validateVehicleYear(request);
-            validateLoanTenure(request);
-            validateDownPayment(request);
-            validateLoanAmount(request);
-        } catch (IllegalArgumentException err) {
-            log.error("[validate] ERR : {}", err.getMessage());
-            throw err;
+    @Override
+    public void validate(CalculateRequest request, ProductCatalog productCatalog) {
+        ValidationResult result = VALIDATION_RESULTS.get();
+        if (!validate(request, productCatalog, result)) {
+            throw new ValidationException(result.copy());
         }
     }
 
-    private void validateMandatoryRequest(CalculateRequest request) {
-        if (StringUtils.isBlank(request.getVehicleType())) {
-            throw new IllegalArgumentException("Missing 'vehicleType' in request");
-        }
+    @Override
+    public boolean validate(CalculateRequest request, ProductCatalog productCatalog, ValidationResult result) {
+        long start = System.nanoTime();
+        int currentYear = Year.now().getValue();
+        result.reset(request, productCatalog, currentYear);
+        validateRules(request, productCatalog, currentYear, result);
+        calculateMetricsService.recordStage(CalculateMetricsService.STAGE_VALIDATE, System.nanoTime() - start);
 
-        if (StringUtils.isBlank(request.getVehicleCondition())) {
-            throw new IllegalArgumentException("Missing 'vehicleCondition' in request");
+        if (result.isValid()) {
+            return true;
         }
-
-        if (request.getVehicleYear() == null) {
-            throw new IllegalArgumentException("Missing 'vehicleYear' in request");
+        // First violated rule is reported as the failure reason so the metric tag stays low-cardinality
+        calculateMetricsService.countValidationFailure(result.getCode(0).getRule());
+        if (log.isDebugEnabled()) {
+            log.debug("[validate] {} violation(s), first : {}", result.size(), result.getMessage(0));
         }
+        return false;
+    }
 
-        if (request.getTotalLoanAmount() == null) {
-            throw new IllegalArgumentException("Missing 'totalLoanAmount' in request");
+    /**
+     * One pass over every rule. A rule is skipped when a field it needs is missing, that is already
+     * reported as a missing field.
+     */
+    private void validateRules(CalculateRequest request, ProductCatalog productCatalog, int currentYear,
+                               ValidationResult result) {
+        boolean hasVehicleType = !StringUtils.isBlank(request.getVehicleType());
+        boolean hasVehicleCondition = !StringUtils.isBlank(request.getVehicleCondition());
+        VehicleConditionSpec vehicleConditionSpec = hasVehicleCondition
+                ? productCatalog.findVehicleCondition(request.getVehicleCondition())
+                : null;
+        Integer vehicleYear = request.getVehicleYear();
+        Double totalLoanAmount = request.getTotalLoanAmount();
+        Integer loanTenure = request.getLoanTenure();
+        Double downPayment = request.getDownPayment();
+
+        if (!hasVehicleType) {
+            result.add(ValidationCode.MISSING_VEHICLE_TYPE);
         }
-
-        if (request.getLoanTenure() == null) {
-            throw new IllegalArgumentException("Missing 'loanTenure' in request");
+        if (!hasVehicleCondition) {
+            result.add(ValidationCode.MISSING_VEHICLE_CONDITION);
         }
-
-        if (request.getDownPayment() == null) {
-            throw new IllegalArgumentException("Missing 'downPayment' in request");
+        if (vehicleYear == null) {
+            result.add(ValidationCode.MISSING_VEHICLE_YEAR);
+        }
+        if (totalLoanAmount == null) {
+            result.add(ValidationCode.MISSING_TOTAL_LOAN_AMOUNT);
+        }
+        if (loanTenure == null) {
+            result.add(ValidationCode.MISSING_LOAN_TENURE);
+        }
+        if (downPayment == null) {
+            result.add(ValidationCode.MISSING_DOWN_PAYMENT);
         }
         if (request.getIsExisting() == null) {
-            throw new IllegalArgumentException("Missing 'isExisting' in request");
+            result.add(ValidationCode.MISSING_IS_EXISTING);
         }
-    }
 
-    private void validateVehicleYear(CalculateRequest request) {
-        int currentYear = Year.now().getValue();
-        if (request.getVehicleCondition().toString().equals(VehicleConditionSpec.BARU.getCondition())) {
-            if (request.getVehicleYear() < (currentYear - 1)) {
-                throw new IllegalArgumentException(
-                        String.format("New vehicle year cannot be less than %d", currentYear - 1));
-            }
+        if (hasVehicleType && productCatalog.findVehicleType(request.getVehicleType()) == null) {
+            result.add(ValidationCode.INVALID_VEHICLE_TYPE);
         }
-        else {
-            if (request.getVehicleYear() > currentYear) {
-                throw new IllegalArgumentException(
-                        String.format("Please enter a valid year (Valid year until " + Year.now().getValue() + ")"));
-            }
+        if (hasVehicleCondition && vehicleConditionSpec == null) {
+            result.add(ValidationCode.INVALID_VEHICLE_CONDITION);
         }
-    }
 
-    private void validateLoanTenure(CalculateRequest request) {
-        if (request.getLoanTenure() < 1 || request.getLoanTenure() > 6) {
-            throw new IllegalArgumentException("Loan tenure must be between 1 and 6 years");
+        // The year and down payment rules depend on the vehicle condition, skipped when it is unknown
+        if (vehicleConditionSpec != null && vehicleYear != null) {
+            if (vehicleConditionSpec.isNewVehicle()) {
+                if (vehicleYear < currentYear - 1) {
+                    result.add(ValidationCode.NEW_VEHICLE_YEAR_TOO_OLD);
+                }
+            } else if (vehicleYear > currentYear) {
+                result.add(ValidationCode.VEHICLE_YEAR_IN_FUTURE);
+            }
         }
-    }
 
-    private void validateDownPayment(CalculateRequest request) {
-        if (request.getDownPayment() > request.getTotalLoanAmount()) {
-            throw new IllegalArgumentException(
-                    String.format("Down payment (Rp %.2f) must be below of loan amount (Rp %.2f)",
-                            request.getDownPayment(), request.getTotalLoanAmount()));
+        if (loanTenure != null && (loanTenure < 1 || loanTenure > 6)) {
+            result.add(ValidationCode.LOAN_TENURE_OUT_OF_RANGE);
         }
 
-        VehicleConditionSpec vehicleConditionSpec = VehicleConditionSpec.fromString(request.getVehicleCondition());
-
-        double minDownPayment = CreditSimulatorUtils.getMinimumDownPayment(request.getTotalLoanAmount(),
-                vehicleConditionSpec.getMinimumDownPaymentPercentage());
-
-        if (request.getDownPayment() < minDownPayment) {
-            throw new IllegalArgumentException(
-                    String.format("Down payment must be at least %.0f%% of loan amount (Rp %.2f)",
-                            vehicleConditionSpec.getMinimumDownPaymentPercentage() * 100, minDownPayment));
+        if (downPayment != null && totalLoanAmount != null) {
+            if (downPayment > totalLoanAmount) {
+                result.add(ValidationCode.DOWN_PAYMENT_ABOVE_LOAN_AMOUNT);
+            } else if (vehicleConditionSpec != null && downPayment < CreditSimulatorUtils.getMinimumDownPayment(
+                    totalLoanAmount, vehicleConditionSpec.getMinimumDownPaymentPercentage())) {
+                result.add(ValidationCode.DOWN_PAYMENT_BELOW_MINIMUM);
+            }
+        }
+        if (downPayment != null && downPayment < 0) {
+            result.add(ValidationCode.DOWN_PAYMENT_NEGATIVE);
         }
 
-
-    }
-
-    private void validateLoanAmount(CalculateRequest request) {
-        if (request.getTotalLoanAmount() <= 0 || request.getTotalLoanAmount() > 1_000_000_000) {
-            throw new IllegalArgumentException("Total loan amount must be > 0 and < 1 Billion");
+        if (totalLoanAmount != null) {
+            if (totalLoanAmount <= 0 || totalLoanAmount > 1_000_000_000) {
+                result.add(ValidationCode.LOAN_AMOUNT_OUT_OF_RANGE);
+            } else if (totalLoanAmount < 1_000_000) {
+                result.add(ValidationCode.LOAN_AMOUNT_BELOW_MINIMUM);
+            }
         }
     }
 
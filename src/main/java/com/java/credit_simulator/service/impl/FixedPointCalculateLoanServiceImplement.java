@@ -0,0 +1,73 @@
+package com.java.credit_simulator.service.impl;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.service.CalculateLoanService;
+import com.java.credit_simulator.util.FixedPointAmortization;
+import com.java.credit_simulator.util.InterestRateSchedule;
+import com.java.credit_simulator.util.ProductCatalog;
+import com.java.credit_simulator.util.VehicleTypeSpec;
+import lombok.Builder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Same calculation as {@link CalculateLoanServiceImplement}, done on scaled longs instead of
+ * BigDecimal. BigDecimals are only created for the published response values.
+ */
+@Service
+@Builder
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "credit-simulator.calculation.engine", havingValue = "fixed-point")
+public class FixedPointCalculateLoanServiceImplement implements CalculateLoanService {
+    private static final ThreadLocal<FixedPointAmortization.Schedule> SCHEDULES =
+            ThreadLocal.withInitial(FixedPointAmortization.Schedule::new);
+
+    private static final ThreadLocal<int[]> RATES =
+            ThreadLocal.withInitial(() -> new int[FixedPointAmortization.MAX_TENURE]);
+
+    private static final ThreadLocal<long[]> PRINCIPALS = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public CalculateResponse calculate(CalculateRequest request, ProductCatalog productCatalog) {
+        VehicleTypeSpec vehicleTypeSpec = productCatalog.getVehicleType(request.getVehicleType());
+        int tenure = request.getLoanTenure();
+
+        long[] principalNanos = PRINCIPALS.get();
+        int principalResidueSign = FixedPointAmortization.toNanos(
+                request.getTotalLoanAmount() - request.getDownPayment(), principalNanos);
+
+        int[] rates = RATES.get();
+        InterestRateSchedule interestRateSchedule = productCatalog.getInterestRateSchedule();
+        for (int year = 1; year <= tenure; year++) {
+            rates[year - 1] = interestRateSchedule.getRateHundredths(vehicleTypeSpec, year);
+        }
+
+        FixedPointAmortization.Schedule schedule = SCHEDULES.get();
+        FixedPointAmortization.amortize(principalNanos[0], principalResidueSign, rates, tenure, schedule);
+
+        List<CalculateResponse.YearlyInformation> yearlyInformations = new ArrayList<>(tenure);
+        for (int yearIndex = 0; yearIndex < tenure; yearIndex++) {
+            yearlyInformations.add(new CalculateResponse.YearlyInformation(
+                    yearIndex + 1,
+                    FixedPointAmortization.rateHundredthsToPercentage(schedule.getInterestRateHundredths(yearIndex)),
+                    FixedPointAmortization.centsToBigDecimal(schedule.getPrincipalCents(yearIndex)),
+                    FixedPointAmortization.centsToBigDecimal(schedule.getTotalLoanCents(yearIndex)),
+                    FixedPointAmortization.centsToBigDecimal(schedule.getInstallmentMonthlyCents(yearIndex)),
+                    FixedPointAmortization.centsToBigDecimal(schedule.getInstallmentYearlyCents(yearIndex))
+            ));
+        }
+
+        return CalculateResponse.builder()
+                .yearlyInformations(yearlyInformations)
+                .installmentMonthlyAverage(
+                        FixedPointAmortization.centsToBigDecimal(schedule.getInstallmentMonthlyAverageCents()))
+                .build();
+    }
+}
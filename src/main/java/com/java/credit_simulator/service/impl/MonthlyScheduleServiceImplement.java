@@ -0,0 +1,77 @@
+package com.java.credit_simulator.service.impl;
+
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.MonthlyInstallment;
+import com.java.credit_simulator.model.MonthlySchedulePage;
+import com.java.credit_simulator.service.MonthlyScheduleService;
+import com.java.credit_simulator.util.MonthlySchedule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+@Service
+public class MonthlyScheduleServiceImplement implements MonthlyScheduleService {
+    private static final String CSV_HEADER = "month,year,installment,principal,interest,outstandingBalance\n";
+
+    @Value("${credit-simulator.schedule.max-page-size:72}")
+    private int maxPageSize;
+
+    @Override
+    public MonthlySchedulePage page(CalculateResponse response, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page cannot be negative");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException(String.format("Page size must be between 1 and %d", maxPageSize));
+        }
+
+        MonthlySchedule schedule = MonthlySchedule.of(response);
+        int totalMonths = schedule.getTotalMonths();
+        long first = (long) page * size + 1;
+        long last = Math.min(first + size - 1, totalMonths);
+
+        List<MonthlyInstallment> months = new ArrayList<>((int) Math.max(0, last - first + 1));
+        for (long month = first; month <= last; month++) {
+            months.add(schedule.getMonth((int) month));
+        }
+        return MonthlySchedulePage.builder()
+                .page(page)
+                .size(size)
+                .totalMonths(totalMonths)
+                .totalPages((totalMonths + size - 1) / size)
+                .months(months)
+                .build();
+    }
+
+    @Override
+    public Iterable<String> exportCsv(CalculateResponse response) {
+        MonthlySchedule schedule = MonthlySchedule.of(response);
+        return () -> new Iterator<>() {
+            private final Iterator<MonthlyInstallment> months = schedule.iterator();
+
+            private boolean headerWritten;
+
+            @Override
+            public boolean hasNext() {
+                return !headerWritten || months.hasNext();
+            }
+
+            @Override
+            public String next() {
+                if (!headerWritten) {
+                    headerWritten = true;
+                    return CSV_HEADER;
+                }
+                MonthlyInstallment month = months.next();
+                return month.getMonth() + "," + month.getYear()
+                        + "," + month.getInstallment().toPlainString()
+                        + "," + month.getPrincipal().toPlainString()
+                        + "," + month.getInterest().toPlainString()
+                        + "," + month.getOutstandingBalance().toPlainString() + "\n";
+            }
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package com.java.credit_simulator.service.impl;
+
+import com.java.credit_simulator.service.ProductCatalogService;
+import com.java.credit_simulator.util.ProductCatalog;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the product catalog file and installs it as the current {@link ProductCatalog}.
+ *
+ * <p>The directory of the file is watched by a background thread; after a change settles the file
+ * is parsed into a new snapshot with the next version and swapped in. A file that does not parse or
+ * breaks a rule is logged and ignored, requests keep the snapshot in use. Without the file the
+ * built-in catalog stays in use until the file shows up.
+ */
+@Service
+@Slf4j
+public class ProductCatalogServiceImplement implements ProductCatalogService {
+    private final Path file;
+
+    private final boolean watch;
+
+    private final Duration settleDelay;
+
+    private byte[] loadedContent;
+
+    private volatile boolean running;
+
+    private WatchService watchService;
+
+    private Thread watcher;
+
+    public ProductCatalogServiceImplement(@Value("${credit-simulator.catalog.file:data/product-catalog.json}") Path file,
+                                          @Value("${credit-simulator.catalog.watch:true}") boolean watch,
+                                          @Value("${credit-simulator.catalog.settle-delay:200ms}") Duration settleDelay,
+                                          MeterRegistry meterRegistry) {
+        this.file = file.toAbsolutePath().normalize();
+        this.watch = watch;
+        this.settleDelay = settleDelay;
+
+        Gauge.builder("credit_simulator.catalog.version", () -> ProductCatalog.current().getVersion())
+                .description("Version of the product catalog in use, 1 is the built-in catalog")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the file once; an invalid file at startup fails the startup.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        reload();
+        if (!watch) {
+            return;
+        }
+        Files.createDirectories(file.getParent());
+        watchService = file.getFileSystem().newWatchService();
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+
+        running = true;
+        watcher = new Thread(this::watchLoop, "catalog-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (watcher != null) {
+            watcher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Override
+    public ProductCatalog current() {
+        return ProductCatalog.current();
+    }
+
+    @Override
+    public synchronized ProductCatalog reload() {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            log.info("[reload] No {}, using {} version {}", file, current().getSource(), current().getVersion());
+            return current();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (Arrays.equals(content, loadedContent)) {
+            return current();
+        }
+
+        ProductCatalog catalog = ProductCatalog.parse(content, current().getVersion() + 1, file.toString());
+        ProductCatalog.install(catalog);
+        loadedContent = content;
+        log.info("[reload] Product catalog version {} : {} vehicle types, {} vehicle conditions",
+                catalog.getVersion(), catalog.getVehicleTypes().size(), catalog.getVehicleConditions().size());
+        return catalog;
+    }
+
+    private void watchLoop() {
+        while (running) {
+            try {
+                WatchKey key = watchService.take();
+                boolean changed = isCatalogEvent(key);
+                key.reset();
+                if (!changed) {
+                    continue;
+                }
+
+                // Editors write a file in more than one step; wait until the events stop
+                while ((key = watchService.poll(settleDelay.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    isCatalogEvent(key);
+                    key.reset();
+                }
+                reload();
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("[reload] Keeping product catalog version {} : {}", current().getVersion(), e.getMessage());
+            }
+        }
+    }
+
+    private boolean isCatalogEvent(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,174 @@
+package com.java.credit_simulator.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.java.credit_simulator.external.ReactiveThirdPartyService;
+import com.java.credit_simulator.model.AffordabilityRequest;
+import com.java.credit_simulator.model.AffordabilityResponse;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.SweepRequest;
+import com.java.credit_simulator.model.SweepResponse;
+import com.java.credit_simulator.model.WebResponse;
+import com.java.credit_simulator.service.AffordabilityService;
+import com.java.credit_simulator.service.AuditLogService;
+import com.java.credit_simulator.service.BatchCalculateService;
+import com.java.credit_simulator.service.CalculateMetricsService;
+import com.java.credit_simulator.service.CreditSimulatorService;
+import com.java.credit_simulator.service.ReactiveCreditSimulatorService;
+import com.java.credit_simulator.service.SweepCalculateService;
+import com.java.credit_simulator.util.IsExisting;
+import com.java.credit_simulator.util.ProductCatalog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+
+/**
+ * Reactive front of {@link CreditSimulatorService}: the same validation and calculation, with the
+ * third party call made without blocking and the calculation moved to {@code calculationScheduler}
+ * so no server thread is held while it runs.
+ */
+@Service
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCreditSimulatorServiceImplement implements ReactiveCreditSimulatorService {
+    private final CreditSimulatorService creditSimulatorService;
+
+    private final BatchCalculateService batchCalculateService;
+
+    private final SweepCalculateService sweepCalculateService;
+
+    private final AffordabilityService affordabilityService;
+
+    private final ReactiveThirdPartyService reactiveThirdPartyService;
+
+    private final CalculateMetricsService calculateMetricsService;
+
+    private final AuditLogService auditLogService;
+
+    private final Scheduler calculationScheduler;
+
+    private final ObjectReader requestReader;
+
+    public ReactiveCreditSimulatorServiceImplement(CreditSimulatorService creditSimulatorService,
+                                                   BatchCalculateService batchCalculateService,
+                                                   SweepCalculateService sweepCalculateService,
+                                                   AffordabilityService affordabilityService,
+                                                   ReactiveThirdPartyService reactiveThirdPartyService,
+                                                   CalculateMetricsService calculateMetricsService,
+                                                   AuditLogService auditLogService,
+                                                   @Qualifier("calculationScheduler") Scheduler calculationScheduler,
+                                                   ObjectMapper objectMapper) {
+        this.creditSimulatorService = creditSimulatorService;
+        this.batchCalculateService = batchCalculateService;
+        this.sweepCalculateService = sweepCalculateService;
+        this.affordabilityService = affordabilityService;
+        this.reactiveThirdPartyService = reactiveThirdPartyService;
+        this.calculateMetricsService = calculateMetricsService;
+        this.auditLogService = auditLogService;
+        this.calculationScheduler = calculationScheduler;
+        this.requestReader = objectMapper.readerFor(CalculateRequest.class);
+    }
+
+    @Override
+    public Mono<CalculateResponse> calculate(CalculateRequest request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return calculateRequest(request)
+                    .doOnSuccess(response -> auditLogService.record(request, response, null, System.nanoTime() - start))
+                    .doOnError(err -> auditLogService.record(request, null, err.getMessage(), System.nanoTime() - start));
+        });
+    }
+
+    @Override
+    public Flux<WebResponse<CalculateResponse>> calculateBatch(List<CalculateRequest> requests) {
+        return Flux.defer(() -> {
+            batchCalculateService.validate(requests);
+            log.info("[calculateBatch] Items : {}", requests.size());
+            // Items may be null, so go through indexes; flatMapSequential keeps the input order
+            return Flux.range(0, requests.size())
+                    .flatMapSequential(index -> calculateItem(requests.get(index)));
+        });
+    }
+
+    @Override
+    public Flux<WebResponse<CalculateResponse>> calculateStream(Flux<String> requestLines) {
+        return requestLines
+                .index()
+                .filter(line -> !line.getT2().isBlank())
+                .flatMapSequential(line -> calculateLine(line.getT2(), line.getT1() + 1));
+    }
+
+    @Override
+    public Mono<SweepResponse> calculateSweep(SweepRequest request) {
+        return Mono.fromCallable(() -> sweepCalculateService.calculate(request))
+                .subscribeOn(calculationScheduler);
+    }
+
+    @Override
+    public Mono<AffordabilityResponse> solveAffordability(AffordabilityRequest request) {
+        return Mono.fromCallable(() -> affordabilityService.solve(request))
+                .subscribeOn(calculationScheduler);
+    }
+
+    private Mono<CalculateResponse> calculateRequest(CalculateRequest request) {
+        // One snapshot for validation and calculation, whichever thread the calculation ends up on
+        ProductCatalog productCatalog = ProductCatalog.current();
+        try {
+            creditSimulatorService.validate(request, productCatalog);
+        } catch (RuntimeException err) {
+            return Mono.error(err);
+        }
+
+        if (request.getIsExisting() == IsExisting.Y) {
+            return loadExistingData()
+                    .publishOn(calculationScheduler)
+                    .map(existingData -> creditSimulatorService.calculateValidated(request, existingData, productCatalog));
+        }
+        return Mono.fromCallable(() -> creditSimulatorService.calculateValidated(request, null, productCatalog))
+                .subscribeOn(calculationScheduler);
+    }
+
+    private Mono<CalculateRequest> loadExistingData() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return reactiveThirdPartyService.loadExistingData()
+                    .doFinally(signal -> calculateMetricsService.recordStage(
+                            CalculateMetricsService.STAGE_LOAD_EXISTING_DATA, System.nanoTime() - start));
+        });
+    }
+
+    private Mono<WebResponse<CalculateResponse>> calculateItem(CalculateRequest request) {
+        if (request == null) {
+            return Mono.just(WebResponse.<CalculateResponse>builder().errors("Batch item cannot be null").build());
+        }
+        return calculate(request)
+                .map(response -> WebResponse.<CalculateResponse>builder().data(response).build())
+                .onErrorResume(err -> Mono.just(WebResponse.<CalculateResponse>builder().errors(err.getMessage()).build()));
+    }
+
+    private Mono<WebResponse<CalculateResponse>> calculateLine(String line, long lineNumber) {
+        CalculateRequest request;
+        try {
+            request = requestReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            log.error("[calculateStream] Malformed line {} : {}", lineNumber, e.getOriginalMessage());
+            return Mono.just(WebResponse.<CalculateResponse>builder()
+                    .errors(String.format("Malformed request at line %d", lineNumber))
+                    .build());
+        }
+        if (request == null) {
+            return Mono.just(WebResponse.<CalculateResponse>builder()
+                    .errors(String.format("Empty request at line %d", lineNumber))
+                    .build());
+        }
+        return calculateItem(request);
+    }
+}
@@ -0,0 +1,312 @@
+package com.java.credit_simulator.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.CalculationSheet;
+import com.java.credit_simulator.service.SheetLogService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Calculation sheets kept on disk, so memory use does not depend on how many are saved.
+ *
+ * <p>Sheets are appended as JSON lines to {@code sheets-<firstId>.log}. {@code sheets.idx} holds the
+ * id of the first kept sheet followed by one 8 byte log offset per sheet, so a sheet is found with
+ * one index read and one log read, and a page of sheets with one read of each.
+ *
+ * <p>Only the newest {@code max-sheets} sheets are kept: every {@code compact-every} appends the kept
+ * sheets are copied to a new log and a new index is moved over {@code sheets.idx}. That move is the
+ * commit point; a log not named by the index is left over from an interrupted compaction and deleted.
+ * A record or index entry cut short by a crash is dropped when the log is opened.
+ */
+@Service
+@Slf4j
+public class SheetLogServiceImplement implements SheetLogService {
+    private static final String INDEX_FILE = "sheets.idx";
+
+    private static final int HEADER_SIZE = Long.BYTES;
+
+    private static final int ENTRY_SIZE = Long.BYTES;
+
+    private static final int SCAN_CHUNK = 8192;
+
+    private final Path directory;
+
+    private final int maxSheets;
+
+    private final int compactEvery;
+
+    private final ObjectWriter sheetWriter;
+
+    private final ObjectReader sheetReader;
+
+    private FileChannel index;
+
+    private FileChannel sheetLog;
+
+    private long firstId;
+
+    private long count;
+
+    private long logSize;
+
+    private int appendsSinceCompaction;
+
+    public SheetLogServiceImplement(@Value("${credit-simulator.sheets.directory:data/sheets}") Path directory,
+                                    @Value("${credit-simulator.sheets.max-sheets:10000}") int maxSheets,
+                                    @Value("${credit-simulator.sheets.compact-every:1000}") int compactEvery,
+                                    ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.maxSheets = Math.max(1, maxSheets);
+        this.compactEvery = Math.max(1, compactEvery);
+        this.sheetWriter = objectMapper.writerFor(CalculationSheet.class);
+        this.sheetReader = objectMapper.readerFor(CalculationSheet.class);
+    }
+
+    @Override
+    public synchronized CalculationSheet append(CalculateRequest request, CalculateResponse response) throws IOException {
+        open();
+        CalculationSheet sheet = CalculationSheet.builder()
+                .id(firstId + count)
+                .savedAt(Instant.now())
+                .request(request)
+                .response(response)
+                .build();
+
+        byte[] json = sheetWriter.writeValueAsBytes(sheet);
+        ByteBuffer record = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+
+        // Log first: an index entry must never point past the log
+        write(sheetLog, record, logSize);
+        write(index, ByteBuffer.allocate(ENTRY_SIZE).putLong(0, logSize), entryPosition(count));
+        logSize += record.capacity();
+        count++;
+
+        if (++appendsSinceCompaction >= compactEvery) {
+            compact();
+        }
+        return sheet;
+    }
+
+    @Override
+    public synchronized Optional<CalculationSheet> get(long id) throws IOException {
+        open();
+        if (id < firstId || id >= firstId + count) {
+            return Optional.empty();
+        }
+        long slot = id - firstId;
+        long start = offset(slot);
+        long end = slot + 1 < count ? offset(slot + 1) : logSize;
+
+        ByteBuffer record = read(sheetLog, start, (int) (end - start - 1));
+        return Optional.of(sheetReader.readValue(record.array(), 0, record.limit()));
+    }
+
+    @Override
+    public synchronized List<CalculationSheet> list(int page, int pageSize) throws IOException {
+        open();
+        long newestSlot = count - 1 - (long) page * pageSize;
+        if (page < 0 || pageSize < 1 || newestSlot < 0) {
+            return List.of();
+        }
+        long oldestSlot = Math.max(0, newestSlot - pageSize + 1);
+        int sheets = (int) (newestSlot - oldestSlot + 1);
+
+        // One read for the offsets of the page and one for its records
+        ByteBuffer offsets = read(index, entryPosition(oldestSlot), sheets * ENTRY_SIZE);
+        long start = offsets.getLong(0);
+        long end = newestSlot + 1 < count ? offset(newestSlot + 1) : logSize;
+        ByteBuffer records = read(sheetLog, start, (int) (end - start));
+
+        List<CalculationSheet> newestFirst = new ArrayList<>(sheets);
+        for (int i = sheets - 1; i >= 0; i--) {
+            int from = (int) (offsets.getLong(i * ENTRY_SIZE) - start);
+            int to = i + 1 < sheets ? (int) (offsets.getLong((i + 1) * ENTRY_SIZE) - start) : records.limit();
+            newestFirst.add(sheetReader.readValue(records.array(), from, to - from - 1));
+        }
+        return newestFirst;
+    }
+
+    @Override
+    public synchronized long count() throws IOException {
+        open();
+        return count;
+    }
+
+    @Override
+    public synchronized void compact() throws IOException {
+        open();
+        appendsSinceCompaction = 0;
+        if (count <= maxSheets) {
+            return;
+        }
+        long dropped = count - maxSheets;
+        long newFirstId = firstId + dropped;
+        long start = offset(dropped);
+
+        Path newLogFile = logPath(newFirstId);
+        try (FileChannel newLog = FileChannel.open(newLogFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long copied = 0;
+            while (copied < logSize - start) {
+                copied += sheetLog.transferTo(start + copied, logSize - start - copied, newLog);
+            }
+            newLog.force(true);
+        }
+
+        ByteBuffer newIndex = ByteBuffer.allocate(HEADER_SIZE + maxSheets * ENTRY_SIZE).putLong(newFirstId);
+        ByteBuffer offsets = read(index, entryPosition(dropped), maxSheets * ENTRY_SIZE);
+        while (offsets.hasRemaining()) {
+            newIndex.putLong(offsets.getLong() - start);
+        }
+        Path temporaryIndex = Files.createTempFile(directory, INDEX_FILE, ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryIndex, StandardOpenOption.WRITE)) {
+            write(channel, newIndex.flip(), 0);
+            channel.force(true);
+        }
+        Files.move(temporaryIndex, directory.resolve(INDEX_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Path oldLogFile = logPath(firstId);
+        close();
+        Files.deleteIfExists(oldLogFile);
+        open();
+        log.info("[compact] Dropped {} sheets, keeping ids {} - {}", dropped, firstId, firstId + count - 1);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (index == null) {
+            return;
+        }
+        try (FileChannel closingIndex = index; FileChannel closingLog = sheetLog) {
+            closingLog.force(true);
+            closingIndex.force(true);
+        } finally {
+            index = null;
+            sheetLog = null;
+        }
+    }
+
+    /**
+     * Opened on first use, so modes that never touch sheets (--pipe, --batch) leave no files behind.
+     */
+    private void open() throws IOException {
+        if (index != null) {
+            return;
+        }
+        Files.createDirectories(directory);
+        index = FileChannel.open(directory.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (index.size() < HEADER_SIZE) {
+            write(index, ByteBuffer.allocate(HEADER_SIZE).putLong(0, 1), 0);
+        }
+        firstId = read(index, 0, HEADER_SIZE).getLong(0);
+        sheetLog = FileChannel.open(logPath(firstId), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        recover();
+        deleteStaleLogs();
+        appendsSinceCompaction = 0;
+    }
+
+    /**
+     * Keeps the sheets whose index entry and complete record both made it to disk.
+     */
+    private void recover() throws IOException {
+        count = (index.size() - HEADER_SIZE) / ENTRY_SIZE;
+        long recordEnd = 0;
+        while (count > 0) {
+            long end = lineEnd(offset(count - 1));
+            if (end >= 0) {
+                recordEnd = end + 1;
+                break;
+            }
+            count--;
+        }
+        if (index.size() != entryPosition(count) || sheetLog.size() != recordEnd) {
+            log.warn("[recover] Dropping incomplete data of {}, keeping {} sheets", directory, count);
+            index.truncate(entryPosition(count));
+            sheetLog.truncate(recordEnd);
+        }
+        logSize = recordEnd;
+    }
+
+    private void deleteStaleLogs() throws IOException {
+        Path current = logPath(firstId);
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(directory, "sheets-*.log")) {
+            for (Path stale : logs) {
+                if (!stale.equals(current)) {
+                    Files.delete(stale);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return position of the newline ending the record at {@code start}, -1 when it was cut short
+     */
+    private long lineEnd(long start) throws IOException {
+        long size = sheetLog.size();
+        ByteBuffer chunk = ByteBuffer.allocate(SCAN_CHUNK);
+        for (long position = start; position < size; position += chunk.limit()) {
+            chunk.clear();
+            int read = sheetLog.read(chunk, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (chunk.get(i) == '\n') {
+                    return position + i;
+                }
+            }
+            chunk.limit(read);
+        }
+        return -1;
+    }
+
+    private long offset(long slot) throws IOException {
+        return read(index, entryPosition(slot), ENTRY_SIZE).getLong(0);
+    }
+
+    private Path logPath(long firstId) {
+        return directory.resolve("sheets-" + firstId + ".log");
+    }
+
+    private static long entryPosition(long slot) {
+        return HEADER_SIZE + slot * ENTRY_SIZE;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of sheet data");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.java.credit_simulator.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.WebResponse;
+import com.java.credit_simulator.service.CreditSimulatorService;
+import com.java.credit_simulator.service.StreamCalculateService;
+import com.java.credit_simulator.util.CalculateResponseJsonWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Reads one {@link CalculateRequest} per line and writes one {@link WebResponse} per line, in input
+ * order. Lines are calculated on {@code calculationExecutor} with at most {@code window} lines in
+ * flight; reading stops while the window is full, so memory stays bounded regardless of the stream
+ * size.
+ */
+@Service
+@Slf4j
+public class StreamCalculateServiceImplement implements StreamCalculateService {
+    private final CreditSimulatorService creditSimulatorService;
+
+    private final ObjectReader requestReader;
+
+    private final Executor calculationExecutor;
+
+    private final int window;
+
+    public StreamCalculateServiceImplement(CreditSimulatorService creditSimulatorService, ObjectMapper objectMapper,
+                                           @Qualifier("calculationExecutor") Executor calculationExecutor,
+                                           @Value("${credit-simulator.stream.window:256}") int window) {
+        this.creditSimulatorService = creditSimulatorService;
+        this.calculationExecutor = calculationExecutor;
+        this.window = Math.max(1, window);
+        this.requestReader = objectMapper.readerFor(CalculateRequest.class);
+    }
+
+    @Override
+    public void calculate(InputStream requestLines, OutputStream responseLines) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(requestLines, StandardCharsets.UTF_8));
+        BufferedOutputStream writer = new BufferedOutputStream(responseLines);
+
+        Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>(window);
+        long lineNumber = 0;
+        long processed = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            long number = lineNumber;
+            String requestLine = line;
+            inFlight.addLast(CompletableFuture.supplyAsync(
+                    () -> serialize(calculateLine(requestLine, number)), calculationExecutor));
+
+            if (inFlight.size() >= window) {
+                write(inFlight.removeFirst(), writer);
+                processed++;
+            }
+
+            // Only drain and flush when the client has nothing more buffered for us, so a fast
+            // producer gets batched writes while a slow one still sees each result immediately
+            if (!reader.ready()) {
+                processed += drain(inFlight, writer);
+                writer.flush();
+            }
+        }
+        processed += drain(inFlight, writer);
+        writer.flush();
+        log.info("[calculateStream] Processed lines : {}", processed);
+    }
+
+    private static int drain(Deque<CompletableFuture<byte[]>> inFlight, OutputStream writer) throws IOException {
+        int drained = 0;
+        while (!inFlight.isEmpty()) {
+            write(inFlight.removeFirst(), writer);
+            drained++;
+        }
+        return drained;
+    }
+
+    private static void write(CompletableFuture<byte[]> result, OutputStream writer) throws IOException {
+        writer.write(result.join());
+    }
+
+    /**
+     * @return the response line with its line break, as UTF-8
+     */
+    private static byte[] serialize(WebResponse<CalculateResponse> response) {
+        return CalculateResponseJsonWriter.get().writeResponse(response).writeNewLine().toByteArray();
+    }
+
+    private WebResponse<CalculateResponse> calculateLine(String line, long lineNumber) {
+        CalculateRequest request;
+        try {
+            request = requestReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            log.error("[calculateStream] Malformed line {} : {}", lineNumber, e.getOriginalMessage());
+            return WebResponse.<CalculateResponse>builder()
+                    .errors(String.format("Malformed request at line %d", lineNumber))
+                    .build();
+        }
+        if (request == null) {
+            return WebResponse.<CalculateResponse>builder()
+                    .errors(String.format("Empty request at line %d", lineNumber))
+                    .build();
+        }
+
+        try {
+            return WebResponse.<CalculateResponse>builder().data(creditSimulatorService.calculate(request)).build();
+        } catch (RuntimeException e) {
+            return WebResponse.<CalculateResponse>builder().errors(e.getMessage()).build();
+        }
+    }
+}
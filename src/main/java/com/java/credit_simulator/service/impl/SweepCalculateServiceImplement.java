@@ -0,0 +1,176 @@
+package com.java.credit_simulator.service.impl;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.SweepRequest;
+import com.java.credit_simulator.model.SweepResponse;
+import com.java.credit_simulator.service.CreditSimulatorService;
+import com.java.credit_simulator.service.SweepCalculateService;
+import com.java.credit_simulator.util.FixedPointAmortization;
+import com.java.credit_simulator.util.InterestRateSchedule;
+import com.java.credit_simulator.util.ProductCatalog;
+import com.java.credit_simulator.util.IsExisting;
+import com.java.credit_simulator.util.VehicleTypeSpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Every combination of vehicle type, tenure and down payment percentage of a {@link SweepRequest},
+ * calculated with {@link FixedPointAmortization} (same results as the calculate endpoint).
+ *
+ * <p>The business rules are monotonic in tenure and down payment, so only the two corners of the
+ * grid go through {@link CreditSimulatorService#validate}. Rates are read once per vehicle type and
+ * the principal once per down payment; each cell is then a single amortization into a reused
+ * schedule.
+ */
+@Service
+@Slf4j
+public class SweepCalculateServiceImplement implements SweepCalculateService {
+    private static final BigDecimal DEFAULT_DOWN_PAYMENT_PERCENTAGE_STEP = BigDecimal.valueOf(5);
+
+    private final CreditSimulatorService creditSimulatorService;
+
+    @Value("${credit-simulator.sweep.max-scenarios:10000}")
+    private int maxScenarios;
+
+    public SweepCalculateServiceImplement(CreditSimulatorService creditSimulatorService) {
+        this.creditSimulatorService = creditSimulatorService;
+    }
+
+    @Override
+    public SweepResponse calculate(SweepRequest request) {
+        ProductCatalog productCatalog = ProductCatalog.current();
+        List<VehicleTypeSpec> vehicleTypeSpecs = vehicleTypeSpecs(productCatalog, request.getVehicleTypes());
+        int minTenure = request.getMinLoanTenure() != null ? request.getMinLoanTenure() : 1;
+        int maxTenure = request.getMaxLoanTenure() != null ? request.getMaxLoanTenure() : FixedPointAmortization.MAX_TENURE;
+        List<BigDecimal> percentages = downPaymentPercentages(request, vehicleTypeSpecs.size() * (maxTenure - minTenure + 1));
+
+        double totalLoanAmount = request.getTotalLoanAmount() != null ? request.getTotalLoanAmount() : 0;
+        List<BigDecimal> downPayments = new ArrayList<>(percentages.size());
+        for (BigDecimal percentage : percentages) {
+            downPayments.add(BigDecimal.valueOf(totalLoanAmount).multiply(percentage).movePointLeft(2)
+                    .setScale(2, RoundingMode.HALF_UP));
+        }
+
+        // Lowest down payment with the shortest tenure and highest down payment with the longest one
+        // cover every rule a cell can break
+        creditSimulatorService.validate(corner(request, vehicleTypeSpecs.get(0), minTenure, downPayments.get(0)),
+                productCatalog);
+        creditSimulatorService.validate(corner(request, vehicleTypeSpecs.get(0), maxTenure,
+                downPayments.get(downPayments.size() - 1)), productCatalog);
+        log.info("[calculateSweep] Scenarios : {}", vehicleTypeSpecs.size() * percentages.size() * (maxTenure - minTenure + 1));
+
+        long[][] principals = new long[downPayments.size()][1];
+        int[] principalResidueSigns = new int[downPayments.size()];
+        for (int row = 0; row < downPayments.size(); row++) {
+            principalResidueSigns[row] = FixedPointAmortization.toNanos(
+                    totalLoanAmount - downPayments.get(row).doubleValue(), principals[row]);
+        }
+
+        InterestRateSchedule interestRateSchedule = productCatalog.getInterestRateSchedule();
+        FixedPointAmortization.Schedule schedule = new FixedPointAmortization.Schedule();
+        List<SweepResponse.Matrix> matrices = new ArrayList<>(vehicleTypeSpecs.size());
+        for (VehicleTypeSpec vehicleTypeSpec : vehicleTypeSpecs) {
+            int[] rates = new int[FixedPointAmortization.MAX_TENURE];
+            List<Double> interestRates = new ArrayList<>(maxTenure);
+            for (int year = 1; year <= maxTenure; year++) {
+                rates[year - 1] = interestRateSchedule.getRateHundredths(vehicleTypeSpec, year);
+                interestRates.add(interestRateSchedule.getRate(vehicleTypeSpec, year));
+            }
+
+            List<List<BigDecimal>> averages = new ArrayList<>(downPayments.size());
+            List<List<BigDecimal>> firstYears = new ArrayList<>(downPayments.size());
+            for (int row = 0; row < downPayments.size(); row++) {
+                BigDecimal[] average = new BigDecimal[maxTenure - minTenure + 1];
+                BigDecimal[] firstYear = new BigDecimal[average.length];
+                for (int tenure = minTenure; tenure <= maxTenure; tenure++) {
+                    FixedPointAmortization.amortize(principals[row][0], principalResidueSigns[row], rates, tenure, schedule);
+                    average[tenure - minTenure] =
+                            FixedPointAmortization.centsToBigDecimal(schedule.getInstallmentMonthlyAverageCents());
+                    firstYear[tenure - minTenure] =
+                            FixedPointAmortization.centsToBigDecimal(schedule.getInstallmentMonthlyCents(0));
+                }
+                averages.add(Arrays.asList(average));
+                firstYears.add(Arrays.asList(firstYear));
+            }
+            matrices.add(new SweepResponse.Matrix(vehicleTypeSpec.getType(), interestRates, averages, firstYears));
+        }
+
+        List<Integer> loanTenures = new ArrayList<>(maxTenure - minTenure + 1);
+        for (int tenure = minTenure; tenure <= maxTenure; tenure++) {
+            loanTenures.add(tenure);
+        }
+        return SweepResponse.builder()
+                .loanTenures(loanTenures)
+                .downPaymentPercentages(percentages)
+                .downPayments(downPayments)
+                .matrices(matrices)
+                .build();
+    }
+
+    private List<VehicleTypeSpec> vehicleTypeSpecs(ProductCatalog productCatalog, List<String> vehicleTypes) {
+        if (vehicleTypes == null || vehicleTypes.isEmpty()) {
+            return productCatalog.getVehicleTypes();
+        }
+        List<VehicleTypeSpec> vehicleTypeSpecs = new ArrayList<>(vehicleTypes.size());
+        for (String vehicleType : vehicleTypes) {
+            VehicleTypeSpec vehicleTypeSpec = productCatalog.getVehicleType(vehicleType);
+            if (!vehicleTypeSpecs.contains(vehicleTypeSpec)) {
+                vehicleTypeSpecs.add(vehicleTypeSpec);
+            }
+        }
+        return vehicleTypeSpecs;
+    }
+
+    private List<BigDecimal> downPaymentPercentages(SweepRequest request, int scenariosPerPercentage) {
+        BigDecimal from = request.getMinDownPaymentPercentage();
+        BigDecimal to = request.getMaxDownPaymentPercentage();
+        BigDecimal step = request.getDownPaymentPercentageStep() != null
+                ? request.getDownPaymentPercentageStep()
+                : DEFAULT_DOWN_PAYMENT_PERCENTAGE_STEP;
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Missing 'minDownPaymentPercentage' or 'maxDownPaymentPercentage' in request");
+        }
+        if (from.compareTo(to) > 0) {
+            throw new IllegalArgumentException("'minDownPaymentPercentage' cannot be above 'maxDownPaymentPercentage'");
+        }
+        if (step.signum() <= 0) {
+            throw new IllegalArgumentException("'downPaymentPercentageStep' must be above 0");
+        }
+        if (scenariosPerPercentage <= 0) {
+            throw new IllegalArgumentException("'minLoanTenure' cannot be above 'maxLoanTenure'");
+        }
+
+        // Checked in BigDecimal first, a wide range with a tiny step does not fit a long
+        BigDecimal scenarios = to.subtract(from).divideToIntegralValue(step).add(BigDecimal.ONE)
+                .multiply(BigDecimal.valueOf(scenariosPerPercentage));
+        if (scenarios.compareTo(BigDecimal.valueOf(maxScenarios)) > 0) {
+            throw new IllegalArgumentException(String.format("Sweep of %s scenarios exceeds the maximum of %d",
+                    scenarios.toPlainString(), maxScenarios));
+        }
+        List<BigDecimal> percentages = new ArrayList<>(scenarios.intValue() / scenariosPerPercentage);
+        for (BigDecimal percentage = from; percentage.compareTo(to) <= 0; percentage = percentage.add(step)) {
+            percentages.add(percentage);
+        }
+        return percentages;
+    }
+
+    private CalculateRequest corner(SweepRequest request, VehicleTypeSpec vehicleTypeSpec, int loanTenure,
+                                    BigDecimal downPayment) {
+        return CalculateRequest.builder()
+                .vehicleType(vehicleTypeSpec.getType())
+                .vehicleCondition(request.getVehicleCondition())
+                .vehicleYear(request.getVehicleYear())
+                .totalLoanAmount(request.getTotalLoanAmount())
+                .loanTenure(loanTenure)
+                .downPayment(downPayment.doubleValue())
+                .isExisting(IsExisting.N)
+                .build();
+    }
+}
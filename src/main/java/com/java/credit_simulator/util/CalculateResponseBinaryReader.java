@@ -0,0 +1,142 @@
+package com.java.credit_simulator.util;
+
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.WebResponse;
+
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.java.credit_simulator.util.CalculateResponseBinaryWriter.*;
+
+/**
+ * Reference decoder of the {@value CalculateResponseBinaryWriter#MEDIA_TYPE_VALUE} format, see
+ * {@link CalculateResponseBinaryWriter} for the layout. Rates and amounts come back with the scales
+ * of the header, so the decoded response writes the same JSON as the one that was encoded.
+ */
+public final class CalculateResponseBinaryReader {
+    private final ByteBuffer buffer;
+
+    private final int rateScale;
+
+    private final int amountScale;
+
+    private CalculateResponseBinaryReader(byte[] message, byte kind) {
+        this.buffer = ByteBuffer.wrap(message);
+        if (message.length < HEADER_SIZE || buffer.get() != MAGIC_0 || buffer.get() != MAGIC_1) {
+            throw invalid("not a loan binary response");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw invalid("unsupported version " + version);
+        }
+        byte actualKind = buffer.get();
+        if (actualKind != kind) {
+            throw invalid("expected kind " + kind + " but found " + actualKind);
+        }
+        this.rateScale = buffer.get();
+        this.amountScale = buffer.get();
+        if (rateScale < 0 || amountScale < 0) {
+            throw invalid("negative scale");
+        }
+        buffer.getShort();
+    }
+
+    public static WebResponse<CalculateResponse> readResponse(byte[] message) {
+        CalculateResponseBinaryReader reader = new CalculateResponseBinaryReader(message, KIND_RESPONSE);
+        try {
+            return reader.end(reader.readResponseRecord());
+        } catch (BufferUnderflowException e) {
+            throw invalid("truncated message");
+        }
+    }
+
+    public static WebResponse<List<WebResponse<CalculateResponse>>> readBatch(byte[] message) {
+        CalculateResponseBinaryReader reader = new CalculateResponseBinaryReader(message, KIND_BATCH);
+        try {
+            int flags = reader.buffer.get();
+            String errors = (flags & ERRORS) != 0 ? reader.readString() : null;
+            List<WebResponse<CalculateResponse>> results = null;
+            if ((flags & DATA) != 0) {
+                int count = reader.readCount();
+                results = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    results.add(reader.readResponseRecord());
+                }
+            }
+            return reader.end(WebResponse.<List<WebResponse<CalculateResponse>>>builder()
+                    .data(results)
+                    .errors(errors)
+                    .build());
+        } catch (BufferUnderflowException e) {
+            throw invalid("truncated message");
+        }
+    }
+
+    private WebResponse<CalculateResponse> readResponseRecord() {
+        int flags = buffer.get();
+        if ((flags & NULL_RESPONSE) != 0) {
+            return null;
+        }
+        String errors = (flags & ERRORS) != 0 ? readString() : null;
+        CalculateResponse data = null;
+        if ((flags & DATA) != 0) {
+            data = new CalculateResponse();
+            data.setInstallmentMonthlyAverage(readAmount());
+            if ((flags & YEARLY_INFORMATIONS) != 0) {
+                int count = readCount();
+                List<CalculateResponse.YearlyInformation> yearlyInformations = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    long year = buffer.getLong();
+                    yearlyInformations.add(new CalculateResponse.YearlyInformation(
+                            year == NULL_VALUE ? null : Math.toIntExact(year),
+                            readRate(),
+                            readAmount(),
+                            readAmount(),
+                            readAmount(),
+                            readAmount()));
+                }
+                data.setYearlyInformations(yearlyInformations);
+            }
+        }
+        return WebResponse.<CalculateResponse>builder().data(data).errors(errors).build();
+    }
+
+    private Double readRate() {
+        long scaled = buffer.getLong();
+        return scaled == NULL_VALUE ? null : scaled / Math.pow(10, rateScale);
+    }
+
+    private BigDecimal readAmount() {
+        long scaled = buffer.getLong();
+        return scaled == NULL_VALUE ? null : BigDecimal.valueOf(scaled, amountScale);
+    }
+
+    private String readString() {
+        byte[] bytes = new byte[readCount()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readCount() {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw invalid("count " + count + " past the end of the message");
+        }
+        return count;
+    }
+
+    private <T> T end(T value) {
+        if (buffer.hasRemaining()) {
+            throw invalid(buffer.remaining() + " bytes after the message");
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException invalid(String message) {
+        return new IllegalArgumentException("Invalid loan binary response: " + message);
+    }
+}
@@ -0,0 +1,253 @@
+package com.java.credit_simulator.util;
+
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.WebResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes {@code WebResponse<CalculateResponse>} and batch responses in the compact binary format
+ * served as {@value #MEDIA_TYPE_VALUE}, for callers that do not need JSON.
+ * {@link CalculateResponseBinaryReader} is the reference decoder.
+ *
+ * <p>Everything is big endian. A message starts with an 8 byte header:
+ * <pre>
+ * 0  2  magic 'L' 'N'
+ * 2  1  version, 1
+ * 3  1  kind, 1 = response, 2 = batch
+ * 4  1  scale of the interest rates, 2
+ * 5  1  scale of the amounts, 2
+ * 6  2  reserved, 0
+ * </pre>
+ * followed by one response, or by a batch: flags, errors and, with {@link #DATA}, an int32 count
+ * and that many responses. A response is
+ * <pre>
+ * u8     flags: {@link #DATA}, {@link #ERRORS}, {@link #YEARLY_INFORMATIONS}, {@link #NULL_RESPONSE}
+ * errors int32 length and UTF-8 bytes, with {@link #ERRORS}
+ * int64  installmentMonthlyAverage, with {@link #DATA}
+ * int32  row count, then per row int64 year, interestRate, principalAmount, totalLoanAmount,
+ *        installmentMonthly, installmentYearly, with {@link #YEARLY_INFORMATIONS}
+ * </pre>
+ * Rates and amounts are written as longs scaled by the header scales, e.g. {@code 8.1} as
+ * {@code 810}, and {@link #NULL_VALUE} stands for {@code null}; a {@code null} row is a row of
+ * nulls. A value with more decimals than its scale is rejected rather than rounded, so decoding
+ * gives back the same numbers.
+ *
+ * <p>One writer is kept per thread, see {@link #get()}. It is not thread safe.
+ */
+public final class CalculateResponseBinaryWriter {
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.credit-simulator.loan";
+
+    static final byte MAGIC_0 = 'L';
+    static final byte MAGIC_1 = 'N';
+    static final byte VERSION = 1;
+    static final byte KIND_RESPONSE = 1;
+    static final byte KIND_BATCH = 2;
+    static final int RATE_SCALE = 2;
+    static final int AMOUNT_SCALE = 2;
+    static final int HEADER_SIZE = 8;
+
+    /** Response, or batch, has data */
+    static final int DATA = 0x01;
+    static final int ERRORS = 0x02;
+    /** The data has a yearly schedule, an empty one included */
+    static final int YEARLY_INFORMATIONS = 0x04;
+    /** A {@code null} item of a batch */
+    static final int NULL_RESPONSE = 0x08;
+
+    static final long NULL_VALUE = Long.MIN_VALUE;
+
+    private static final ThreadLocal<CalculateResponseBinaryWriter> WRITERS =
+            ThreadLocal.withInitial(CalculateResponseBinaryWriter::new);
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** Buffers grown past this by a large batch are dropped instead of kept for the thread */
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    /** Below 2^50 the scaled value is recovered exactly from the double */
+    private static final double MAX_FAST_SCALED = 1e15;
+
+    private static final double[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000};
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * @return the writer of the calling thread, emptied
+     */
+    public static CalculateResponseBinaryWriter get() {
+        CalculateResponseBinaryWriter writer = WRITERS.get();
+        writer.reset();
+        return writer;
+    }
+
+    public void reset() {
+        if (buffer.length > MAX_RETAINED_CAPACITY) {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buffer, 0, size);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * @throws IllegalArgumentException when a rate or amount has more decimals than the format
+     */
+    public CalculateResponseBinaryWriter writeResponse(WebResponse<CalculateResponse> response) {
+        writeHeader(KIND_RESPONSE);
+        writeResponseRecord(response);
+        return this;
+    }
+
+    /**
+     * @throws IllegalArgumentException when a rate or amount has more decimals than the format
+     */
+    public CalculateResponseBinaryWriter writeBatch(WebResponse<? extends List<WebResponse<CalculateResponse>>> response) {
+        writeHeader(KIND_BATCH);
+        List<WebResponse<CalculateResponse>> results = response.getData();
+        writeByte((results != null ? DATA : 0) | (response.getErrors() != null ? ERRORS : 0));
+        writeString(response.getErrors());
+        if (results != null) {
+            writeInt(results.size());
+            for (WebResponse<CalculateResponse> result : results) {
+                writeResponseRecord(result);
+            }
+        }
+        return this;
+    }
+
+    private void writeHeader(byte kind) {
+        ensureCapacity(HEADER_SIZE);
+        buffer[size++] = MAGIC_0;
+        buffer[size++] = MAGIC_1;
+        buffer[size++] = VERSION;
+        buffer[size++] = kind;
+        buffer[size++] = RATE_SCALE;
+        buffer[size++] = AMOUNT_SCALE;
+        buffer[size++] = 0;
+        buffer[size++] = 0;
+    }
+
+    private void writeResponseRecord(WebResponse<CalculateResponse> response) {
+        if (response == null) {
+            writeByte(NULL_RESPONSE);
+            return;
+        }
+        CalculateResponse data = response.getData();
+        List<CalculateResponse.YearlyInformation> yearlyInformations = data != null ? data.getYearlyInformations() : null;
+        writeByte((data != null ? DATA : 0)
+                | (response.getErrors() != null ? ERRORS : 0)
+                | (yearlyInformations != null ? YEARLY_INFORMATIONS : 0));
+        writeString(response.getErrors());
+        if (data == null) {
+            return;
+        }
+        writeLong(scaled(data.getInstallmentMonthlyAverage(), "installmentMonthlyAverage"));
+        if (yearlyInformations == null) {
+            return;
+        }
+        writeInt(yearlyInformations.size());
+        for (CalculateResponse.YearlyInformation yearlyInformation : yearlyInformations) {
+            if (yearlyInformation == null) {
+                yearlyInformation = new CalculateResponse.YearlyInformation();
+            }
+            writeLong(yearlyInformation.getYear() != null ? yearlyInformation.getYear() : NULL_VALUE);
+            writeLong(scaled(yearlyInformation.getInterestRate()));
+            writeLong(scaled(yearlyInformation.getPrincipalAmount(), "principalAmount"));
+            writeLong(scaled(yearlyInformation.getTotalLoanAmount(), "totalLoanAmount"));
+            writeLong(scaled(yearlyInformation.getInstallmentMonthly(), "installmentMonthly"));
+            writeLong(scaled(yearlyInformation.getInstallmentYearly(), "installmentYearly"));
+        }
+    }
+
+    private static long scaled(Double rate) {
+        if (rate == null) {
+            return NULL_VALUE;
+        }
+        double scaled = rate * POWERS_OF_TEN[RATE_SCALE];
+        long unscaled = Math.round(scaled);
+        if (Math.abs(scaled) >= MAX_FAST_SCALED || unscaled / POWERS_OF_TEN[RATE_SCALE] != rate) {
+            throw new IllegalArgumentException("Interest rate " + rate + " does not fit a long with " + RATE_SCALE + " decimals");
+        }
+        return unscaled;
+    }
+
+    private static long scaled(BigDecimal amount, String field) {
+        if (amount == null) {
+            return NULL_VALUE;
+        }
+        if (amount.scale() <= AMOUNT_SCALE) {
+            // Same allocation free read as CalculateResponseJsonWriter, exact for these magnitudes
+            double doubleValue = amount.doubleValue();
+            double scaled = doubleValue * POWERS_OF_TEN[AMOUNT_SCALE];
+            if (Math.abs(scaled) < MAX_FAST_SCALED) {
+                long unscaled = Math.round(scaled);
+                if (unscaled / POWERS_OF_TEN[AMOUNT_SCALE] == doubleValue) {
+                    return unscaled;
+                }
+            }
+        }
+        try {
+            long unscaled = amount.movePointRight(AMOUNT_SCALE).longValueExact();
+            if (unscaled != NULL_VALUE) {
+                return unscaled;
+            }
+        } catch (ArithmeticException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException(field + " " + amount + " does not fit a long with " + AMOUNT_SCALE + " decimals");
+    }
+
+    private void writeString(String value) {
+        if (value == null) {
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    private void writeInt(int value) {
+        ensureCapacity(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+        }
+    }
+}
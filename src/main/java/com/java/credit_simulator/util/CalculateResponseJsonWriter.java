@@ -0,0 +1,368 @@
+package com.java.credit_simulator.util;
+
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.WebResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes {@code WebResponse<CalculateResponse>} and batch responses as UTF-8 JSON into a reusable
+ * buffer, byte for byte what Jackson writes for the same objects with the application's
+ * {@code ObjectMapper}: fields in declaration order, nulls written, {@code BigDecimal} as
+ * {@link BigDecimal#toString()} and {@code Double} as {@link Double#toString(double)}.
+ *
+ * <p>Numbers are written digit by digit from scaled {@code long}s instead of going through
+ * intermediate strings. A {@code BigDecimal} with a small scale is read back through
+ * {@link BigDecimal#doubleValue()}, which is exact and does not allocate for the values a
+ * calculation produces; anything else falls back to {@code toString()}.
+ *
+ * <p>One writer is kept per thread, see {@link #get()}. It is not thread safe.
+ */
+public final class CalculateResponseJsonWriter {
+    private static final ThreadLocal<CalculateResponseJsonWriter> WRITERS =
+            ThreadLocal.withInitial(CalculateResponseJsonWriter::new);
+
+    private static final int INITIAL_CAPACITY = 2048;
+
+    /** Buffers grown past this by a large batch are dropped instead of kept for the thread */
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private static final int MAX_FAST_SCALE = 4;
+
+    /** Below 2^50 the scaled value is recovered exactly from the double */
+    private static final double MAX_FAST_SCALED = 1e15;
+
+    private static final double[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000};
+
+    /** Rates up to 1000%; within this range {@link Double#toString(double)} is the two-decimal form */
+    private static final long MAX_FAST_HUNDREDTHS = 100_000;
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] DATA = ascii("{\"data\":");
+    private static final byte[] ERRORS = ascii(",\"errors\":");
+    private static final byte[] YEARLY_INFORMATIONS = ascii("{\"yearlyInformations\":");
+    private static final byte[] INSTALLMENT_MONTHLY_AVERAGE = ascii(",\"installmentMonthlyAverage\":");
+    private static final byte[] YEAR = ascii("{\"year\":");
+    private static final byte[] INTEREST_RATE = ascii(",\"interestRate\":");
+    private static final byte[] PRINCIPAL_AMOUNT = ascii(",\"principalAmount\":");
+    private static final byte[] TOTAL_LOAN_AMOUNT = ascii(",\"totalLoanAmount\":");
+    private static final byte[] INSTALLMENT_MONTHLY = ascii(",\"installmentMonthly\":");
+    private static final byte[] INSTALLMENT_YEARLY = ascii(",\"installmentYearly\":");
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * @return the writer of the calling thread, emptied
+     */
+    public static CalculateResponseJsonWriter get() {
+        CalculateResponseJsonWriter writer = WRITERS.get();
+        writer.reset();
+        return writer;
+    }
+
+    public void reset() {
+        size = 0;
+        if (buffer.length > MAX_RETAINED_CAPACITY) {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buffer, 0, size);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
+    public CalculateResponseJsonWriter writeResponse(WebResponse<CalculateResponse> response) {
+        if (response == null) {
+            write(NULL);
+            return this;
+        }
+        write(DATA);
+        writeCalculateResponse(response.getData());
+        write(ERRORS);
+        writeString(response.getErrors());
+        write((byte) '}');
+        return this;
+    }
+
+    /**
+     * Body of {@code POST /calculate/batch}: one response per request, each with its own errors.
+     */
+    public CalculateResponseJsonWriter writeBatch(WebResponse<? extends List<WebResponse<CalculateResponse>>> response) {
+        if (response == null) {
+            write(NULL);
+            return this;
+        }
+        write(DATA);
+        List<WebResponse<CalculateResponse>> responses = response.getData();
+        if (responses == null) {
+            write(NULL);
+        } else {
+            write((byte) '[');
+            for (int i = 0; i < responses.size(); i++) {
+                if (i > 0) {
+                    write((byte) ',');
+                }
+                writeResponse(responses.get(i));
+            }
+            write((byte) ']');
+        }
+        write(ERRORS);
+        writeString(response.getErrors());
+        write((byte) '}');
+        return this;
+    }
+
+    public CalculateResponseJsonWriter writeNewLine() {
+        write((byte) '\n');
+        return this;
+    }
+
+    private void writeCalculateResponse(CalculateResponse response) {
+        if (response == null) {
+            write(NULL);
+            return;
+        }
+        write(YEARLY_INFORMATIONS);
+        List<CalculateResponse.YearlyInformation> yearlyInformations = response.getYearlyInformations();
+        if (yearlyInformations == null) {
+            write(NULL);
+        } else {
+            write((byte) '[');
+            for (int i = 0; i < yearlyInformations.size(); i++) {
+                if (i > 0) {
+                    write((byte) ',');
+                }
+                writeYearlyInformation(yearlyInformations.get(i));
+            }
+            write((byte) ']');
+        }
+        write(INSTALLMENT_MONTHLY_AVERAGE);
+        writeBigDecimal(response.getInstallmentMonthlyAverage());
+        write((byte) '}');
+    }
+
+    private void writeYearlyInformation(CalculateResponse.YearlyInformation yearlyInformation) {
+        if (yearlyInformation == null) {
+            write(NULL);
+            return;
+        }
+        write(YEAR);
+        if (yearlyInformation.getYear() == null) {
+            write(NULL);
+        } else {
+            writeLong(yearlyInformation.getYear());
+        }
+        write(INTEREST_RATE);
+        writeDouble(yearlyInformation.getInterestRate());
+        write(PRINCIPAL_AMOUNT);
+        writeBigDecimal(yearlyInformation.getPrincipalAmount());
+        write(TOTAL_LOAN_AMOUNT);
+        writeBigDecimal(yearlyInformation.getTotalLoanAmount());
+        write(INSTALLMENT_MONTHLY);
+        writeBigDecimal(yearlyInformation.getInstallmentMonthly());
+        write(INSTALLMENT_YEARLY);
+        writeBigDecimal(yearlyInformation.getInstallmentYearly());
+        write((byte) '}');
+    }
+
+    private void writeBigDecimal(BigDecimal value) {
+        if (value == null) {
+            write(NULL);
+            return;
+        }
+        int scale = value.scale();
+        if (scale >= 0 && scale <= MAX_FAST_SCALE) {
+            double doubleValue = value.doubleValue();
+            double scaled = doubleValue * POWERS_OF_TEN[scale];
+            if (Math.abs(scaled) < MAX_FAST_SCALED) {
+                long unscaled = Math.round(scaled);
+                if (unscaled / POWERS_OF_TEN[scale] == doubleValue) {
+                    writeScaled(unscaled, scale);
+                    return;
+                }
+            }
+        }
+        writeAscii(value.toString());
+    }
+
+    private void writeDouble(Double value) {
+        if (value == null) {
+            write(NULL);
+            return;
+        }
+        double doubleValue = value;
+        long hundredths = Math.round(doubleValue * 100);
+        if (hundredths > 0 && hundredths < MAX_FAST_HUNDREDTHS && hundredths / 100.0 == doubleValue) {
+            long fraction = hundredths % 100;
+            writeLong(hundredths / 100);
+            write((byte) '.');
+            if (fraction % 10 == 0) {
+                write((byte) ('0' + fraction / 10));
+            } else {
+                write((byte) ('0' + fraction / 10));
+                write((byte) ('0' + fraction % 10));
+            }
+            return;
+        }
+        if (Double.isFinite(doubleValue)) {
+            writeAscii(Double.toString(doubleValue));
+        } else {
+            // Jackson's default WRITE_NAN_AS_STRINGS
+            writeString(Double.toString(doubleValue));
+        }
+    }
+
+    /**
+     * Writes {@code unscaled / 10^scale} the way {@link BigDecimal#toString()} does for a scale from
+     * 0 to {@link #MAX_FAST_SCALE}: plain, with exactly {@code scale} decimals.
+     */
+    private void writeScaled(long unscaled, int scale) {
+        if (scale == 0) {
+            writeLong(unscaled);
+            return;
+        }
+        if (unscaled < 0) {
+            write((byte) '-');
+            unscaled = -unscaled;
+        }
+        long divisor = (long) POWERS_OF_TEN[scale];
+        writeLong(unscaled / divisor);
+        write((byte) '.');
+        long fraction = unscaled % divisor;
+        ensureCapacity(scale);
+        for (int i = size + scale - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        size += scale;
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            write((byte) '-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        ensureCapacity(digits);
+        for (int i = size + digits - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+    }
+
+    /**
+     * JSON string with Jackson's escaping: {@code "} and {@code \}, the short escapes for
+     * backspace, tab, new line, form feed and carriage return, {@code &#92;u00XX} for other control
+     * characters and for each half of a surrogate pair; everything else as UTF-8.
+     */
+    private void writeString(String value) {
+        if (value == null) {
+            write(NULL);
+            return;
+        }
+        ensureCapacity(value.length() * 3 + 2);
+        buffer[size++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    ensureCapacity(2 + (value.length() - i) * 3);
+                    buffer[size++] = '\\';
+                }
+                buffer[size++] = (byte) c;
+            } else if (c < 0x20) {
+                ensureCapacity(6 + (value.length() - i) * 3);
+                buffer[size++] = '\\';
+                switch (c) {
+                    case '\b' -> buffer[size++] = 'b';
+                    case '\t' -> buffer[size++] = 't';
+                    case '\n' -> buffer[size++] = 'n';
+                    case '\f' -> buffer[size++] = 'f';
+                    case '\r' -> buffer[size++] = 'r';
+                    default -> {
+                        buffer[size++] = 'u';
+                        buffer[size++] = '0';
+                        buffer[size++] = '0';
+                        buffer[size++] = HEX[c >> 4];
+                        buffer[size++] = HEX[c & 0xF];
+                    }
+                }
+            } else if (c < 0x800) {
+                buffer[size++] = (byte) (0xC0 | (c >> 6));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Jackson escapes each half of a surrogate pair rather than writing 4 byte UTF-8
+                ensureCapacity(6 + (value.length() - i) * 3);
+                buffer[size++] = '\\';
+                buffer[size++] = 'u';
+                buffer[size++] = HEX[c >> 12];
+                buffer[size++] = HEX[(c >> 8) & 0xF];
+                buffer[size++] = HEX[(c >> 4) & 0xF];
+                buffer[size++] = HEX[c & 0xF];
+            } else {
+                buffer[size++] = (byte) (0xE0 | (c >> 12));
+                buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        buffer[size++] = '"';
+    }
+
+    private void writeAscii(String value) {
+        ensureCapacity(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer[size++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void write(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void write(byte b) {
+        ensureCapacity(1);
+        buffer[size++] = b;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
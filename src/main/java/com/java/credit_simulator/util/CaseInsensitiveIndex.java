@@ -0,0 +1,82 @@
+package com.java.credit_simulator.util;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read-only lookup by name that ignores case and surrounding whitespace, the way {@code fromString}
+ * used to match with {@code trim().toUpperCase()}.
+ *
+ * <p>Names are hashed and compared in place (open addressing, linear probing), so a lookup does not
+ * allocate a normalized copy of the input. The stored names are interned, and the values keep the
+ * canonical spelling from the catalog.
+ */
+public final class CaseInsensitiveIndex<T> {
+    private final String[] keys;
+
+    private final Object[] values;
+
+    private final int mask;
+
+    public CaseInsensitiveIndex(List<T> entries, Function<T, String> name) {
+        int capacity = Integer.highestOneBit(Math.max(1, entries.size()) * 2 - 1) << 1;
+        this.keys = new String[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+
+        for (T entry : entries) {
+            String key = name.apply(entry).trim().intern();
+            if (get(key) != null) {
+                throw new IllegalArgumentException("Duplicate name: " + key);
+            }
+            int slot = hash(key, 0, key.length()) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = entry;
+        }
+    }
+
+    /**
+     * @return the entry named {@code value} ignoring case and surrounding whitespace, {@code null} when
+     * there is none
+     */
+    @SuppressWarnings("unchecked")
+    public T get(String value) {
+        if (value == null) {
+            return null;
+        }
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int length = end - start;
+        int slot = hash(value, start, end) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.length() == length && key.regionMatches(true, 0, value, start, length)) {
+                return (T) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Folds every char the way {@link String#regionMatches(boolean, int, String, int, int)} compares
+     * them, so names that match also hash the same.
+     */
+    private static int hash(String value, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -4,9 +4,6 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 
 public class CreditSimulatorUtils {
-    private static final double ADDITIONAL_YEARLY_RATE  = 0.1;
-
-    private static final double TWO_YEAR_ADDITIONAL_RATE = 0.5;
     public static BigDecimal getPrincipalAmount(double totalLoanAmount, double downPayment) {
         return BigDecimal.valueOf(totalLoanAmount - downPayment);
     }
@@ -15,14 +12,6 @@ public class CreditSimulatorUtils {
         return totalLoanAmount * minDownpaymentSpec;
     }
 
-    public static double getAdditionalYearlyRate(){
-        return ADDITIONAL_YEARLY_RATE;
-    }
-
-    public static double getTwoYearAdditionalRate(){
-        return TWO_YEAR_ADDITIONAL_RATE;
-    }
-
     public static double getFinalRate(double baseRate, double additionalRate){
         return baseRate + additionalRate;
     }
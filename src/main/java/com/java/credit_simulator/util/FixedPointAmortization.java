@@ -0,0 +1,233 @@
+package com.java.credit_simulator.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Primitive version of the yearly amortization done by the BigDecimal engine.
+ *
+ * <p>Amounts are carried as scaled {@code long}s: principal and loan totals in nanos (9 decimals)
+ * and the published values in cents (2 decimals, HALF_UP). Rates are carried in hundredths of a
+ * percent, so 8.1% is {@code 810}.
+ *
+ * <p>The BigDecimal engine converts rates and principals through {@code double}, which leaves a tiny
+ * error on some values (8.1% becomes 0.081 but 9.7% becomes 0.09699999999999999). That error only
+ * shows when a value sits exactly on a rounding tie, so the direction of the error is tracked here
+ * and used to break ties the same way. The yearly balance also goes through {@code double}
+ * ({@code totalLoanAmount.doubleValue() - installmentYearly.doubleValue()}); the same subtraction is
+ * done here so the next year starts from the same balance.
+ */
+public final class FixedPointAmortization {
+    public static final int MAX_TENURE = 6;
+
+    private static final int NANOS_SCALE = 9;
+
+    private static final long NANOS_PER_CENT = 10_000_000L;
+
+    private static final long NANOS_PER_UNIT = 1_000_000_000L;
+
+    private static final double MAX_EXACT_WHOLE_AMOUNT = 1_000_000_000d;
+
+    private static final long RATE_SCALE = 10_000L;
+
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private static final int MAX_RATE_HUNDREDTHS = 10_000;
+
+    private static final byte[] RATE_ERROR_SIGN = buildRateErrorSigns();
+
+    private FixedPointAmortization() {
+    }
+
+    /**
+     * Reusable result holder, one row per loan year. Rows past {@code tenure} are left over from a
+     * previous run and must be ignored.
+     */
+    public static final class Schedule {
+        private int tenure;
+        private final int[] interestRateHundredths = new int[MAX_TENURE];
+        private final long[] principalCents = new long[MAX_TENURE];
+        private final long[] totalLoanCents = new long[MAX_TENURE];
+        private final long[] installmentMonthlyCents = new long[MAX_TENURE];
+        private final long[] installmentYearlyCents = new long[MAX_TENURE];
+        private long installmentMonthlyAverageCents;
+        private final long[] balance = new long[1];
+
+        public int getTenure() {
+            return tenure;
+        }
+
+        public int getInterestRateHundredths(int yearIndex) {
+            return interestRateHundredths[yearIndex];
+        }
+
+        public long getPrincipalCents(int yearIndex) {
+            return principalCents[yearIndex];
+        }
+
+        public long getTotalLoanCents(int yearIndex) {
+            return totalLoanCents[yearIndex];
+        }
+
+        public long getInstallmentMonthlyCents(int yearIndex) {
+            return installmentMonthlyCents[yearIndex];
+        }
+
+        public long getInstallmentYearlyCents(int yearIndex) {
+            return installmentYearlyCents[yearIndex];
+        }
+
+        public long getInstallmentMonthlyAverageCents() {
+            return installmentMonthlyAverageCents;
+        }
+    }
+
+    /**
+     * Principal for the first year, converted the way the BigDecimal engine reads it
+     * ({@code BigDecimal.valueOf(totalLoanAmount - downPayment)}), truncated to nanos.
+     *
+     * @return the sign of the part below one nano, to be passed to {@link #amortize}
+     */
+    public static int toNanos(double amount, long[] nanosOut) {
+        if (amount == Math.rint(amount) && Math.abs(amount) <= MAX_EXACT_WHOLE_AMOUNT) {
+            nanosOut[0] = (long) amount * NANOS_PER_CENT * 100;
+            return 0;
+        }
+        BigDecimal scaled = BigDecimal.valueOf(amount).movePointRight(NANOS_SCALE);
+        BigDecimal truncated = scaled.setScale(0, RoundingMode.DOWN);
+        nanosOut[0] = truncated.longValueExact();
+        return scaled.compareTo(truncated);
+    }
+
+    public static int toRateHundredths(double percentageRate) {
+        return (int) Math.round(percentageRate * 100.0);
+    }
+
+    public static BigDecimal centsToBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    public static double rateHundredthsToPercentage(int rateHundredths) {
+        return rateHundredths / 100.0;
+    }
+
+    /**
+     * Runs the yearly amortization for {@code tenure} years.
+     *
+     * @param principalNanos        principal after down payment, in nanos
+     * @param principalResidueSign  sign of the principal part below one nano, see {@link #toNanos}
+     * @param rateHundredths        interest rate per year, index 0 is the first year
+     */
+    public static void amortize(long principalNanos, int principalResidueSign, int[] rateHundredths, int tenure,
+                                Schedule out) {
+        if (tenure < 1 || tenure > MAX_TENURE) {
+            throw new IllegalArgumentException("Loan tenure must be between 1 and 6 years");
+        }
+        out.tenure = tenure;
+
+        long principal = principalNanos;
+        long[] balance = out.balance;
+        long totalInstallmentYearlyCents = 0;
+
+        for (int yearIndex = 0; yearIndex < tenure; yearIndex++) {
+            int rate = rateHundredths[yearIndex];
+
+            // principal * rate has 13 decimals; keep nanos and remember what is below them. The
+            // principal is split first so the product never needs more than 64 bits
+            long principalHigh = Math.floorDiv(principal, RATE_SCALE);
+            long principalLow = Math.floorMod(principal, RATE_SCALE);
+            long interestLow = principalLow * rate;
+            long interestNanos = Math.addExact(Math.multiplyExact(principalHigh, (long) rate), interestLow / RATE_SCALE);
+            long interestResidue = interestLow % RATE_SCALE;
+            long totalNanos = Math.addExact(principal, interestNanos);
+
+            int tieBreak = principalResidueSign != 0 ? principalResidueSign : rateErrorSign(rate);
+
+            long monthsLeft = (long) (tenure - yearIndex) * MONTHS_PER_YEAR;
+            long installmentMonthly = divideHalfUp(totalNanos, interestResidue, monthsLeft * NANOS_PER_CENT, tieBreak);
+            long installmentYearly = installmentMonthly * MONTHS_PER_YEAR;
+
+            out.interestRateHundredths[yearIndex] = rate;
+            out.principalCents[yearIndex] = divideHalfUp(principal, 0, NANOS_PER_CENT, principalResidueSign);
+            out.totalLoanCents[yearIndex] = divideHalfUp(totalNanos, interestResidue, NANOS_PER_CENT, tieBreak);
+            out.installmentMonthlyCents[yearIndex] = installmentMonthly;
+            out.installmentYearlyCents[yearIndex] = installmentYearly;
+            totalInstallmentYearlyCents += installmentYearly;
+
+            principalResidueSign = legacyBalance(totalNanos, interestResidue, installmentYearly, balance);
+            principal = balance[0];
+        }
+
+        out.installmentMonthlyAverageCents = divideHalfUp(totalInstallmentYearlyCents, 0,
+                (long) tenure * MONTHS_PER_YEAR, 0);
+    }
+
+    /**
+     * Divides {@code value + residue / RATE_SCALE} by {@code divisor} and rounds HALF_UP (away from
+     * zero on a tie). When the value is exactly on a tie, {@code tieBreak} tells on which side of it
+     * the BigDecimal engine ends up.
+     */
+    private static long divideHalfUp(long value, long residue, long divisor, int tieBreak) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        if (value < 0) {
+            // Negative balances only show up after the final year and are never published
+            return remainder * 2 <= -divisor ? quotient - 1 : quotient;
+        }
+
+        long doubledRemainder = (remainder * RATE_SCALE + residue) * 2;
+        long scaledDivisor = divisor * RATE_SCALE;
+        if (doubledRemainder == scaledDivisor) {
+            return tieBreak < 0 ? quotient : quotient + 1;
+        }
+        return doubledRemainder > scaledDivisor ? quotient + 1 : quotient;
+    }
+
+    /**
+     * The balance the BigDecimal engine carries into the next year is
+     * {@code BigDecimal.valueOf(totalLoanAmount.doubleValue() - installmentYearly.doubleValue())}, i.e.
+     * the shortest decimal that reads back as that {@code double}. The same value is found here by
+     * trying fewer and fewer decimals until the {@code double} no longer matches.
+     *
+     * @return the sign of what is left between the engine's balance and {@code balanceOut[0]}
+     */
+    private static int legacyBalance(long totalNanos, long totalResidue, long installmentYearlyCents,
+                                     long[] balanceOut) {
+        double legacyTotal = (totalNanos / NANOS_PER_UNIT)
+                + ((totalNanos % NANOS_PER_UNIT) * RATE_SCALE + totalResidue) / (double) (NANOS_PER_UNIT * RATE_SCALE);
+        double legacyBalance = legacyTotal - installmentYearlyCents / 100.0;
+        double whole = Math.floor(legacyBalance);
+        long nearestNanos = (long) whole * NANOS_PER_UNIT + Math.round((legacyBalance - whole) * NANOS_PER_UNIT);
+
+        long balance = nearestNanos;
+        for (long step = NANOS_PER_UNIT; step > 1; step /= 10) {
+            long candidate = Math.floorDiv(nearestNanos + step / 2, step) * step;
+            if (nanosToDouble(candidate) == legacyBalance) {
+                balance = candidate;
+                break;
+            }
+        }
+        balanceOut[0] = balance;
+        return Double.compare(legacyBalance, nanosToDouble(balance));
+    }
+
+    private static double nanosToDouble(long nanos) {
+        return (nanos / NANOS_PER_UNIT) + (nanos % NANOS_PER_UNIT) / (double) NANOS_PER_UNIT;
+    }
+
+    private static int rateErrorSign(int rateHundredths) {
+        if (rateHundredths < 0 || rateHundredths >= MAX_RATE_HUNDREDTHS) {
+            return 0;
+        }
+        return RATE_ERROR_SIGN[rateHundredths];
+    }
+
+    private static byte[] buildRateErrorSigns() {
+        byte[] signs = new byte[MAX_RATE_HUNDREDTHS];
+        for (int rate = 0; rate < MAX_RATE_HUNDREDTHS; rate++) {
+            double legacyRate = CreditSimulatorUtils.convertPercentageRateToActualRate(rateHundredthsToPercentage(rate));
+            signs[rate] = (byte) BigDecimal.valueOf(legacyRate).compareTo(BigDecimal.valueOf(rate, 4));
+        }
+        return signs;
+    }
+}
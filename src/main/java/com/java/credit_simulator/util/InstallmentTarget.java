@@ -0,0 +1,11 @@
+package com.java.credit_simulator.util;
+
+/**
+ * Installment compared with the target of the affordability solver.
+ */
+public enum InstallmentTarget {
+    /** Highest monthly installment of any loan year, so every month fits the target */
+    MONTHLY,
+    /** {@code installmentMonthlyAverage} of the calculation */
+    AVERAGE
+}
@@ -0,0 +1,51 @@
+package com.java.credit_simulator.util;
+
+import java.util.Arrays;
+
+/**
+ * Interest rate for every vehicle type and loan year of a {@link ProductCatalog}, built once from
+ * the base rate and the compiled {@link StepUpRule} of each {@link VehicleTypeSpec}.
+ *
+ * <p>The rates are stored on the {@link VehicleTypeSpec} itself, so a spec from an older snapshot
+ * still reads the rates it was built with after the catalog is swapped.
+ */
+public final class InterestRateSchedule {
+    private final int maxTenure;
+
+    InterestRateSchedule(int maxTenure) {
+        this.maxTenure = maxTenure;
+    }
+
+    public static InterestRateSchedule current() {
+        return ProductCatalog.current().getInterestRateSchedule();
+    }
+
+    public int getMaxTenure() {
+        return maxTenure;
+    }
+
+    /**
+     * @return rate in percent for the given loan year, e.g. {@code 8.1}
+     */
+    public double getRate(VehicleTypeSpec vehicleTypeSpec, int year) {
+        return vehicleTypeSpec.rates()[index(year)];
+    }
+
+    /**
+     * @return rate in hundredths of a percent for the given loan year, e.g. {@code 810}
+     */
+    public int getRateHundredths(VehicleTypeSpec vehicleTypeSpec, int year) {
+        return vehicleTypeSpec.rateHundredths()[index(year)];
+    }
+
+    public double[] getRates(VehicleTypeSpec vehicleTypeSpec) {
+        return Arrays.copyOf(vehicleTypeSpec.rates(), maxTenure);
+    }
+
+    private int index(int year) {
+        if (year < 1 || year > maxTenure) {
+            throw new IllegalArgumentException("Loan year must be between 1 and " + maxTenure);
+        }
+        return year - 1;
+    }
+}
@@ -0,0 +1,109 @@
+package com.java.credit_simulator.util;
+
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.MonthlyInstallment;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Month by month view of a calculation, derived from its yearly rows.
+ *
+ * <p>Each loan year charges its interest ({@code totalLoanAmount - principalAmount}) over its 12
+ * months, spread in whole cents so the months add up to the year; the rest of each installment pays
+ * back principal. Only the yearly rows are kept (in cents), any month is computed on demand, so a
+ * page or an export never holds more than the months it is writing.
+ *
+ * <p>The balance after the last month of a year matches the next year's {@code principalAmount} up to
+ * the cent the engine rounds it to. After the last month it is what is left of the final year's
+ * rounding, a few cents either way.
+ */
+public final class MonthlySchedule implements Iterable<MonthlyInstallment> {
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private final long[] principalCents;
+
+    private final long[] interestCents;
+
+    private final long[] installmentMonthlyCents;
+
+    private MonthlySchedule(long[] principalCents, long[] interestCents, long[] installmentMonthlyCents) {
+        this.principalCents = principalCents;
+        this.interestCents = interestCents;
+        this.installmentMonthlyCents = installmentMonthlyCents;
+    }
+
+    public static MonthlySchedule of(CalculateResponse response) {
+        List<CalculateResponse.YearlyInformation> yearlyInformations = response.getYearlyInformations();
+        int tenure = yearlyInformations.size();
+        long[] principalCents = new long[tenure];
+        long[] interestCents = new long[tenure];
+        long[] installmentMonthlyCents = new long[tenure];
+        for (int yearIndex = 0; yearIndex < tenure; yearIndex++) {
+            CalculateResponse.YearlyInformation yearlyInformation = yearlyInformations.get(yearIndex);
+            principalCents[yearIndex] = toCents(yearlyInformation.getPrincipalAmount());
+            interestCents[yearIndex] = toCents(yearlyInformation.getTotalLoanAmount()) - principalCents[yearIndex];
+            installmentMonthlyCents[yearIndex] = toCents(yearlyInformation.getInstallmentMonthly());
+        }
+        return new MonthlySchedule(principalCents, interestCents, installmentMonthlyCents);
+    }
+
+    public int getTotalMonths() {
+        return principalCents.length * MONTHS_PER_YEAR;
+    }
+
+    /**
+     * @param month loan month, 1 based
+     */
+    public MonthlyInstallment getMonth(int month) {
+        if (month < 1 || month > getTotalMonths()) {
+            throw new IllegalArgumentException("Month must be between 1 and " + getTotalMonths());
+        }
+        int yearIndex = (month - 1) / MONTHS_PER_YEAR;
+        int monthOfYear = (month - 1) % MONTHS_PER_YEAR + 1;
+
+        long installment = installmentMonthlyCents[yearIndex];
+        long interestToDate = interestToDate(yearIndex, monthOfYear);
+        long interest = interestToDate - interestToDate(yearIndex, monthOfYear - 1);
+        long outstandingBalance = principalCents[yearIndex] - installment * monthOfYear + interestToDate;
+
+        return new MonthlyInstallment(
+                month,
+                yearIndex + 1,
+                FixedPointAmortization.centsToBigDecimal(installment),
+                FixedPointAmortization.centsToBigDecimal(installment - interest),
+                FixedPointAmortization.centsToBigDecimal(interest),
+                FixedPointAmortization.centsToBigDecimal(outstandingBalance));
+    }
+
+    @Override
+    public Iterator<MonthlyInstallment> iterator() {
+        return new Iterator<>() {
+            private int month = 1;
+
+            @Override
+            public boolean hasNext() {
+                return month <= getTotalMonths();
+            }
+
+            @Override
+            public MonthlyInstallment next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return getMonth(month++);
+            }
+        };
+    }
+
+    private long interestToDate(int yearIndex, int monthOfYear) {
+        return Math.floorDiv(interestCents[yearIndex] * monthOfYear, MONTHS_PER_YEAR);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
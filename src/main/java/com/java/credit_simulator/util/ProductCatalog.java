@@ -0,0 +1,223 @@
+package com.java.credit_simulator.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.model.ProductCatalogDefinition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, versioned snapshot of the vehicle types, vehicle conditions and rate step-up rules the
+ * calculator works with. Step-up rules are compiled and applied while the snapshot is built, so a
+ * request only reads finished rate arrays.
+ *
+ * <p>The snapshot in use is published through a volatile reference: readers take it once with
+ * {@link #current()} and keep using that instance for the whole request, so a swap by
+ * {@link #install} is never seen half way. Nothing here is mutated after construction and no read
+ * takes a lock. Until a catalog file is installed the built-in {@code product-catalog.json} from the
+ * classpath is used.
+ */
+public final class ProductCatalog {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String DEFAULT_RESOURCE = "/product-catalog.json";
+
+    private static final double MAX_RATE = 100;
+
+    private static final ProductCatalog DEFAULT = loadDefault();
+
+    private static volatile ProductCatalog current = DEFAULT;
+
+    private final long version;
+
+    private final String source;
+
+    private final Instant loadedAt;
+
+    private final List<VehicleTypeSpec> vehicleTypes;
+
+    private final List<VehicleConditionSpec> vehicleConditions;
+
+    private final CaseInsensitiveIndex<VehicleTypeSpec> vehicleTypeIndex;
+
+    private final CaseInsensitiveIndex<VehicleConditionSpec> vehicleConditionIndex;
+
+    private final InterestRateSchedule interestRateSchedule;
+
+    private ProductCatalog(long version, String source, List<VehicleTypeSpec> vehicleTypes,
+                           List<VehicleConditionSpec> vehicleConditions) {
+        this.version = version;
+        this.source = source;
+        this.loadedAt = Instant.now();
+        this.vehicleTypes = Collections.unmodifiableList(vehicleTypes);
+        this.vehicleConditions = Collections.unmodifiableList(vehicleConditions);
+        this.vehicleTypeIndex = new CaseInsensitiveIndex<>(vehicleTypes, VehicleTypeSpec::getType);
+        this.vehicleConditionIndex = new CaseInsensitiveIndex<>(vehicleConditions, VehicleConditionSpec::getCondition);
+        this.interestRateSchedule = new InterestRateSchedule(FixedPointAmortization.MAX_TENURE);
+    }
+
+    public static ProductCatalog current() {
+        return current;
+    }
+
+    /**
+     * The built-in catalog, version 1.
+     */
+    public static ProductCatalog defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Makes {@code catalog} the one every following {@link #current()} returns.
+     */
+    public static void install(ProductCatalog catalog) {
+        current = catalog;
+    }
+
+    /**
+     * Parses and checks a catalog file.
+     *
+     * @throws IllegalArgumentException when the content is not a valid catalog
+     */
+    public static ProductCatalog parse(byte[] content, long version, String source) {
+        ProductCatalogDefinition definition;
+        try {
+            definition = OBJECT_MAPPER.readValue(content, ProductCatalogDefinition.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid product catalog " + source + ": " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid product catalog " + source + ": " + e.getMessage(), e);
+        }
+        try {
+            return of(definition, version, source);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid product catalog " + source + ": " + e.getMessage(), e);
+        }
+    }
+
+    public static ProductCatalog of(ProductCatalogDefinition definition, long version, String source) {
+        require(definition.getVehicleTypes() != null && !definition.getVehicleTypes().isEmpty(),
+                "'vehicleTypes' cannot be empty");
+        require(definition.getVehicleConditions() != null && !definition.getVehicleConditions().isEmpty(),
+                "'vehicleConditions' cannot be empty");
+
+        // Vehicle types sharing a rule share its compiled form
+        Map<String, StepUpRule> stepUpRules = new HashMap<>();
+        List<VehicleTypeSpec> vehicleTypes = new ArrayList<>(definition.getVehicleTypes().size());
+        for (ProductCatalogDefinition.VehicleType vehicleType : definition.getVehicleTypes()) {
+            require(vehicleType.getType() != null && !vehicleType.getType().isBlank(), "vehicle type without 'type'");
+            require(vehicleType.getBaseInterestRate() != null, "'" + vehicleType.getType() + "' has no 'baseInterestRate'");
+            String stepUp = vehicleType.getStepUp() != null ? vehicleType.getStepUp() : definition.getStepUp();
+            require(stepUp != null, "'" + vehicleType.getType() + "' has no 'stepUp' and the catalog has none either");
+
+            StepUpRule stepUpRule = stepUpRules.computeIfAbsent(stepUp,
+                    rule -> StepUpRule.compile(rule, FixedPointAmortization.MAX_TENURE));
+            double[] rates = stepUpRule.apply(vehicleType.getBaseInterestRate());
+            for (double rate : rates) {
+                require(rate >= 0 && rate < MAX_RATE, "rates of '" + vehicleType.getType() + "' must stay between 0 and 100");
+            }
+            vehicleTypes.add(new VehicleTypeSpec(vehicleTypes.size(), vehicleType.getType().trim().intern(),
+                    vehicleType.getBaseInterestRate(), stepUpRule, rates));
+        }
+
+        List<VehicleConditionSpec> vehicleConditions = new ArrayList<>(definition.getVehicleConditions().size());
+        for (ProductCatalogDefinition.VehicleCondition vehicleCondition : definition.getVehicleConditions()) {
+            require(vehicleCondition.getCondition() != null && !vehicleCondition.getCondition().isBlank(),
+                    "vehicle condition without 'condition'");
+            Double minimumDownPaymentPercentage = vehicleCondition.getMinimumDownPaymentPercentage();
+            require(minimumDownPaymentPercentage != null && minimumDownPaymentPercentage >= 0 && minimumDownPaymentPercentage < 1,
+                    "'minimumDownPaymentPercentage' of '" + vehicleCondition.getCondition() + "' must be from 0 up to 1");
+            vehicleConditions.add(new VehicleConditionSpec(vehicleConditions.size(),
+                    vehicleCondition.getCondition().trim().intern(), minimumDownPaymentPercentage,
+                    vehicleCondition.isNewVehicle()));
+        }
+
+        return new ProductCatalog(version, source, vehicleTypes, vehicleConditions);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public List<VehicleTypeSpec> getVehicleTypes() {
+        return vehicleTypes;
+    }
+
+    public List<VehicleConditionSpec> getVehicleConditions() {
+        return vehicleConditions;
+    }
+
+    public InterestRateSchedule getInterestRateSchedule() {
+        return interestRateSchedule;
+    }
+
+    /**
+     * @return the vehicle type named {@code value} ignoring case and surrounding whitespace,
+     * {@code null} when there is none
+     */
+    public VehicleTypeSpec findVehicleType(String value) {
+        return vehicleTypeIndex.get(value);
+    }
+
+    public VehicleTypeSpec getVehicleType(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Vehicle type cannot be null");
+        }
+        VehicleTypeSpec vehicleTypeSpec = vehicleTypeIndex.get(value);
+        if (vehicleTypeSpec == null) {
+            throw new IllegalArgumentException("Invalid vehicle type: " + value);
+        }
+        return vehicleTypeSpec;
+    }
+
+    /**
+     * @return the vehicle condition named {@code value} ignoring case and surrounding whitespace,
+     * {@code null} when there is none
+     */
+    public VehicleConditionSpec findVehicleCondition(String value) {
+        return vehicleConditionIndex.get(value);
+    }
+
+    public VehicleConditionSpec getVehicleCondition(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Vehicle condition cannot be null");
+        }
+        VehicleConditionSpec vehicleConditionSpec = vehicleConditionIndex.get(value);
+        if (vehicleConditionSpec == null) {
+            throw new IllegalArgumentException("Invalid vehicle condition: " + value);
+        }
+        return vehicleConditionSpec;
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private static ProductCatalog loadDefault() {
+        try (InputStream inputStream = ProductCatalog.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Missing " + DEFAULT_RESOURCE + " on the classpath");
+            }
+            return parse(inputStream.readAllBytes(), 1, "classpath:" + DEFAULT_RESOURCE.substring(1));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + DEFAULT_RESOURCE, e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.java.credit_simulator.util;
+
+/**
+ * Value the affordability solver looks for.
+ */
+public enum SolveFor {
+    /** Highest total loan amount, with the given down payment or the minimum one when it is empty */
+    LOAN_AMOUNT,
+    /** Lowest down payment for the given total loan amount */
+    DOWN_PAYMENT
+}
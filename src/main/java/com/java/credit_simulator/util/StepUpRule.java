@@ -0,0 +1,220 @@
+package com.java.credit_simulator.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Yearly rate step-up of a vehicle type, written as clauses separated by {@code ;}:
+ *
+ * <pre>
+ *   every 2 from 2: +0.1; every 2 from 3: +0.5
+ * </pre>
+ *
+ * <p>A clause is {@code selector: action}. Selectors are {@code year N}, {@code years N-M},
+ * {@code every K} / {@code every K from N} (year N, N + K, ...; N defaults to 1) and {@code else}.
+ * Actions are {@code +X} / {@code -X} (percentage points added to the rate of the year before, the
+ * base rate for year 1) and {@code =X} (the rate itself). The first clause that selects a year
+ * applies; a year no clause selects keeps the rate of the year before. Rates are rounded to two
+ * decimals after every year, as the original step-up was.
+ *
+ * <p>A rule is compiled once, when the catalog is loaded, into one action per loan year, and
+ * {@link #apply} turns a base rate into the rate of every year. Requests only read the resulting
+ * arrays, see {@link InterestRateSchedule}.
+ */
+public final class StepUpRule {
+    private final String source;
+
+    private final char[] operators;
+
+    private final double[] operands;
+
+    private StepUpRule(String source, char[] operators, double[] operands) {
+        this.source = source;
+        this.operators = operators;
+        this.operands = operands;
+    }
+
+    /**
+     * @throws IllegalArgumentException when {@code source} is not a valid rule
+     */
+    public static StepUpRule compile(String source, int maxTenure) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Step-up rule cannot be empty");
+        }
+        List<Clause> clauses = new Parser(source).parse();
+
+        char[] operators = new char[maxTenure];
+        double[] operands = new double[maxTenure];
+        for (int year = 1; year <= maxTenure; year++) {
+            operators[year - 1] = '+';
+            for (Clause clause : clauses) {
+                if (clause.selects(year)) {
+                    operators[year - 1] = clause.operator;
+                    operands[year - 1] = clause.operand;
+                    break;
+                }
+            }
+        }
+        return new StepUpRule(source.trim(), operators, operands);
+    }
+
+    /**
+     * @return rate in percent of loan year 1 to the tenure the rule was compiled for
+     */
+    public double[] apply(double baseRate) {
+        double[] rates = new double[operators.length];
+        double rate = baseRate;
+        for (int yearIndex = 0; yearIndex < operators.length; yearIndex++) {
+            double finalRate = switch (operators[yearIndex]) {
+                case '=' -> operands[yearIndex];
+                case '-' -> CreditSimulatorUtils.getFinalRate(rate, -operands[yearIndex]);
+                default -> CreditSimulatorUtils.getFinalRate(rate, operands[yearIndex]);
+            };
+            rate = Math.round(finalRate * 100.0) / 100.0;
+            rates[yearIndex] = rate;
+        }
+        return rates;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * Years {@code from}, {@code from + every}, ... up to {@code to}.
+     */
+    private record Clause(int from, int to, int every, char operator, double operand) {
+        boolean selects(int year) {
+            return year >= from && year <= to && (year - from) % every == 0;
+        }
+    }
+
+    private static final class Parser {
+        private final String source;
+
+        private int position;
+
+        Parser(String source) {
+            this.source = source;
+        }
+
+        List<Clause> parse() {
+            List<Clause> clauses = new ArrayList<>();
+            skipWhitespace();
+            while (position < source.length()) {
+                clauses.add(clause());
+                skipWhitespace();
+                if (position < source.length()) {
+                    expect(';');
+                    skipWhitespace();
+                }
+            }
+            return clauses;
+        }
+
+        private Clause clause() {
+            int from = 1;
+            int to = Integer.MAX_VALUE;
+            int every = 1;
+
+            String keyword = word();
+            switch (keyword) {
+                case "year" -> {
+                    from = year();
+                    to = from;
+                }
+                case "years" -> {
+                    from = year();
+                    expect('-');
+                    to = year();
+                    if (to < from) {
+                        throw error("'years " + from + "-" + to + "' selects no year");
+                    }
+                }
+                case "every" -> {
+                    every = year();
+                    int mark = position;
+                    if ("from".equals(word())) {
+                        from = year();
+                    } else {
+                        position = mark;
+                    }
+                }
+                case "else" -> {
+                }
+                default -> throw error("expected 'year', 'years', 'every' or 'else' but found '" + keyword + "'");
+            }
+
+            expect(':');
+            skipWhitespace();
+            if (position >= source.length() || "+-=".indexOf(source.charAt(position)) < 0) {
+                throw error("expected '+', '-' or '='");
+            }
+            char operator = source.charAt(position++);
+            return new Clause(from, to, every, operator, number());
+        }
+
+        private String word() {
+            skipWhitespace();
+            int start = position;
+            while (position < source.length() && Character.isLetter(source.charAt(position))) {
+                position++;
+            }
+            return source.substring(start, position).toLowerCase();
+        }
+
+        private int year() {
+            skipWhitespace();
+            int start = position;
+            while (position < source.length() && Character.isDigit(source.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw error("expected a year");
+            }
+            int year = Integer.parseInt(source.substring(start, position));
+            if (year < 1) {
+                throw error("years start at 1");
+            }
+            return year;
+        }
+
+        private double number() {
+            skipWhitespace();
+            int start = position;
+            while (position < source.length()
+                    && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                position++;
+            }
+            try {
+                return Double.parseDouble(source.substring(start, position));
+            } catch (NumberFormatException e) {
+                position = start;
+                throw error("expected a number");
+            }
+        }
+
+        private void expect(char expected) {
+            skipWhitespace();
+            if (position >= source.length() || source.charAt(position) != expected) {
+                throw error("expected '" + expected + "'");
+            }
+            position++;
+        }
+
+        private void skipWhitespace() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid step-up rule '" + source + "' at " + (position + 1) + ": " + message);
+        }
+    }
+}
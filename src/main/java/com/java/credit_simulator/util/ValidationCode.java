@@ -0,0 +1,89 @@
+package com.java.credit_simulator.util;
+
+import com.java.credit_simulator.model.CalculateRequest;
+
+/**
+ * Everything a calculate request can violate, in the order the rules are checked.
+ *
+ * <p>{@code rule} is the low-cardinality tag reported on the validation failure metric. Messages are
+ * only built when they are read, from the request that was validated.
+ */
+public enum ValidationCode {
+    MISSING_VEHICLE_TYPE("vehicleType", "mandatory"),
+    MISSING_VEHICLE_CONDITION("vehicleCondition", "mandatory"),
+    MISSING_VEHICLE_YEAR("vehicleYear", "mandatory"),
+    MISSING_TOTAL_LOAN_AMOUNT("totalLoanAmount", "mandatory"),
+    MISSING_LOAN_TENURE("loanTenure", "mandatory"),
+    MISSING_DOWN_PAYMENT("downPayment", "mandatory"),
+    MISSING_IS_EXISTING("isExisting", "mandatory"),
+    INVALID_VEHICLE_TYPE("vehicleType", "vehicle_type"),
+    INVALID_VEHICLE_CONDITION("vehicleCondition", "vehicle_condition"),
+    NEW_VEHICLE_YEAR_TOO_OLD("vehicleYear", "vehicle_year"),
+    VEHICLE_YEAR_IN_FUTURE("vehicleYear", "vehicle_year"),
+    LOAN_TENURE_OUT_OF_RANGE("loanTenure", "loan_tenure"),
+    DOWN_PAYMENT_ABOVE_LOAN_AMOUNT("downPayment", "down_payment"),
+    DOWN_PAYMENT_BELOW_MINIMUM("downPayment", "down_payment"),
+    DOWN_PAYMENT_NEGATIVE("downPayment", "down_payment"),
+    LOAN_AMOUNT_OUT_OF_RANGE("totalLoanAmount", "loan_amount"),
+    LOAN_AMOUNT_BELOW_MINIMUM("totalLoanAmount", "loan_amount");
+
+    private final String field;
+    private final String rule;
+
+    ValidationCode(String field, String rule) {
+        this.field = field;
+        this.rule = rule;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getRule() {
+        return rule;
+    }
+
+    /**
+     * @param productCatalog snapshot the request was validated against
+     * @param currentYear year the request was validated in
+     */
+    public String message(CalculateRequest request, ProductCatalog productCatalog, int currentYear) {
+        switch (this) {
+            case MISSING_VEHICLE_TYPE:
+            case MISSING_VEHICLE_CONDITION:
+            case MISSING_VEHICLE_YEAR:
+            case MISSING_TOTAL_LOAN_AMOUNT:
+            case MISSING_LOAN_TENURE:
+            case MISSING_DOWN_PAYMENT:
+            case MISSING_IS_EXISTING:
+                return "Missing '" + field + "' in request";
+            case INVALID_VEHICLE_TYPE:
+                return "Invalid vehicle type: " + request.getVehicleType();
+            case INVALID_VEHICLE_CONDITION:
+                return "Invalid vehicle condition: " + request.getVehicleCondition();
+            case NEW_VEHICLE_YEAR_TOO_OLD:
+                return String.format("New vehicle year cannot be less than %d", currentYear - 1);
+            case VEHICLE_YEAR_IN_FUTURE:
+                return "Please enter a valid year (Valid year until " + currentYear + ")";
+            case LOAN_TENURE_OUT_OF_RANGE:
+                return "Loan tenure must be between 1 and 6 years";
+            case DOWN_PAYMENT_ABOVE_LOAN_AMOUNT:
+                return String.format("Down payment (Rp %.2f) must be below of loan amount (Rp %.2f)",
+                        request.getDownPayment(), request.getTotalLoanAmount());
+            case DOWN_PAYMENT_BELOW_MINIMUM:
+                VehicleConditionSpec vehicleConditionSpec = productCatalog.getVehicleCondition(request.getVehicleCondition());
+                return String.format("Down payment must be at least %.0f%% of loan amount (Rp %.2f)",
+                        vehicleConditionSpec.getMinimumDownPaymentPercentage() * 100,
+                        CreditSimulatorUtils.getMinimumDownPayment(request.getTotalLoanAmount(),
+                                vehicleConditionSpec.getMinimumDownPaymentPercentage()));
+            case DOWN_PAYMENT_NEGATIVE:
+                return "Down payment cannot be negative";
+            case LOAN_AMOUNT_OUT_OF_RANGE:
+                return "Total loan amount must be > 0 and < 1 Billion";
+            case LOAN_AMOUNT_BELOW_MINIMUM:
+                return "Minimum loan amount is 1,000,000";
+            default:
+                throw new IllegalStateException("No message for " + this);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.java.credit_simulator.util;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.ValidationViolation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Violations found by one validation pass. Sized for every {@link ValidationCode} up front, so a pass
+ * only stores codes; {@link #reset} makes it ready for the next request.
+ */
+public final class ValidationResult {
+    private static final ValidationCode[] CODES = ValidationCode.values();
+
+    private final ValidationCode[] violations = new ValidationCode[CODES.length];
+
+    private int size;
+
+    private CalculateRequest request;
+
+    private ProductCatalog productCatalog;
+
+    private int currentYear;
+
+    public void reset(CalculateRequest request, ProductCatalog productCatalog, int currentYear) {
+        this.request = request;
+        this.productCatalog = productCatalog;
+        this.currentYear = currentYear;
+        this.size = 0;
+    }
+
+    public void add(ValidationCode code) {
+        violations[size++] = code;
+    }
+
+    public boolean isValid() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ValidationCode getCode(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return violations[index];
+    }
+
+    public String getMessage(int index) {
+        return getCode(index).message(request, productCatalog, currentYear);
+    }
+
+    public List<ValidationViolation> getViolations() {
+        List<ValidationViolation> result = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            ValidationCode code = violations[index];
+            result.add(new ValidationViolation(code.name(), code.getField(), code.message(request, productCatalog, currentYear)));
+        }
+        return result;
+    }
+
+    /**
+     * Copy that stays valid after this result is reset for another request.
+     */
+    public ValidationResult copy() {
+        ValidationResult copy = new ValidationResult();
+        copy.reset(request, productCatalog, currentYear);
+        System.arraycopy(violations, 0, copy.violations, 0, size);
+        copy.size = size;
+        return copy;
+    }
+}
@@ -1,15 +1,26 @@
 package com.java.credit_simulator.util;
 
-public enum VehicleConditionSpec {
-    BARU("Baru", 0.35),
-    BEKAS("Bekas", 0.25);
-
+/**
+ * Vehicle condition of a {@link ProductCatalog} snapshot.
+ */
+public final class VehicleConditionSpec {
+    private final int index;
     private final String condition;
     private final double minimumDownPaymentPercentage;
+    private final boolean newVehicle;
 
-    VehicleConditionSpec(String condition, double minimumDownPaymentPercentage) {
+    VehicleConditionSpec(int index, String condition, double minimumDownPaymentPercentage, boolean newVehicle) {
+        this.index = index;
         this.condition = condition;
         this.minimumDownPaymentPercentage = minimumDownPaymentPercentage;
+        this.newVehicle = newVehicle;
+    }
+
+    /**
+     * @return position of this condition in {@link ProductCatalog#getVehicleConditions()}
+     */
+    public int getIndex() {
+        return index;
     }
 
     public String getCondition() {
@@ -20,19 +31,22 @@ public enum VehicleConditionSpec {
         return minimumDownPaymentPercentage;
     }
 
+    /**
+     * @return whether the new vehicle year rule applies (vehicle year at most one year old)
+     */
+    public boolean isNewVehicle() {
+        return newVehicle;
+    }
+
+    /**
+     * Looks the condition up in the current catalog.
+     */
     public static VehicleConditionSpec fromString(String value) {
-        if (value == null) {
-            throw new IllegalArgumentException("Vehicle condition cannot be null");
-        }
-
-        String normalizedValue = value.trim().toUpperCase();
-
-        for (VehicleConditionSpec vehicleConditionSpec : VehicleConditionSpec.values()) {
-            if (vehicleConditionSpec.getCondition().toUpperCase().equals(normalizedValue)) {
-                return vehicleConditionSpec;
-            }
-        }
-        throw new IllegalArgumentException("Invalid vehicle condition: " + value);
+        return ProductCatalog.current().getVehicleCondition(value);
     }
-}
 
+    @Override
+    public String toString() {
+        return condition;
+    }
+}
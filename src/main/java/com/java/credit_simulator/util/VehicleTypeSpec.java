@@ -1,15 +1,34 @@
 package com.java.credit_simulator.util;
 
-public enum VehicleTypeSpec {
-    MOBIL("Mobil", 8.0),
-    MOTOR("Motor", 9.0);
-
+/**
+ * Vehicle type of a {@link ProductCatalog} snapshot. The yearly rates are built with the catalog and
+ * carried here, so a spec and its rates always come from the same snapshot.
+ */
+public final class VehicleTypeSpec {
+    private final int index;
     private final String type;
     private final double baseInterestRate;
+    private final StepUpRule stepUpRule;
+    private final double[] rates;
+    private final int[] rateHundredths;
 
-    VehicleTypeSpec(String type, double baseInterestRate) {
+    VehicleTypeSpec(int index, String type, double baseInterestRate, StepUpRule stepUpRule, double[] rates) {
+        this.index = index;
         this.type = type;
         this.baseInterestRate = baseInterestRate;
+        this.stepUpRule = stepUpRule;
+        this.rates = rates;
+        this.rateHundredths = new int[rates.length];
+        for (int i = 0; i < rates.length; i++) {
+            rateHundredths[i] = FixedPointAmortization.toRateHundredths(rates[i]);
+        }
+    }
+
+    /**
+     * @return position of this type in {@link ProductCatalog#getVehicleTypes()}
+     */
+    public int getIndex() {
+        return index;
     }
 
     public String getType() {
@@ -20,19 +39,27 @@ public enum VehicleTypeSpec {
         return baseInterestRate;
     }
 
-    public static VehicleTypeSpec fromString(String value) {
-        if (value == null) {
-            throw new IllegalArgumentException("Vehicle type cannot be null");
-        }
+    public StepUpRule getStepUpRule() {
+        return stepUpRule;
+    }
 
-        String normalizedValue = value.trim().toUpperCase();
-        for (VehicleTypeSpec type : VehicleTypeSpec.values()) {
-            if (type.getType().toUpperCase().equals(normalizedValue)) {
-                return type;
-            }
-        }
+    double[] rates() {
+        return rates;
+    }
 
-        throw new IllegalArgumentException("Invalid vehicle type: " + value);
+    int[] rateHundredths() {
+        return rateHundredths;
+    }
+
+    /**
+     * Looks the type up in the current catalog.
+     */
+    public static VehicleTypeSpec fromString(String value) {
+        return ProductCatalog.current().getVehicleType(value);
     }
-}
 
+    @Override
+    public String toString() {
+        return type;
+    }
+}
@@ -2,25 +2,37 @@ package com.java.credit_simulator.view;
 
 import com.java.credit_simulator.external.ThirdPartyService;
 import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.BatchFileSummary;
 import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.CalculationSheet;
+import com.java.credit_simulator.service.BatchFileService;
+import com.java.credit_simulator.service.SheetLogService;
+import com.java.credit_simulator.service.StreamCalculateService;
 import com.java.credit_simulator.service.CreditSimulatorService;
 import com.java.credit_simulator.util.CreditSimulatorUtils;
 import com.java.credit_simulator.util.IsExisting;
+import com.java.credit_simulator.util.ProductCatalog;
 import com.java.credit_simulator.util.VehicleConditionSpec;
 import com.java.credit_simulator.util.VehicleTypeSpec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Year;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -29,15 +41,31 @@ public class CreditSimulatorView implements CommandLineRunner {
 
     private final CreditSimulatorService creditSimulatorService;
     private final ThirdPartyService thirdPartyService;
+    private final BatchFileService batchFileService;
+    private final StreamCalculateService streamCalculateService;
+    private final SheetLogService sheetLogService;
     private final BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
-    private final List<CalculateResponse> savedSheets = new ArrayList<>();
+    private CalculationSheet lastSheet;
+
+    @Value("${credit-simulator.sheets.page-size:10}")
+    private int pageSize;
 
     @Override
     public void run(String... args) throws Exception {
 
+        // Spring options (--name=value) are not ours, only the mode flags and file names are
+        List<String> commandArgs = Arrays.stream(args)
+                .filter(arg -> !arg.startsWith("--") || arg.equals("--pipe") || arg.equals("--batch"))
+                .toList();
+
         // Check if file input is provided
-        if (args.length > 0) {
-            processFileInput(args[0]);
+        if (!commandArgs.isEmpty() && commandArgs.get(0).equals("--pipe")) {
+            processPipe();
+        } else if (commandArgs.size() > 1 && commandArgs.get(0).equals("--batch")) {
+            processBatchFile(commandArgs.get(1),
+                    commandArgs.size() > 2 ? commandArgs.get(2) : commandArgs.get(1) + ".result.csv");
+        } else if (!commandArgs.isEmpty()) {
+            processFileInput(commandArgs.get(0));
         } else {
             showCommand();
         }
@@ -75,6 +103,31 @@ public class CreditSimulatorView implements CommandLineRunner {
         }
     }
 
+    private void processPipe() {
+        try {
+            // Straight to the stdout file descriptor: System.out flushes on every line
+            streamCalculateService.calculate(System.in, new FileOutputStream(FileDescriptor.out));
+        } catch (Exception e) {
+            System.err.println("Error processing piped input: " + e.getMessage());
+        }
+    }
+
+    private void processBatchFile(String inputFile, String outputFile) {
+        try {
+            log.info("Processing batch file: {} -> {}", inputFile, outputFile);
+            BatchFileSummary summary = batchFileService.calculate(Path.of(inputFile), Path.of(outputFile));
+
+            System.out.printf("Batch completed: %d records, %d failed, %d ms%n",
+                    summary.getRecords(), summary.getFailed(), summary.getElapsedMillis());
+            if (summary.getResumedAfterLine() > 0) {
+                System.out.printf("Resumed after line %d%n", summary.getResumedAfterLine());
+            }
+            System.out.println("Results written to " + outputFile);
+        } catch (Exception e) {
+            System.err.println("Error processing batch file: " + e.getMessage());
+        }
+    }
+
     private void showCommand() throws IOException {
         System.out.println("\n------ CREDIT SIMULATOR ------");
         System.out.println("Welcome to Credit Simulator");
@@ -106,6 +159,10 @@ public class CreditSimulatorView implements CommandLineRunner {
                 case "list":
                     listSavedSheets();
                     break;
+                case "5":
+                case "sheet":
+                    showSheet();
+                    break;
                 case "exit":
                     System.out.println("Thank you for using Credit Simulator.");
                     return;
@@ -121,6 +178,7 @@ public class CreditSimulatorView implements CommandLineRunner {
         System.out.println("2. load      - Load existing calculation from third party service");
         System.out.println("3. save      - Save current calculation to sheet");
         System.out.println("4. list      - List all data in sheets");
+        System.out.println("5. sheet     - Show a sheet by id");
         System.out.println("show         - Show the command list");
         System.out.println("exit         - Exit application");
         System.out.println("------------------------------------");
@@ -180,75 +238,148 @@ public class CreditSimulatorView implements CommandLineRunner {
     }
 
     private void saveSheet() {
-        if (savedSheets.isEmpty()) {
+        if (lastSheet == null) {
             System.out.println("No calculation results to save. Please perform a calculation first.");
             return;
         }
 
-        CalculateResponse lastResult = savedSheets.get(savedSheets.size() - 1);
         String filename = "calculation_" + System.currentTimeMillis() + ".txt";
 
-        try (FileWriter writer = new FileWriter(filename)) {
+        try (Writer writer = Files.newBufferedWriter(Path.of(filename))) {
             writer.write("=== MONTHLY INSTALLMENTS ===\n");
-            for (CalculateResponse.YearlyInformation yearInfo : lastResult.getYearlyInformations()) {
+            for (CalculateResponse.YearlyInformation yearInfo : lastSheet.getResponse().getYearlyInformations()) {
                 writer.write(String.format("Year %d: %s/month, Interest Rate: %.1f%%\n",
                         yearInfo.getYear(),
                         yearInfo.getInstallmentMonthly(),
                         yearInfo.getInterestRate()));
             }
 
-            System.out.println("Calculation saved to: " + filename);
+            System.out.println("Calculation saved to: " + filename + " (sheet #" + lastSheet.getId() + ")");
 
         } catch (IOException e) {
             System.err.println("Error saving sheet: " + e.getMessage());
         }
     }
 
-    private void listSavedSheets() {
-        if (savedSheets.isEmpty()) {
+    private void listSavedSheets() throws IOException {
+        long total = sheetLogService.count();
+        if (total == 0) {
             System.out.println("No saved calculation sheets.");
             return;
         }
 
-        System.out.println("\n------------ SAVED CALCULATION SHEETS ------------");
-        for (int i = 0; i < savedSheets.size(); i++) {
-            CalculateResponse sheet = savedSheets.get(i);
-            for (int year = 0; year < sheet.getYearlyInformations().size(); year++) {
-                System.out.printf("  Year %d: %.0f/month, Interest Rate: %.1f%%\n",
-                        year + 1,
-                        sheet.getYearlyInformations().get(year).getInstallmentMonthly(),
-                        sheet.getYearlyInformations().get(year).getInterestRate());
+        int pages = (int) ((total + pageSize - 1) / pageSize);
+        int page = 0;
+        while (true) {
+            System.out.printf("\n------------ SAVED CALCULATION SHEETS (page %d of %d, %d sheets) ------------\n",
+                    page + 1, pages, total);
+            for (CalculationSheet sheet : sheetLogService.list(page, pageSize)) {
+                printSheet(sheet);
+            }
+            System.out.println("----------------------------------------------------------\n");
+
+            if (pages == 1) {
+                return;
             }
+            System.out.printf("Enter page number (1-%d), or press Enter to go back: ", pages);
+            String input = reader.readLine().trim();
+            if (input.isEmpty()) {
+                return;
+            }
+            try {
+                int requested = Integer.parseInt(input);
+                if (requested < 1 || requested > pages) {
+                    System.out.printf("Page must be between 1 and %d.\n", pages);
+                    continue;
+                }
+                page = requested - 1;
+            } catch (NumberFormatException e) {
+                System.out.println("Please enter a valid number.");
+            }
+        }
+    }
+
+    private void showSheet() throws IOException {
+        System.out.print("Enter sheet id: ");
+        try {
+            long id = Long.parseLong(reader.readLine().trim());
+            Optional<CalculationSheet> sheet = sheetLogService.get(id);
+            if (sheet.isEmpty()) {
+                System.out.println("Sheet #" + id + " not found.");
+                return;
+            }
+            printSheet(sheet.get());
+        } catch (NumberFormatException e) {
+            System.out.println("Please enter a valid number.");
+        }
+    }
+
+    private void printSheet(CalculationSheet sheet) {
+        CalculateRequest request = sheet.getRequest();
+        System.out.printf("Sheet #%d (%s) %s %s %d, loan %.0f, down payment %.0f, %d years\n",
+                sheet.getId(),
+                sheet.getSavedAt(),
+                request.getVehicleType(),
+                request.getVehicleCondition(),
+                request.getVehicleYear(),
+                request.getTotalLoanAmount(),
+                request.getDownPayment(),
+                request.getLoanTenure());
+        List<CalculateResponse.YearlyInformation> yearlyInformations = sheet.getResponse().getYearlyInformations();
+        for (int year = 0; year < yearlyInformations.size(); year++) {
+            System.out.printf("  Year %d: %.0f/month, Interest Rate: %.1f%%\n",
+                    year + 1,
+                    yearlyInformations.get(year).getInstallmentMonthly(),
+                    yearlyInformations.get(year).getInterestRate());
         }
-        System.out.println("----------------------------------------------------------\n");
     }
 
     private String getVehicleType() throws IOException {
         while (true) {
-            System.out.print("Enter vehicle type (Motor/Mobil): ");
+            List<String> vehicleTypes = ProductCatalog.current().getVehicleTypes().stream()
+                    .map(VehicleTypeSpec::getType)
+                    .toList();
+            System.out.print("Enter vehicle type (" + String.join("/", vehicleTypes) + "): ");
             String input = reader.readLine().trim();
 
             try {
                 VehicleTypeSpec.fromString(input);
                 return input;
             } catch (IllegalArgumentException e) {
-                System.out.println("Invalid vehicle type. Please enter 'Motor' or 'Mobil'.");
+                System.out.println("Invalid vehicle type. Please enter " + choices(vehicleTypes) + ".");
             }
         }
     }
 
     private String getVehicleCondition() throws IOException {
         while (true) {
-            System.out.print("Enter vehicle condition (Bekas/Baru): ");
+            List<String> vehicleConditions = ProductCatalog.current().getVehicleConditions().stream()
+                    .map(VehicleConditionSpec::getCondition)
+                    .toList();
+            System.out.print("Enter vehicle condition (" + String.join("/", vehicleConditions) + "): ");
             String input = reader.readLine().trim();
 
             try {
                 VehicleConditionSpec.fromString(input);
                 return input;
             } catch (IllegalArgumentException e) {
-                System.out.println("Invalid vehicle condition. Please enter 'Bekas' or 'Baru'.");
+                System.out.println("Invalid vehicle condition. Please enter " + choices(vehicleConditions) + ".");
+            }
+        }
+    }
+
+    /**
+     * @return e.g. {@code 'Mobil' or 'Motor'}
+     */
+    private String choices(List<String> names) {
+        StringBuilder choices = new StringBuilder();
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) {
+                choices.append(i == names.size() - 1 ? " or " : ", ");
             }
+            choices.append('\'').append(names.get(i)).append('\'');
         }
+        return choices.toString();
     }
 
     private Integer getVehicleYear(String vehicleCondition) throws IOException {
@@ -262,7 +393,8 @@ public class CreditSimulatorView implements CommandLineRunner {
                     continue;
                 }
 
-                if (vehicleCondition.equalsIgnoreCase("Baru") && year < (Year.now().getValue() - 1)) {
+                if (VehicleConditionSpec.fromString(vehicleCondition).isNewVehicle()
+                        && year < (Year.now().getValue() - 1)) {
                     System.out.println("New vehicle year cannot be less than " + (Year.now().getValue() - 1));
                     continue;
                 }
@@ -352,7 +484,11 @@ public class CreditSimulatorView implements CommandLineRunner {
         }
         System.out.println("--------------------------------\n");
 
-        // Save to memory for potential sheet saving
-        savedSheets.add(response);
+        // Kept on disk for the save, list and sheet commands
+        try {
+            lastSheet = sheetLogService.append(request, response);
+        } catch (IOException e) {
+            System.err.println("Error storing sheet: " + e.getMessage());
+        }
     }
 }
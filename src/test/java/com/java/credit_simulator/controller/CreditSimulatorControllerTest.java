@@ -0,0 +1,321 @@
+package com.java.credit_simulator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.config.CalculateResponseConverterConfig;
+import com.java.credit_simulator.model.AffordabilityRequest;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.SweepRequest;
+import com.java.credit_simulator.model.WebResponse;
+import com.java.credit_simulator.service.CalculationHistoryService;
+import com.java.credit_simulator.service.CreditSimulatorServiceFixture;
+import com.java.credit_simulator.service.impl.AffordabilityServiceImplement;
+import com.java.credit_simulator.service.impl.BatchCalculateServiceImplement;
+import com.java.credit_simulator.service.impl.CreditSimulatorServiceImplement;
+import com.java.credit_simulator.service.impl.MonthlyScheduleServiceImplement;
+import com.java.credit_simulator.service.impl.StreamCalculateServiceImplement;
+import com.java.credit_simulator.service.impl.SweepCalculateServiceImplement;
+import com.java.credit_simulator.util.CalculateResponseBinaryReader;
+import com.java.credit_simulator.util.CalculateResponseBinaryWriter;
+import com.java.credit_simulator.util.IsExisting;
+import com.java.credit_simulator.util.SolveFor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class CreditSimulatorControllerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExecutorService calculationExecutor;
+
+    private ThreadPoolTaskExecutor streamExecutor;
+
+    private final AtomicReference<String> streamThread = new AtomicReference<>();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        CreditSimulatorServiceFixture fixture = new CreditSimulatorServiceFixture(true);
+        CreditSimulatorServiceImplement creditSimulatorService = fixture.creditSimulatorService();
+
+        calculationExecutor = Executors.newFixedThreadPool(2);
+        BatchCalculateServiceImplement batchCalculateService =
+                new BatchCalculateServiceImplement(creditSimulatorService, calculationExecutor);
+        ReflectionTestUtils.setField(batchCalculateService, "maxBatchSize", 10);
+
+        StreamCalculateServiceImplement streamCalculateService =
+                new StreamCalculateServiceImplement(creditSimulatorService, objectMapper, calculationExecutor, 8);
+
+        SweepCalculateServiceImplement sweepCalculateService = new SweepCalculateServiceImplement(creditSimulatorService);
+        ReflectionTestUtils.setField(sweepCalculateService, "maxScenarios", 200);
+
+        AffordabilityServiceImplement affordabilityService =
+                new AffordabilityServiceImplement(creditSimulatorService, fixture.calculateLoanService());
+        ReflectionTestUtils.setField(affordabilityService, "maxCalculations", 100);
+
+        streamExecutor = new ThreadPoolTaskExecutor();
+        streamExecutor.setCorePoolSize(1);
+        streamExecutor.setThreadNamePrefix("stream-test-");
+        streamExecutor.initialize();
+
+        CreditSimulatorController controller = new CreditSimulatorController(creditSimulatorService,
+                batchCalculateService,
+                (requestLines, responseLines) -> {
+                    streamThread.set(Thread.currentThread().getName());
+                    streamCalculateService.calculate(requestLines, responseLines);
+                },
+                sweepCalculateService,
+                affordabilityService,
+                new MonthlyScheduleServiceImplement(),
+                fixture.calculationCacheService(),
+                mock(CalculationHistoryService.class),
+                streamExecutor);
+
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()));
+        new CalculateResponseConverterConfig(fixture.calculateMetricsService()).extendMessageConverters(converters);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ErrorController())
+                .setMessageConverters(converters.toArray(new HttpMessageConverter<?>[0]))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        calculationExecutor.shutdownNow();
+        streamExecutor.shutdown();
+    }
+
+    @Test
+    void calculate_BinaryAccept_BinaryResponse() throws Exception {
+        byte[] body = mockMvc.perform(post("/api/v1/loan/calculate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE)
+                        .content(objectMapper.writeValueAsString(request(2024, 100_000_000.0, 3, 25_000_000.0, IsExisting.N))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        CalculateResponse response = CalculateResponseBinaryReader.readResponse(body).getData();
+        assertEquals(new BigDecimal("2441224.50"), response.getInstallmentMonthlyAverage());
+        assertEquals(3, response.getYearlyInformations().size());
+    }
+
+    @Test
+    void calculate_BinaryAcceptValidationFailure_JsonBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/loan/calculate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE)
+                        .content(objectMapper.writeValueAsString(request(2024, 100_000_000.0, 7, 20_000_000.0, IsExisting.N))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.errors").value("Loan tenure must be between 1 and 6 years"))
+                .andExpect(jsonPath("$.data[0].code").value("LOAN_TENURE_OUT_OF_RANGE"))
+                .andExpect(jsonPath("$.data[1].code").value("DOWN_PAYMENT_BELOW_MINIMUM"));
+    }
+
+    @Test
+    void calculateBatch_BinaryAccept_KeepsOrderAndItemErrors() throws Exception {
+        List<CalculateRequest> requests = Arrays.asList(
+                request(2024, 100_000_000.0, 3, 25_000_000.0, IsExisting.N),
+                request(2024, 100_000_000.0, 3, 20_000_000.0, IsExisting.N),
+                null);
+
+        byte[] body = mockMvc.perform(post("/api/v1/loan/calculate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        List<WebResponse<CalculateResponse>> results = CalculateResponseBinaryReader.readBatch(body).getData();
+        assertEquals(3, results.size());
+        assertEquals(new BigDecimal("2441224.50"), results.get(0).getData().getInstallmentMonthlyAverage());
+        assertEquals("Down payment must be at least 25% of loan amount (Rp 25000000.00)", results.get(1).getErrors());
+        assertEquals("Batch item cannot be null", results.get(2).getErrors());
+    }
+
+    @Test
+    void calculateSweep_Matrix() throws Exception {
+        mockMvc.perform(post("/api/v1/loan/calculate/sweep")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sweepRequest(new BigDecimal("25"), new BigDecimal("30")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.loanTenures.length()").value(2))
+                .andExpect(jsonPath("$.data.matrices[0].vehicleType").value("Mobil"))
+                .andExpect(jsonPath("$.data.matrices[0].installmentMonthlyAverage[0][0]").value(2441224.5));
+    }
+
+    @Test
+    void calculateSweep_ConstraintViolated_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/loan/calculate/sweep")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sweepRequest(new BigDecimal("25"), new BigDecimal("120")))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.errors").value("Down payment percentage cannot be above 100"))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    @Test
+    void calculateSweep_CornerViolatesRule_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/loan/calculate/sweep")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sweepRequest(new BigDecimal("20"), new BigDecimal("30")))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors").value("Down payment must be at least 25% of loan amount (Rp 25000000.00)"))
+                .andExpect(jsonPath("$.data[0].code").value("DOWN_PAYMENT_BELOW_MINIMUM"));
+    }
+
+    @Test
+    void affordability_LoanAmount() throws Exception {
+        mockMvc.perform(post("/api/v1/loan/affordability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(affordabilityRequest(SolveFor.LOAN_AMOUNT, 3_000_000.0, "Bekas", 2024))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalLoanAmount").value(113575123.54))
+                .andExpect(jsonPath("$.data.installment").value(3000000.0))
+                .andExpect(jsonPath("$.data.limitedByRule").value(false));
+    }
+
+    @Test
+    void affordability_MissingSolveFor_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/loan/affordability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(affordabilityRequest(null, 3_000_000.0, "Bekas", 2024))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.errors").value("Solve for is required"))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    @Test
+    void affordability_TargetBelowMinimum_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/loan/affordability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(affordabilityRequest(SolveFor.LOAN_AMOUNT, 0.0, "Bekas", 2024))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.errors").value("Target installment must be at least 0.01"));
+    }
+
+    @Test
+    void affordability_AnswerViolatesRule_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/loan/affordability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(affordabilityRequest(SolveFor.LOAN_AMOUNT, 3_000_000.0, "Baru", 2020))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.data[0].code").value("NEW_VEHICLE_YEAR_TOO_OLD"));
+    }
+
+    @Test
+    void calculateStream_NoAsyncTimeout() throws Exception {
+        String body = objectMapper.writeValueAsString(request(2024, 100_000_000.0, 3, 25_000_000.0, IsExisting.N))
+                + "\n{not json}\n";
+
+        MvcResult result = mockMvc.perform(post("/api/v1/loan/calculate/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        assertEquals(-1, result.getRequest().getAsyncContext().getTimeout());
+
+        String lines = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String[] results = lines.trim().split("\n");
+        assertEquals(2, results.length);
+        assertTrue(results[0].contains("\"installmentMonthlyAverage\":2441224.5"), results[0]);
+        assertTrue(results[1].contains("Malformed request at line 2"), results[1]);
+    }
+
+    @Test
+    void calculateStream_RunsOnStreamExecutor() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/loan/calculate/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(request(2024, 100_000_000.0, 3, 25_000_000.0, IsExisting.N))))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        assertTrue(streamThread.get().startsWith("stream-test-"), streamThread.get());
+    }
+
+    private static SweepRequest sweepRequest(BigDecimal minDownPaymentPercentage, BigDecimal maxDownPaymentPercentage) {
+        return SweepRequest.builder()
+                .vehicleTypes(List.of("Mobil"))
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(100_000_000.0)
+                .minLoanTenure(3)
+                .maxLoanTenure(4)
+                .minDownPaymentPercentage(minDownPaymentPercentage)
+                .maxDownPaymentPercentage(maxDownPaymentPercentage)
+                .downPaymentPercentageStep(new BigDecimal("5"))
+                .build();
+    }
+
+    private static AffordabilityRequest affordabilityRequest(SolveFor solveFor, double targetInstallment,
+                                                             String vehicleCondition, int vehicleYear) {
+        return AffordabilityRequest.builder()
+                .solveFor(solveFor)
+                .targetInstallment(targetInstallment)
+                .vehicleType("Mobil")
+                .vehicleCondition(vehicleCondition)
+                .vehicleYear(vehicleYear)
+                .loanTenure(3)
+                .build();
+    }
+
+    private static CalculateRequest request(int vehicleYear, double totalLoanAmount, int loanTenure,
+                                            double downPayment, IsExisting isExisting) {
+        return CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Bekas")
+                .vehicleYear(vehicleYear)
+                .totalLoanAmount(totalLoanAmount)
+                .loanTenure(loanTenure)
+                .downPayment(downPayment)
+                .isExisting(isExisting)
+                .build();
+    }
+}
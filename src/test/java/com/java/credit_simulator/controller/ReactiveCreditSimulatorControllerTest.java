@@ -0,0 +1,478 @@
+package com.java.credit_simulator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.config.ReactiveConfig;
+import com.java.credit_simulator.model.AffordabilityRequest;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.CalculationRecord;
+import com.java.credit_simulator.model.SweepRequest;
+import com.java.credit_simulator.model.WebResponse;
+import com.java.credit_simulator.service.CalculationHistoryService;
+import com.java.credit_simulator.service.CreditSimulatorServiceFixture;
+import com.java.credit_simulator.service.impl.AffordabilityServiceImplement;
+import com.java.credit_simulator.service.impl.BatchCalculateServiceImplement;
+import com.java.credit_simulator.service.impl.CalculationHistoryServiceImplement;
+import com.java.credit_simulator.service.impl.CalculateLoanServiceImplement;
+import com.java.credit_simulator.service.impl.CreditSimulatorServiceImplement;
+import com.java.credit_simulator.service.impl.MonthlyScheduleServiceImplement;
+import com.java.credit_simulator.service.impl.ReactiveCreditSimulatorServiceImplement;
+import com.java.credit_simulator.service.impl.SweepCalculateServiceImplement;
+import com.java.credit_simulator.util.CalculateResponseBinaryReader;
+import com.java.credit_simulator.util.CalculateResponseBinaryWriter;
+import com.java.credit_simulator.util.IsExisting;
+import com.java.credit_simulator.util.SolveFor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the reactive controller keeps the request/response contract of the servlet controller.
+ */
+public class ReactiveCreditSimulatorControllerTest {
+    private Scheduler calculationScheduler;
+
+    private ExecutorService calculationExecutor;
+
+    private WebTestClient webTestClient;
+
+    private CalculationHistoryServiceImplement calculationHistoryService;
+
+    private final List<String> historyThreads = new CopyOnWriteArrayList<>();
+
+    @TempDir
+    Path historyDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        CreditSimulatorServiceFixture fixture = new CreditSimulatorServiceFixture(true);
+        CreditSimulatorServiceImplement creditSimulatorService = fixture.creditSimulatorService();
+
+        calculationExecutor = Executors.newFixedThreadPool(2);
+        BatchCalculateServiceImplement batchCalculateService =
+                new BatchCalculateServiceImplement(creditSimulatorService, calculationExecutor);
+        ReflectionTestUtils.setField(batchCalculateService, "maxBatchSize", 10);
+
+        SweepCalculateServiceImplement sweepCalculateService = new SweepCalculateServiceImplement(creditSimulatorService);
+        ReflectionTestUtils.setField(sweepCalculateService, "maxScenarios", 200);
+
+        AffordabilityServiceImplement affordabilityService =
+                new AffordabilityServiceImplement(creditSimulatorService, new CalculateLoanServiceImplement());
+        ReflectionTestUtils.setField(affordabilityService, "maxCalculations", 100);
+
+        calculationScheduler = Schedulers.newParallel("calculation-test", 2);
+        ReactiveCreditSimulatorServiceImplement reactiveCreditSimulatorService =
+                new ReactiveCreditSimulatorServiceImplement(creditSimulatorService, batchCalculateService,
+                        sweepCalculateService,
+                        affordabilityService,
+                        () -> Mono.just(request(2024, 100_000_000.0, 3, 25_000_000.0, IsExisting.N)),
+                        fixture.calculateMetricsService(), fixture.auditLogService(), calculationScheduler, objectMapper);
+
+        calculationHistoryService = new CalculationHistoryServiceImplement(true, historyDirectory, 1 << 16, 4,
+                Duration.ofDays(1), objectMapper, Clock.systemUTC());
+        calculationHistoryService.open();
+
+        MonthlyScheduleServiceImplement monthlyScheduleService = new MonthlyScheduleServiceImplement();
+        ReflectionTestUtils.setField(monthlyScheduleService, "maxPageSize", 72);
+
+        webTestClient = WebTestClient
+                .bindToController(new ReactiveCreditSimulatorController(reactiveCreditSimulatorService,
+                        fixture.calculationCacheService(), new CalculationHistoryService() {
+                            @Override
+                            public Long save(CalculateRequest request, CalculateResponse response) {
+                                historyThreads.add(Thread.currentThread().getName());
+                                return calculationHistoryService.save(request, response);
+                            }
+
+                            @Override
+                            public Optional<CalculationRecord> get(long id) {
+                                historyThreads.add(Thread.currentThread().getName());
+                                return calculationHistoryService.get(id);
+                            }
+                        }, monthlyScheduleService))
+                .controllerAdvice(new ErrorController())
+                .httpMessageCodecs(new ReactiveConfig()::configureHttpMessageCodecs)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        calculationHistoryService.close();
+        calculationScheduler.dispose();
+        calculationExecutor.shutdownNow();
+    }
+
+    @Test
+    void calculate_SameResultAsServletController() {
+        webTestClient.post().uri("/api/v1/loan/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(2024, 100_000_000.0, 3, 25_000_000.0, IsExisting.N))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.installmentMonthlyAverage").isEqualTo(2441224.5)
+                .jsonPath("$.data.yearlyInformations[0].year").isEqualTo(1)
+                .jsonPath("$.data.yearlyInformations[0].principalAmount").isEqualTo(75000000.00)
+                .jsonPath("$.data.yearlyInformations.length()").isEqualTo(3)
+                .jsonPath("$.errors").doesNotExist();
+    }
+
+    @Test
+    void calculate_StoredUnderReturnedId() {
+        String id = webTestClient.post().uri("/api/v1/loan/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(2024, 100_000_000.0, 3, 25_000_000.0, IsExisting.N))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getFirst("X-Calculation-Id");
+
+        webTestClient.get().uri("/api/v1/loan/calculations/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.id").isEqualTo(Integer.parseInt(id))
+                .jsonPath("$.data.request.totalLoanAmount").isEqualTo(100_000_000.0)
+                .jsonPath("$.data.response.installmentMonthlyAverage").isEqualTo(2441224.5);
+
+        webTestClient.get().uri("/api/v1/loan/calculations/{id}", 999)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errors").isEqualTo("Calculation 999 not found");
+
+        // Save and both reads block on file I/O, so none of them may run on an event-loop thread
+        assertEquals(3, historyThreads.size());
+        historyThreads.forEach(thread -> assertTrue(thread.startsWith("boundedElastic-"), thread));
+    }
+
+    @Test
+    void calculate_Existing_UsesReactiveThirdParty() {
+        webTestClient.post().uri("/api/v1/loan/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(2024, 50_000_000.0, 1, 20_000_000.0, IsExisting.Y))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.installmentMonthlyAverage").isEqualTo(2441224.5);
+    }
+
+    @Test
+    void calculate_DownPaymentTooLow_BadRequest() {
+        webTestClient.post().uri("/api/v1/loan/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(2024, 100_000_000.0, 3, 20_000_000.0, IsExisting.N))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors").isEqualTo("Down payment must be at least 25% of loan amount (Rp 25000000.00)");
+    }
+
+    @Test
+    void calculate_EveryViolation_BadRequest() {
+        webTestClient.post().uri("/api/v1/loan/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(2024, 100_000_000.0, 7, 20_000_000.0, IsExisting.N))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors").isEqualTo("Loan tenure must be between 1 and 6 years")
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[0].code").isEqualTo("LOAN_TENURE_OUT_OF_RANGE")
+                .jsonPath("$.data[0].field").isEqualTo("loanTenure")
+                .jsonPath("$.data[1].code").isEqualTo("DOWN_PAYMENT_BELOW_MINIMUM")
+                .jsonPath("$.data[1].message").isEqualTo("Down payment must be at least 25% of loan amount (Rp 25000000.00)");
+    }
+
+    @Test
+    void calculate_BinaryAccept_BinaryResponse() {
+        byte[] body = webTestClient.post().uri("/api/v1/loan/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.parseMediaType(CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE))
+                .bodyValue(request(2024, 100_000_000.0, 3, 25_000_000.0, IsExisting.N))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        CalculateResponse response = CalculateResponseBinaryReader.readResponse(body).getData();
+        assertEquals(new BigDecimal("2441224.50"), response.getInstallmentMonthlyAverage());
+        assertEquals(3, response.getYearlyInformations().size());
+    }
+
+    @Test
+    void calculate_BinaryAcceptValidationFailure_JsonBadRequest() {
+        webTestClient.post().uri("/api/v1/loan/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.parseMediaType(CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE))
+                .bodyValue(request(2024, 100_000_000.0, 7, 20_000_000.0, IsExisting.N))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.errors").isEqualTo("Loan tenure must be between 1 and 6 years")
+                .jsonPath("$.data[0].code").isEqualTo("LOAN_TENURE_OUT_OF_RANGE")
+                .jsonPath("$.data[1].code").isEqualTo("DOWN_PAYMENT_BELOW_MINIMUM");
+    }
+
+    @Test
+    void calculateBatch_BinaryAccept_KeepsOrderAndItemErrors() {
+        List<CalculateRequest> requests = Arrays.asList(
+                request(2024, 100_000_000.0, 3, 25_000_000.0, IsExisting.N),
+                request(2024, 100_000_000.0, 3, 20_000_000.0, IsExisting.N),
+                null);
+
+        byte[] body = webTestClient.post().uri("/api/v1/loan/calculate/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.parseMediaType(CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE))
+                .bodyValue(requests)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(CalculateResponseBinaryWriter.MEDIA_TYPE_VALUE)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        List<WebResponse<CalculateResponse>> results = CalculateResponseBinaryReader.readBatch(body).getData();
+        assertEquals(3, results.size());
+        assertEquals(new BigDecimal("2441224.50"), results.get(0).getData().getInstallmentMonthlyAverage());
+        assertEquals("Down payment must be at least 25% of loan amount (Rp 25000000.00)", results.get(1).getErrors());
+        assertEquals("Batch item cannot be null", results.get(2).getErrors());
+    }
+
+    @Test
+    void calculateBatch_KeepsOrderAndItemErrors() {
+        List<CalculateRequest> requests = Arrays.asList(
+                request(2024, 100_000_000.0, 3, 25_000_000.0, IsExisting.N),
+                request(2024, 100_000_000.0, 3, 20_000_000.0, IsExisting.N),
+                null);
+
+        webTestClient.post().uri("/api/v1/loan/calculate/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(requests)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(3)
+                .jsonPath("$.data[0].data.installmentMonthlyAverage").isEqualTo(2441224.5)
+                .jsonPath("$.data[1].errors").isEqualTo("Down payment must be at least 25% of loan amount (Rp 25000000.00)")
+                .jsonPath("$.data[2].errors").isEqualTo("Batch item cannot be null");
+    }
+
+    @Test
+    void calculateSweep_Matrix() {
+        webTestClient.post().uri("/api/v1/loan/calculate/sweep")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(sweepRequest(new BigDecimal("25"), new BigDecimal("30")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.loanTenures.length()").isEqualTo(2)
+                .jsonPath("$.data.matrices[0].vehicleType").isEqualTo("Mobil")
+                .jsonPath("$.data.matrices[0].installmentMonthlyAverage[0][0]").isEqualTo(2441224.5);
+    }
+
+    @Test
+    void calculateSweep_ConstraintViolated_BadRequest() {
+        webTestClient.post().uri("/api/v1/loan/calculate/sweep")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(sweepRequest(new BigDecimal("25"), new BigDecimal("120")))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.errors").isEqualTo("Down payment percentage cannot be above 100")
+                .jsonPath("$.data").doesNotExist();
+    }
+
+    @Test
+    void calculateSweep_CornerViolatesRule_BadRequest() {
+        webTestClient.post().uri("/api/v1/loan/calculate/sweep")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(sweepRequest(new BigDecimal("20"), new BigDecimal("30")))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors").isEqualTo("Down payment must be at least 25% of loan amount (Rp 25000000.00)")
+                .jsonPath("$.data[0].code").isEqualTo("DOWN_PAYMENT_BELOW_MINIMUM");
+    }
+
+    @Test
+    void affordability_LoanAmount() {
+        webTestClient.post().uri("/api/v1/loan/affordability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(affordabilityRequest(SolveFor.LOAN_AMOUNT, 3_000_000.0, "Bekas", 2024))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.totalLoanAmount").isEqualTo(113575123.54)
+                .jsonPath("$.data.installment").isEqualTo(3000000.0)
+                .jsonPath("$.data.limitedByRule").isEqualTo(false);
+    }
+
+    @Test
+    void affordability_MissingSolveFor_BadRequest() {
+        webTestClient.post().uri("/api/v1/loan/affordability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(affordabilityRequest(null, 3_000_000.0, "Bekas", 2024))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.errors").isEqualTo("Solve for is required")
+                .jsonPath("$.data").doesNotExist();
+    }
+
+    @Test
+    void affordability_TargetBelowMinimum_BadRequest() {
+        webTestClient.post().uri("/api/v1/loan/affordability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(affordabilityRequest(SolveFor.LOAN_AMOUNT, 0.0, "Bekas", 2024))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.errors").isEqualTo("Target installment must be at least 0.01");
+    }
+
+    @Test
+    void affordability_AnswerViolatesRule_BadRequest() {
+        webTestClient.post().uri("/api/v1/loan/affordability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(affordabilityRequest(SolveFor.LOAN_AMOUNT, 3_000_000.0, "Baru", 2020))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.data[0].code").isEqualTo("NEW_VEHICLE_YEAR_TOO_OLD");
+    }
+
+    @Test
+    void calculateStream_OneResultPerLine() {
+        String body = "{\"vehicleType\":\"Mobil\",\"vehicleCondition\":\"Bekas\",\"vehicleYear\":2024,"
+                + "\"totalLoanAmount\":100000000,\"loanTenure\":3,\"downPayment\":25000000,\"isExisting\":\"N\"}\n"
+                + "\n"
+                + "{not json}\n";
+
+        webTestClient.post().uri("/api/v1/loan/calculate/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(lines -> {
+                    String[] results = lines.trim().split("\n");
+                    assertEquals(2, results.length);
+                    assertTrue(results[0].contains("\"installmentMonthlyAverage\":2441224.5"));
+                    assertTrue(results[1].contains("Malformed request at line 3"));
+                });
+    }
+
+    @Test
+    void schedule_PageAndCsvExport() {
+        webTestClient.post().uri("/api/v1/loan/calculate/schedule?page=1&size=12")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(2024, 100_000_000.0, 3, 25_000_000.0, IsExisting.N))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.totalMonths").isEqualTo(36)
+                .jsonPath("$.data.totalPages").isEqualTo(3)
+                .jsonPath("$.data.months.length()").isEqualTo(12)
+                .jsonPath("$.data.months[0].month").isEqualTo(13)
+                .jsonPath("$.data.months[0].installment").isEqualTo(2432250.0)
+                .jsonPath("$.data.months[0].interest").isEqualTo(364500.0)
+                .jsonPath("$.data.months[0].outstandingBalance").isEqualTo(51932250.0);
+
+        webTestClient.post().uri("/api/v1/loan/calculate/schedule")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.parseMediaType("text/csv"))
+                .bodyValue(request(2024, 100_000_000.0, 3, 25_000_000.0, IsExisting.N))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Content-Disposition", "attachment; filename=\"schedule.csv\"")
+                .expectBody(String.class)
+                .value(csv -> {
+                    String[] lines = csv.split("\n");
+                    assertEquals(37, lines.length);
+                    assertEquals("month,year,installment,principal,interest,outstandingBalance", lines[0]);
+                    assertEquals("1,1,2250000.00,1750000.00,500000.00,73250000.00", lines[1]);
+                });
+    }
+
+    @Test
+    void rates_HasETag() {
+        webTestClient.get().uri("/api/v1/loan/rates")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("ETag")
+                .expectBody()
+                .jsonPath("$.data[0].vehicleType").isEqualTo("Mobil");
+    }
+
+    private static SweepRequest sweepRequest(BigDecimal minDownPaymentPercentage, BigDecimal maxDownPaymentPercentage) {
+        return SweepRequest.builder()
+                .vehicleTypes(List.of("Mobil"))
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(100_000_000.0)
+                .minLoanTenure(3)
+                .maxLoanTenure(4)
+                .minDownPaymentPercentage(minDownPaymentPercentage)
+                .maxDownPaymentPercentage(maxDownPaymentPercentage)
+                .downPaymentPercentageStep(new BigDecimal("5"))
+                .build();
+    }
+
+    private static AffordabilityRequest affordabilityRequest(SolveFor solveFor, double targetInstallment,
+                                                             String vehicleCondition, int vehicleYear) {
+        return AffordabilityRequest.builder()
+                .solveFor(solveFor)
+                .targetInstallment(targetInstallment)
+                .vehicleType("Mobil")
+                .vehicleCondition(vehicleCondition)
+                .vehicleYear(vehicleYear)
+                .loanTenure(3)
+                .build();
+    }
+
+    private static CalculateRequest request(int vehicleYear, double totalLoanAmount, int loanTenure,
+                                            double downPayment, IsExisting isExisting) {
+        return CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Bekas")
+                .vehicleYear(vehicleYear)
+                .totalLoanAmount(totalLoanAmount)
+                .loanTenure(loanTenure)
+                .downPayment(downPayment)
+                .isExisting(isExisting)
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.java.credit_simulator.external;
+
+import com.java.credit_simulator.external.impl.CachedThirdPartyServiceImplements;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.util.IsExisting;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachedThirdPartyServiceImplementsTest {
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private volatile CountDownLatch upstreamGate = new CountDownLatch(0);
+
+    private final ThirdPartyService upstream = () -> {
+        int call = upstreamCalls.incrementAndGet();
+        try {
+            upstreamGate.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Baru")
+                .vehicleYear(2025)
+                .totalLoanAmount(100000000.0)
+                .loanTenure(call)
+                .downPayment(35000000.0)
+                .isExisting(IsExisting.Y)
+                .build();
+    };
+
+    @Test
+    void loadExistingData_ConcurrentFirstLoad_SingleUpstreamCall() throws Exception {
+        CachedThirdPartyServiceImplements thirdPartyService = new CachedThirdPartyServiceImplements(
+                upstream, true, Duration.ofMinutes(1), Duration.ofMinutes(10));
+        upstreamGate = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<CalculateRequest>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(thirdPartyService::loadExistingData));
+            }
+            Thread.sleep(100);
+            upstreamGate.countDown();
+
+            for (Future<CalculateRequest> future : futures) {
+                assertEquals(1, future.get(5, TimeUnit.SECONDS).getLoanTenure());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void loadExistingData_AfterTtl_ServesStaleAndRefreshesOnce() throws Exception {
+        CachedThirdPartyServiceImplements thirdPartyService = new CachedThirdPartyServiceImplements(
+                upstream, true, Duration.ofMillis(50), Duration.ofMinutes(10));
+        assertEquals(1, thirdPartyService.loadExistingData().getLoanTenure());
+
+        Thread.sleep(100);
+        upstreamGate = new CountDownLatch(1);
+
+        // The refresh is blocked upstream, callers still get the stale data without waiting
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, thirdPartyService.loadExistingData().getLoanTenure());
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+
+        upstreamGate.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thirdPartyService.loadExistingData().getLoanTenure() != 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(2, thirdPartyService.loadExistingData().getLoanTenure());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void loadExistingData_CallerChangesResult_CachedDataUnchanged() {
+        CachedThirdPartyServiceImplements thirdPartyService = new CachedThirdPartyServiceImplements(
+                upstream, true, Duration.ofMinutes(1), Duration.ofMinutes(10));
+
+        CalculateRequest first = thirdPartyService.loadExistingData();
+        first.setLoanTenure(6);
+        first.setIsExisting(IsExisting.N);
+
+        CalculateRequest second = thirdPartyService.loadExistingData();
+        assertEquals(1, second.getLoanTenure());
+        assertEquals(IsExisting.Y, second.getIsExisting());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void loadExistingData_Disabled_CallsUpstreamEveryTime() {
+        CachedThirdPartyServiceImplements thirdPartyService = new CachedThirdPartyServiceImplements(
+                upstream, false, Duration.ofMinutes(1), Duration.ofMinutes(10));
+
+        thirdPartyService.loadExistingData();
+        thirdPartyService.loadExistingData();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+}
@@ -0,0 +1,150 @@
+package com.java.credit_simulator.external;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.external.impl.ResilientThirdPartyServiceImplements;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.service.impl.CalculateMetricsServiceImplement;
+import com.java.credit_simulator.util.IsExisting;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResilientThirdPartyServiceImplementsTest {
+    @TempDir
+    private Path tempDir;
+
+    private Path snapshotFile;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private volatile boolean upstreamDown;
+
+    private volatile CountDownLatch upstreamGate = new CountDownLatch(0);
+
+    private CircuitBreaker circuitBreaker;
+
+    private final CalculateRequest existingData = CalculateRequest.builder()
+            .vehicleType("Motor")
+            .vehicleCondition("Bekas")
+            .vehicleYear(2023)
+            .totalLoanAmount(50000000.0)
+            .loanTenure(2)
+            .downPayment(15000000.0)
+            .isExisting(IsExisting.Y)
+            .build();
+
+    private final ThirdPartyService upstream = () -> {
+        upstreamCalls.incrementAndGet();
+        try {
+            upstreamGate.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (upstreamDown) {
+            throw new RuntimeException("Failed to load data from API");
+        }
+        return existingData.toBuilder().build();
+    };
+
+    @BeforeEach
+    void setUp() {
+        snapshotFile = tempDir.resolve("snapshot").resolve("third-party-snapshot.json");
+    }
+
+    private ResilientThirdPartyServiceImplements service(int maxConcurrentCalls) {
+        circuitBreaker = CircuitBreaker.of("thirdParty", CircuitBreakerConfig.custom()
+                .failureRateThreshold(50)
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        Bulkhead bulkhead = Bulkhead.of("thirdParty", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        return new ResilientThirdPartyServiceImplements(upstream, circuitBreaker, bulkhead, objectMapper,
+                new CalculateMetricsServiceImplement(new SimpleMeterRegistry()), snapshotFile);
+    }
+
+    @Test
+    void loadExistingData_Success_WritesSnapshot() throws Exception {
+        CalculateRequest request = service(10).loadExistingData();
+
+        assertEquals(existingData, request);
+        assertTrue(Files.exists(snapshotFile));
+        assertEquals(existingData, objectMapper.readValue(snapshotFile.toFile(), CalculateRequest.class));
+    }
+
+    @Test
+    void loadExistingData_UpstreamDownAfterRestart_ReturnsSnapshot() {
+        service(10).loadExistingData();
+        upstreamDown = true;
+
+        CalculateRequest request = service(10).loadExistingData();
+
+        assertEquals(existingData, request);
+    }
+
+    @Test
+    void loadExistingData_CircuitOpen_FallsBackWithoutCallingUpstream() {
+        ResilientThirdPartyServiceImplements thirdPartyService = service(10);
+        thirdPartyService.loadExistingData();
+        upstreamDown = true;
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(existingData, thirdPartyService.loadExistingData());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        int callsBefore = upstreamCalls.get();
+        assertEquals(existingData, thirdPartyService.loadExistingData());
+        assertEquals(callsBefore, upstreamCalls.get());
+    }
+
+    @Test
+    void loadExistingData_NoSnapshot_ThrowsUnavailable() {
+        upstreamDown = true;
+
+        ThirdPartyUnavailableException exception = assertThrows(ThirdPartyUnavailableException.class,
+                () -> service(10).loadExistingData());
+
+        assertEquals("Failed to load data from API", exception.getMessage());
+    }
+
+    @Test
+    void loadExistingData_BulkheadFull_FallsBackImmediately() throws Exception {
+        ResilientThirdPartyServiceImplements thirdPartyService = service(1);
+        thirdPartyService.loadExistingData();
+
+        upstreamGate = new CountDownLatch(1);
+        CompletableFuture<CalculateRequest> blocked = CompletableFuture.supplyAsync(thirdPartyService::loadExistingData);
+        while (upstreamCalls.get() < 2) {
+            Thread.sleep(5);
+        }
+
+        long start = System.nanoTime();
+        assertEquals(existingData, thirdPartyService.loadExistingData());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+        assertEquals(2, upstreamCalls.get());
+
+        upstreamGate.countDown();
+        assertEquals(existingData, blocked.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,140 @@
+package com.java.credit_simulator.external;
+
+import com.java.credit_simulator.config.RestTemplateConfig;
+import com.java.credit_simulator.external.impl.ThirdPartyServiceImplements;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.service.impl.CalculateMetricsServiceImplement;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the real pooled client against a local stub of the third party.
+ */
+public class ThirdPartyServiceImplementsTest {
+    private static final String EXISTING_DATA = "{\"vehicleType\":\"Mobil\",\"vehicleCondition\":\"Baru\","
+            + "\"vehicleYear\":2025,\"totalLoanAmount\":100000000,\"loanTenure\":3,\"downPayment\":35000000,"
+            + "\"isExisting\":\"Y\"}";
+
+    private static final int MAX_PER_ROUTE = 8;
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    private volatile long responseDelayMillis = 20;
+
+    private CloseableHttpClient httpClient;
+
+    private ThirdPartyServiceImplements thirdPartyService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/existing", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            try {
+                Thread.sleep(responseDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = EXISTING_DATA.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(64);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        RestTemplateConfig restTemplateConfig = new RestTemplateConfig(50, MAX_PER_ROUTE, Duration.ofSeconds(1),
+                Duration.ofMillis(500), Duration.ofSeconds(5), Duration.ofSeconds(30));
+        httpClient = restTemplateConfig.thirdPartyHttpClient();
+        thirdPartyService = new ThirdPartyServiceImplements(restTemplateConfig.restTemplate(httpClient),
+                new CalculateMetricsServiceImplement(new SimpleMeterRegistry()));
+        thirdPartyService.API_URL = "http://127.0.0.1:" + server.getAddress().getPort() + "/existing";
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void loadExistingData_Concurrent_ReusesPooledConnections() throws Exception {
+        int callers = 32;
+        int callsPerCaller = 10;
+        ExecutorService callerExecutor = Executors.newFixedThreadPool(callers);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int caller = 0; caller < callers; caller++) {
+                futures.add(callerExecutor.submit(() -> {
+                    for (int call = 0; call < callsPerCaller; call++) {
+                        long start = System.nanoTime();
+                        CalculateRequest request = thirdPartyService.loadExistingData();
+                        latencies.add(System.nanoTime() - start);
+                        assertEquals("Mobil", request.getVehicleType());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            callerExecutor.shutdownNow();
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p50 = TimeUnit.NANOSECONDS.toMillis(sorted.get(sorted.size() / 2));
+        long p99 = TimeUnit.NANOSECONDS.toMillis(sorted.get((int) (sorted.size() * 0.99) - 1));
+
+        assertEquals(callers * callsPerCaller, sorted.size());
+        // Callers beyond the per-route limit wait for a pooled connection instead of opening new ones
+        assertTrue(clientPorts.size() <= MAX_PER_ROUTE, "connections opened: " + clientPorts.size());
+        // Every call waits for the upstream delay, and queueing for a connection stays bounded
+        assertTrue(p50 >= responseDelayMillis, "p50 latency " + p50 + "ms");
+        assertTrue(p99 < 2_000, "p99 latency " + p99 + "ms, p50 " + p50 + "ms");
+    }
+
+    @Test
+    void loadExistingData_SlowUpstream_FailsAfterResponseTimeout() {
+        responseDelayMillis = 3_000;
+
+        long start = System.nanoTime();
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> thirdPartyService.loadExistingData());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("Failed to load data from API", exception.getMessage());
+        assertTrue(elapsedMillis < 2_000, "gave up after " + elapsedMillis + "ms");
+    }
+}
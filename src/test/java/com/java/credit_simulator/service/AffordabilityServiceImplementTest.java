@@ -0,0 +1,137 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.AffordabilityRequest;
+import com.java.credit_simulator.model.AffordabilityResponse;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.service.impl.AffordabilityServiceImplement;
+import com.java.credit_simulator.service.impl.CalculateLoanServiceImplement;
+import com.java.credit_simulator.util.InstallmentTarget;
+import com.java.credit_simulator.util.IsExisting;
+import com.java.credit_simulator.util.SolveFor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AffordabilityServiceImplementTest {
+    private final CalculateLoanServiceImplement calculateLoanService = new CalculateLoanServiceImplement();
+
+    private AffordabilityServiceImplement affordabilityService;
+
+    @BeforeEach
+    void setUp() {
+        CreditSimulatorServiceFixture fixture = new CreditSimulatorServiceFixture();
+        affordabilityService = new AffordabilityServiceImplement(fixture.creditSimulatorService(), calculateLoanService);
+        ReflectionTestUtils.setField(affordabilityService, "maxCalculations", 100);
+    }
+
+    @Test
+    void solve_LoanAmountWithMinimumDownPayment() {
+        AffordabilityResponse response = affordabilityService.solve(request(SolveFor.LOAN_AMOUNT, 3_000_000.0)
+                .vehicleCondition("Bekas")
+                .build());
+
+        BigDecimal target = BigDecimal.valueOf(3_000_000.0);
+        BigDecimal totalLoanAmount = response.getTotalLoanAmount();
+        assertFalse(response.isLimitedByRule());
+        assertEquals(totalLoanAmount.multiply(new BigDecimal("0.25")).setScale(2, RoundingMode.CEILING),
+                response.getDownPayment());
+        assertTrue(highestMonthly(calculate(totalLoanAmount, response.getDownPayment())).compareTo(target) <= 0);
+        assertEquals(response.getInstallment(), highestMonthly(response.getCalculation()));
+
+        // One cent more, with its own minimum down payment, no longer fits
+        BigDecimal nextAmount = totalLoanAmount.add(new BigDecimal("0.01"));
+        BigDecimal nextDownPayment = nextAmount.multiply(new BigDecimal("0.25")).setScale(2, RoundingMode.CEILING);
+        assertTrue(highestMonthly(calculate(nextAmount, nextDownPayment)).compareTo(target) > 0);
+        assertTrue(response.getCalculations() <= 20, "calculations: " + response.getCalculations());
+    }
+
+    @Test
+    void solve_MinimumDownPaymentForAverage() {
+        AffordabilityResponse response = affordabilityService.solve(request(SolveFor.DOWN_PAYMENT, 4_000_000.0)
+                .installmentTarget(InstallmentTarget.AVERAGE)
+                .totalLoanAmount(200_000_000.0)
+                .build());
+
+        BigDecimal target = BigDecimal.valueOf(4_000_000.0);
+        BigDecimal downPayment = response.getDownPayment();
+        assertFalse(response.isLimitedByRule());
+        assertEquals(new BigDecimal("200000000.00"), response.getTotalLoanAmount());
+        assertTrue(downPayment.compareTo(new BigDecimal("70000000")) > 0);
+        assertTrue(calculate(response.getTotalLoanAmount(), downPayment)
+                .getInstallmentMonthlyAverage().compareTo(target) <= 0);
+        assertTrue(calculate(response.getTotalLoanAmount(), downPayment.subtract(new BigDecimal("0.01")))
+                .getInstallmentMonthlyAverage().compareTo(target) > 0);
+        assertTrue(response.getCalculations() <= 20, "calculations: " + response.getCalculations());
+    }
+
+    @Test
+    void solve_StopsAtBusinessRules() {
+        AffordabilityResponse loanAmount = affordabilityService.solve(request(SolveFor.LOAN_AMOUNT, 500_000_000.0)
+                .build());
+        assertTrue(loanAmount.isLimitedByRule());
+        assertEquals(new BigDecimal("1000000000.00"), loanAmount.getTotalLoanAmount());
+        assertEquals(new BigDecimal("350000000.00"), loanAmount.getDownPayment());
+
+        AffordabilityResponse withDownPayment = affordabilityService.solve(request(SolveFor.LOAN_AMOUNT, 500_000_000.0)
+                .downPayment(35_000_000.0)
+                .build());
+        assertTrue(withDownPayment.isLimitedByRule());
+        assertEquals(new BigDecimal("100000000.00"), withDownPayment.getTotalLoanAmount());
+
+        AffordabilityResponse downPayment = affordabilityService.solve(request(SolveFor.DOWN_PAYMENT, 500_000_000.0)
+                .totalLoanAmount(100_000_000.0)
+                .build());
+        assertTrue(downPayment.isLimitedByRule());
+        assertEquals(new BigDecimal("35000000.00"), downPayment.getDownPayment());
+        assertEquals(1, downPayment.getCalculations());
+    }
+
+    @Test
+    void solve_RejectsInvalidRequest() {
+        IllegalArgumentException err = assertThrows(IllegalArgumentException.class,
+                () -> affordabilityService.solve(request(SolveFor.DOWN_PAYMENT, 3_000_000.0).build()));
+        assertEquals("Missing 'totalLoanAmount' in request", err.getMessage());
+
+        err = assertThrows(IllegalArgumentException.class,
+                () -> affordabilityService.solve(request(SolveFor.DOWN_PAYMENT, 3_000_000.0)
+                        .totalLoanAmount(2_000_000_000.0)
+                        .build()));
+        assertEquals("Total loan amount must be > 0 and < 1 Billion", err.getMessage());
+    }
+
+    private AffordabilityRequest.AffordabilityRequestBuilder request(SolveFor solveFor, double targetInstallment) {
+        return AffordabilityRequest.builder()
+                .solveFor(solveFor)
+                .targetInstallment(targetInstallment)
+                .vehicleType("Mobil")
+                .vehicleCondition("Baru")
+                .vehicleYear(2025)
+                .loanTenure(3);
+    }
+
+    private CalculateResponse calculate(BigDecimal totalLoanAmount, BigDecimal downPayment) {
+        return calculateLoanService.calculate(CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Baru")
+                .vehicleYear(2025)
+                .totalLoanAmount(totalLoanAmount.doubleValue())
+                .loanTenure(3)
+                .downPayment(downPayment.doubleValue())
+                .isExisting(IsExisting.N)
+                .build());
+    }
+
+    private BigDecimal highestMonthly(CalculateResponse response) {
+        BigDecimal highest = BigDecimal.ZERO;
+        for (CalculateResponse.YearlyInformation yearlyInformation : response.getYearlyInformations()) {
+            highest = highest.max(yearlyInformation.getInstallmentMonthly());
+        }
+        return highest;
+    }
+}
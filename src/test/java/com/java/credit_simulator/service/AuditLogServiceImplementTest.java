@@ -0,0 +1,131 @@
+package com.java.credit_simulator.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.service.impl.AuditLogServiceImplement;
+import com.java.credit_simulator.util.IsExisting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditLogServiceImplementTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Logger auditLogger = (Logger) LoggerFactory.getLogger("credit_simulator.audit");
+
+    private ListAppender<ILoggingEvent> appender;
+
+    private final CalculateRequest request = CalculateRequest.builder()
+            .vehicleType("Mobil")
+            .vehicleCondition("Baru")
+            .vehicleYear(2025)
+            .totalLoanAmount(100000000.0)
+            .loanTenure(3)
+            .downPayment(35000000.0)
+            .isExisting(IsExisting.N)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        appender = new ListAppender<>();
+        appender.start();
+        auditLogger.addAppender(appender);
+        auditLogger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLogger.detachAppender(appender);
+        auditLogger.setLevel(null);
+    }
+
+    @Test
+    void record_Sampled_WritesJsonLine() throws Exception {
+        AuditLogServiceImplement auditLogService =
+                new AuditLogServiceImplement(true, 1.0, 16, objectMapper, new SimpleMeterRegistry());
+        CalculateResponse response = CalculateResponse.builder()
+                .yearlyInformations(new ArrayList<>())
+                .installmentMonthlyAverage(new BigDecimal("2441233.33"))
+                .build();
+
+        auditLogService.record(request, response, null, 12_000);
+
+        assertTrue(appender.list.isEmpty());
+        assertEquals(1, auditLogService.drain());
+        assertEquals(1, appender.list.size());
+
+        JsonNode line = objectMapper.readTree(appender.list.get(0).getFormattedMessage());
+        assertEquals("Mobil", line.get("request").get("vehicleType").asText());
+        assertEquals("2441233.33", line.get("response").get("installmentMonthlyAverage").asText());
+        assertEquals(12, line.get("elapsedMicros").asLong());
+        assertFalse(line.has("error"));
+    }
+
+    @Test
+    void record_NotSampled_WritesNothing() {
+        AuditLogServiceImplement auditLogService =
+                new AuditLogServiceImplement(true, 0.0, 16, objectMapper, new SimpleMeterRegistry());
+
+        auditLogService.record(request, null, "Loan tenure must be between 1 and 6 years", 1_000);
+
+        assertEquals(0, auditLogService.drain());
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void record_BufferFull_DropsAndCounts() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditLogServiceImplement auditLogService =
+                new AuditLogServiceImplement(true, 1.0, 2, objectMapper, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            auditLogService.record(request, null, "error " + i, 1_000);
+        }
+
+        assertEquals(2, auditLogService.drain());
+        assertEquals(3, auditLogService.getDroppedCount());
+        assertEquals(3.0, meterRegistry.get("credit_simulator.audit.dropped").functionCounter().count());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("\"error\":\"error 0\""));
+        assertTrue(appender.list.get(1).getFormattedMessage().contains("\"error\":\"error 1\""));
+    }
+
+    @Test
+    void record_IdleWriter_WokenUpByRecord() throws Exception {
+        AuditLogServiceImplement auditLogService =
+                new AuditLogServiceImplement(true, 1.0, 16, objectMapper, new SimpleMeterRegistry());
+        auditLogService.start();
+        try {
+            for (int i = 1; i <= 3; i++) {
+                auditLogService.record(request, null, "error " + i, 1_000);
+                awaitWritten(i);
+                // Long enough for the writer to find the buffer empty and park
+                Thread.sleep(50);
+            }
+        } finally {
+            auditLogService.stop();
+        }
+        assertEquals(0, auditLogService.drain());
+    }
+
+    private void awaitWritten(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (appender.list.size() < count) {
+            assertTrue(System.nanoTime() < deadline, "Audit event " + count + " was not written");
+            Thread.sleep(1);
+        }
+    }
+}
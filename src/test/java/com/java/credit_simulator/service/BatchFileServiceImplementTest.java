@@ -0,0 +1,118 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.BatchFileSummary;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.service.impl.BatchFileServiceImplement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class BatchFileServiceImplementTest {
+    private static final String VALID_RECORD = "Mobil,Bekas,2024,100000000,3,25000000";
+
+    private static final String LOW_DOWN_PAYMENT_RECORD = "Mobil,Bekas,2024,100000000,3,20000000,N";
+
+    @TempDir
+    Path directory;
+
+    private ExecutorService calculationExecutor;
+
+    private CreditSimulatorService creditSimulatorService;
+
+    @BeforeEach
+    void setUp() {
+        CreditSimulatorService calculator = new CreditSimulatorServiceFixture().creditSimulatorService();
+
+        // Counts calls while keeping the real results
+        creditSimulatorService = mock(CreditSimulatorService.class);
+        when(creditSimulatorService.calculate(any(CalculateRequest.class)))
+                .thenAnswer(invocation -> calculator.calculate(invocation.getArgument(0)));
+
+        calculationExecutor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        calculationExecutor.shutdownNow();
+    }
+
+    @Test
+    void calculate_KeepsInputOrderAndWritesErrorLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("vehicleType,vehicleCondition,vehicleYear,totalLoanAmount,loanTenure,downPayment,isExisting");
+        for (int i = 0; i < 40; i++) {
+            lines.add(i % 10 == 3 ? LOW_DOWN_PAYMENT_RECORD : VALID_RECORD);
+        }
+        lines.add("");
+        lines.add("Mobil,Bekas,twenty,100000000,3,25000000");
+        Path input = write("loans.csv", lines);
+        Path output = directory.resolve("loans.result.csv");
+
+        BatchFileSummary summary = service(4, 7).calculate(input, output);
+
+        assertEquals(41, summary.getRecords());
+        assertEquals(5, summary.getFailed());
+        assertEquals(0, summary.getResumedAfterLine());
+        assertFalse(Files.exists(directory.resolve("loans.result.csv.checkpoint")));
+
+        List<String> results = Files.readAllLines(output);
+        assertEquals("line,status,installmentMonthlyAverage,installmentMonthly,error", results.get(0));
+        assertEquals(42, results.size());
+        for (int i = 1; i <= 40; i++) {
+            assertTrue(results.get(i).startsWith((i + 1) + ","), results.get(i));
+        }
+        assertEquals("2,OK,2441224.50,2250000.00|2432250.00|2641423.50,", results.get(1));
+        assertEquals("5,ERROR,,,\"Down payment must be at least 25% of loan amount (Rp 25000000.00)\"", results.get(4));
+        assertTrue(results.get(41).startsWith("43,ERROR,,,\"Malformed record"), results.get(41));
+    }
+
+    @Test
+    void calculate_ResumesAfterCheckpoint() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            lines.add(i % 7 == 0 ? LOW_DOWN_PAYMENT_RECORD : VALID_RECORD);
+        }
+        Path input = write("loans.csv", lines);
+        Path output = directory.resolve("loans.result.csv");
+        service(4, 1000).calculate(input, output);
+        byte[] expected = Files.readAllBytes(output);
+        clearInvocations(creditSimulatorService);
+
+        // Crash after line 12 was checkpointed, with part of a later record already written
+        List<String> written = Files.readAllLines(output);
+        String completed = String.join("\n", written.subList(0, 13)) + "\n";
+        long completedSize = completed.getBytes(StandardCharsets.UTF_8).length;
+        Files.writeString(output, completed + "14,OK,24412");
+        Files.writeString(directory.resolve("loans.result.csv.checkpoint"), "12 " + completedSize);
+
+        BatchFileSummary summary = service(4, 1000).calculate(input, output);
+
+        assertEquals(12, summary.getResumedAfterLine());
+        assertEquals(18, summary.getRecords());
+        verify(creditSimulatorService, times(18)).calculate(any(CalculateRequest.class));
+        assertArrayEquals(expected, Files.readAllBytes(output));
+        assertFalse(Files.exists(directory.resolve("loans.result.csv.checkpoint")));
+    }
+
+    private BatchFileService service(int window, int checkpointInterval) {
+        return new BatchFileServiceImplement(creditSimulatorService, calculationExecutor, window, checkpointInterval, 10);
+    }
+
+    private Path write(String name, List<String> lines) throws IOException {
+        return Files.write(directory.resolve(name), lines);
+    }
+}
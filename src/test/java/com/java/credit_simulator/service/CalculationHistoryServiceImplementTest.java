@@ -0,0 +1,248 @@
+package com.java.credit_simulator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.CalculationRecord;
+import com.java.credit_simulator.service.impl.CalculationHistoryServiceImplement;
+import com.java.credit_simulator.util.IsExisting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalculationHistoryServiceImplementTest {
+    private static final long SEGMENT_SIZE = 1 << 16;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    private CalculationHistoryServiceImplement calculationHistoryService;
+
+    @AfterEach
+    void tearDown() {
+        calculationHistoryService.close();
+    }
+
+    @Test
+    void save_ThenGetById() throws IOException {
+        calculationHistoryService = open(16, Duration.ofDays(7), Clock.systemUTC());
+        for (int i = 1; i <= 100; i++) {
+            assertEquals(i, calculationHistoryService.save(request(i), response(i)));
+        }
+
+        CalculationRecord record = calculationHistoryService.get(42).orElseThrow();
+        assertEquals(42, record.getId());
+        assertEquals(42_000_000.0, record.getRequest().getTotalLoanAmount());
+        assertEquals(new BigDecimal("42.00"), record.getResponse().getInstallmentMonthlyAverage());
+        assertNotNull(record.getCalculatedAt());
+        assertTrue(calculationHistoryService.get(0).isEmpty());
+        assertTrue(calculationHistoryService.get(101).isEmpty());
+    }
+
+    @Test
+    void open_OnFirstUse() throws IOException {
+        Path historyDirectory = directory.resolve("history");
+        calculationHistoryService = new CalculationHistoryServiceImplement(true, historyDirectory, SEGMENT_SIZE, 16,
+                Duration.ofDays(7), objectMapper, Clock.systemUTC());
+        assertFalse(Files.exists(historyDirectory));
+
+        assertEquals(1, calculationHistoryService.save(request(1), response(1)));
+        assertTrue(Files.exists(historyDirectory.resolve("history-1.seg")));
+        calculationHistoryService.close();
+
+        calculationHistoryService = new CalculationHistoryServiceImplement(true, historyDirectory, SEGMENT_SIZE, 16,
+                Duration.ofDays(7), objectMapper, Clock.systemUTC());
+        assertEquals(1_000_000.0, calculationHistoryService.get(1).orElseThrow().getRequest().getTotalLoanAmount());
+    }
+
+    @Test
+    void open_KeepsHistoryOfPreviousRun() throws IOException {
+        calculationHistoryService = open(16, Duration.ofDays(7), Clock.systemUTC());
+        calculationHistoryService.save(request(1), response(1));
+        calculationHistoryService.save(request(2), response(2));
+        calculationHistoryService.close();
+
+        calculationHistoryService = open(16, Duration.ofDays(7), Clock.systemUTC());
+        assertEquals(2_000_000.0, calculationHistoryService.get(2).orElseThrow().getRequest().getTotalLoanAmount());
+        assertEquals(3, calculationHistoryService.save(request(3), response(3)));
+    }
+
+    @Test
+    void save_RollsSegmentsAndDropsOldest() throws IOException {
+        calculationHistoryService = open(3, Duration.ofDays(7), Clock.systemUTC());
+        for (int i = 1; i <= 500; i++) {
+            calculationHistoryService.save(request(i), response(i));
+        }
+
+        List<Path> segments = segments();
+        assertEquals(3, segments.size());
+        long oldestKept = firstId(segments.get(0));
+        assertTrue(oldestKept > 1);
+        assertTrue(calculationHistoryService.get(oldestKept - 1).isEmpty());
+        assertEquals(oldestKept, calculationHistoryService.get(oldestKept).orElseThrow().getId());
+        assertEquals(500, calculationHistoryService.get(500).orElseThrow().getId());
+    }
+
+    @Test
+    void save_Concurrent_IdMatchesRecord() throws Exception {
+        calculationHistoryService = open(16, Duration.ofDays(7), Clock.systemUTC());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Long>> ids = new ArrayList<>();
+            for (int i = 1; i <= 400; i++) {
+                int amount = i;
+                ids.add(executor.submit(() -> calculationHistoryService.save(request(amount), response(amount))));
+            }
+            for (int i = 1; i <= 400; i++) {
+                CalculationRecord record = calculationHistoryService.get(ids.get(i - 1).get()).orElseThrow();
+                assertEquals(i * 1_000_000.0, record.getRequest().getTotalLoanAmount());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(401, calculationHistoryService.save(request(401), response(401)));
+    }
+
+    @Test
+    void open_DropsSegmentsPastRetention() throws IOException {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        calculationHistoryService = open(16, Duration.ofDays(1), clock);
+        for (int i = 1; i <= 500; i++) {
+            calculationHistoryService.save(request(i), response(i));
+        }
+        int segmentsBefore = segments().size();
+        assertTrue(segmentsBefore > 1);
+        calculationHistoryService.close();
+
+        clock.instant = clock.instant.plus(Duration.ofDays(2));
+        calculationHistoryService = open(16, Duration.ofDays(1), clock);
+
+        // Only the active segment is kept
+        assertEquals(1, segments().size());
+        assertTrue(calculationHistoryService.get(1).isEmpty());
+        assertEquals(500, calculationHistoryService.get(500).orElseThrow().getId());
+    }
+
+    @Test
+    void open_IgnoresRecordCutShort() throws IOException {
+        calculationHistoryService = open(16, Duration.ofDays(7), Clock.systemUTC());
+        calculationHistoryService.save(request(1), response(1));
+        calculationHistoryService.save(request(2), response(2));
+        calculationHistoryService.close();
+
+        // Crash while writing record 3: length written, data and checksum not
+        Path segment = segments().get(0);
+        long end = recordEnd(segment, 2);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(end);
+            file.writeInt(500);
+        }
+
+        calculationHistoryService = open(16, Duration.ofDays(7), Clock.systemUTC());
+        assertTrue(calculationHistoryService.get(3).isEmpty());
+        assertEquals(3, calculationHistoryService.save(request(3), response(3)));
+        calculationHistoryService.close();
+
+        calculationHistoryService = open(16, Duration.ofDays(7), Clock.systemUTC());
+        assertEquals(3_000_000.0, calculationHistoryService.get(3).orElseThrow().getRequest().getTotalLoanAmount());
+    }
+
+    private CalculationHistoryServiceImplement open(int maxSegments, Duration retention, Clock clock) throws IOException {
+        CalculationHistoryServiceImplement service = new CalculationHistoryServiceImplement(true, directory,
+                SEGMENT_SIZE, maxSegments, retention, objectMapper, clock);
+        service.open();
+        return service;
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (var files = Files.list(directory)) {
+            files.forEach(segments::add);
+        }
+        segments.sort((a, b) -> Long.compare(firstId(a), firstId(b)));
+        return segments;
+    }
+
+    private static long firstId(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring("history-".length(), name.length() - ".seg".length()));
+    }
+
+    private static long recordEnd(Path segment, int records) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "r")) {
+            long position = 0;
+            for (int i = 0; i < records; i++) {
+                file.seek(position);
+                position += 2 * Integer.BYTES + file.readInt();
+            }
+            return position;
+        }
+    }
+
+    private static CalculateRequest request(int i) {
+        return CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(i * 1_000_000.0)
+                .loanTenure(1)
+                .downPayment(i * 250_000.0)
+                .isExisting(IsExisting.N)
+                .build();
+    }
+
+    private static CalculateResponse response(int i) {
+        List<CalculateResponse.YearlyInformation> years = new ArrayList<>();
+        for (int year = 1; year <= 6; year++) {
+            years.add(new CalculateResponse.YearlyInformation(year, 8.0, new BigDecimal("75000000.00"),
+                    new BigDecimal("81000000.00"), new BigDecimal("2250000.00"), new BigDecimal("27000000.00")));
+        }
+        return CalculateResponse.builder()
+                .yearlyInformations(years)
+                .installmentMonthlyAverage(new BigDecimal(i + ".00"))
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.java.credit_simulator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.service.impl.AuditLogServiceImplement;
+import com.java.credit_simulator.service.impl.CalculateLoanServiceImplement;
+import com.java.credit_simulator.service.impl.CalculateMetricsServiceImplement;
+import com.java.credit_simulator.service.impl.CalculationCacheServiceImplement;
+import com.java.credit_simulator.service.impl.CreditSimulatorServiceImplement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+
+/**
+ * {@link CreditSimulatorServiceImplement} with the real validation and calculation, for tests of the
+ * services built on top of it. The audit log is disabled and the third party must not be called.
+ */
+public final class CreditSimulatorServiceFixture {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CalculateLoanServiceImplement calculateLoanService = new CalculateLoanServiceImplement();
+
+    private final CalculationCacheServiceImplement calculationCacheService;
+
+    private final CalculateMetricsServiceImplement calculateMetricsService =
+            new CalculateMetricsServiceImplement(meterRegistry);
+
+    private final AuditLogServiceImplement auditLogService =
+            new AuditLogServiceImplement(false, 1.0, 16, new ObjectMapper(), meterRegistry);
+
+    private final CreditSimulatorServiceImplement creditSimulatorService;
+
+    public CreditSimulatorServiceFixture() {
+        this(false);
+    }
+
+    public CreditSimulatorServiceFixture(boolean cacheEnabled) {
+        calculationCacheService = new CalculationCacheServiceImplement(cacheEnabled, 100, Duration.ofMinutes(1));
+        creditSimulatorService = CreditSimulatorServiceImplement.builder()
+                .calculateLoanService(calculateLoanService)
+                .thirdPartyService(() -> {
+                    throw new IllegalStateException("Blocking third party must not be used");
+                })
+                .calculationCacheService(calculationCacheService)
+                .calculateMetricsService(calculateMetricsService)
+                .auditLogService(auditLogService)
+                .build();
+    }
+
+    public CreditSimulatorServiceImplement creditSimulatorService() {
+        return creditSimulatorService;
+    }
+
+    public CalculateLoanServiceImplement calculateLoanService() {
+        return calculateLoanService;
+    }
+
+    public CalculationCacheServiceImplement calculationCacheService() {
+        return calculationCacheService;
+    }
+
+    public CalculateMetricsServiceImplement calculateMetricsService() {
+        return calculateMetricsService;
+    }
+
+    public AuditLogServiceImplement auditLogService() {
+        return auditLogService;
+    }
+}
@@ -1,10 +1,18 @@
 package com.java.credit_simulator.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.java.credit_simulator.external.ThirdPartyService;
 import com.java.credit_simulator.model.CalculateRequest;
 import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.service.impl.AuditLogServiceImplement;
+import com.java.credit_simulator.service.impl.CalculateMetricsServiceImplement;
+import com.java.credit_simulator.service.impl.CalculationCacheServiceImplement;
 import com.java.credit_simulator.service.impl.CreditSimulatorServiceImplement;
 import com.java.credit_simulator.util.IsExisting;
+import com.java.credit_simulator.util.ProductCatalog;
+import com.java.credit_simulator.util.ValidationCode;
+import com.java.credit_simulator.util.ValidationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,7 +20,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -29,12 +39,160 @@ public class CreditSimulatorServiceImplementTest {
     @Mock
     private ThirdPartyService thirdPartyService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
         creditSimulatorService = CreditSimulatorServiceImplement.builder()
                 .calculateLoanService(calculateLoanService)
                 .thirdPartyService(thirdPartyService)
+                .calculationCacheService(new CalculationCacheServiceImplement(true, 100, Duration.ofMinutes(1)))
+                .calculateMetricsService(new CalculateMetricsServiceImplement(meterRegistry))
+                .auditLogService(new AuditLogServiceImplement(false, 1.0, 16, new ObjectMapper(), meterRegistry))
+                .build();
+    }
+
+    @Test
+    void calculate_Loan_New_SameRequest_CalculatedOnce() {
+        CalculateRequest request = CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(100000000.0)
+                .loanTenure(3)
+                .downPayment(25000000.0)
+                .isExisting(IsExisting.N)
+                .build();
+
+        CalculateRequest sameRequest = CalculateRequest.builder()
+                .vehicleType(" mobil")
+                .vehicleCondition("BEKAS")
+                .vehicleYear(2024)
+                .totalLoanAmount(100000000.0)
+                .loanTenure(3)
+                .downPayment(25000000.0)
+                .isExisting(IsExisting.N)
+                .build();
+
+        CalculateResponse expectedResponse = CalculateResponse.builder()
+                .yearlyInformations(new ArrayList<>())
+                .installmentMonthlyAverage(new BigDecimal(2441233.33))
+                .build();
+
+        when(calculateLoanService.calculate(any(CalculateRequest.class), any(ProductCatalog.class)))
+                .thenReturn(expectedResponse);
+
+        assertEquals(expectedResponse, creditSimulatorService.calculate(request));
+        assertEquals(expectedResponse, creditSimulatorService.calculate(sameRequest));
+        verify(calculateLoanService, times(1)).calculate(any(), same(ProductCatalog.current()));
+        assertEquals(2.0, meterRegistry.get("credit_simulator.calculations")
+                .tag("vehicle_type", "Mobil").tag("tenure", "3").counter().count());
+    }
+
+    @Test
+    void calculate_Loan_New_CachedResultNotShared() {
+        CalculateRequest request = CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(100000000.0)
+                .loanTenure(3)
+                .downPayment(25000000.0)
+                .isExisting(IsExisting.N)
+                .build();
+
+        List<CalculateResponse.YearlyInformation> yearlyInformations = new ArrayList<>();
+        yearlyInformations.add(new CalculateResponse.YearlyInformation(1, 8.0, new BigDecimal("75000000.00"),
+                new BigDecimal("81000000.00"), new BigDecimal("2250000.00"), new BigDecimal("27000000.00")));
+        when(calculateLoanService.calculate(any(CalculateRequest.class), any(ProductCatalog.class)))
+                .thenReturn(new CalculateResponse(yearlyInformations, new BigDecimal("2250000.00")));
+
+        CalculateResponse first = creditSimulatorService.calculate(request);
+        first.setInstallmentMonthlyAverage(BigDecimal.ZERO);
+        first.getYearlyInformations().get(0).setInstallmentMonthly(BigDecimal.ZERO);
+        first.getYearlyInformations().clear();
+
+        CalculateResponse second = creditSimulatorService.calculate(request);
+        assertNotSame(first, second);
+        assertEquals(new BigDecimal("2250000.00"), second.getInstallmentMonthlyAverage());
+        assertEquals(1, second.getYearlyInformations().size());
+        assertEquals(new BigDecimal("2250000.00"), second.getYearlyInformations().get(0).getInstallmentMonthly());
+        verify(calculateLoanService, times(1)).calculate(any(), any());
+    }
+
+    @Test
+    void calculate_Loan_Existing_NotCached() {
+        CalculateRequest request = CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(100000000.0)
+                .loanTenure(3)
+                .downPayment(25000000.0)
+                .isExisting(IsExisting.Y)
                 .build();
+
+        CalculateRequest mockThirdPartyResponse = CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Baru")
+                .vehicleYear(2025)
+                .totalLoanAmount(1000000000.00)
+                .loanTenure(6)
+                .downPayment(500000000.00)
+                .build();
+
+        when(thirdPartyService.loadExistingData()).thenReturn(mockThirdPartyResponse);
+        when(calculateLoanService.calculate(any(CalculateRequest.class), any(ProductCatalog.class)))
+                .thenReturn(CalculateResponse.builder().yearlyInformations(new ArrayList<>()).build());
+
+        creditSimulatorService.calculate(request);
+        creditSimulatorService.calculate(request);
+
+        verify(thirdPartyService, times(2)).loadExistingData();
+        verify(calculateLoanService, times(2)).calculate(any(), any());
+    }
+
+    @Test
+    void calculate_Loan_New_RecordsStageMetrics() {
+        CalculateRequest request = CalculateRequest.builder()
+                .vehicleType("Motor")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(100000000.0)
+                .loanTenure(4)
+                .downPayment(25000000.0)
+                .isExisting(IsExisting.N)
+                .build();
+
+        when(calculateLoanService.calculate(any(CalculateRequest.class), any(ProductCatalog.class)))
+                .thenReturn(CalculateResponse.builder().yearlyInformations(new ArrayList<>()).build());
+
+        creditSimulatorService.calculate(request);
+
+        assertEquals(1, meterRegistry.get("credit_simulator.stage").tag("stage", "validate").timer().count());
+        assertEquals(1, meterRegistry.get("credit_simulator.stage").tag("stage", "calculate").timer().count());
+        assertEquals(1.0, meterRegistry.get("credit_simulator.calculations")
+                .tag("vehicle_type", "Motor").tag("tenure", "4").counter().count());
+        assertNull(meterRegistry.find("credit_simulator.stage").tag("stage", "load_existing_data").timer());
+    }
+
+    @Test
+    void calculate_InvalidRequest_CountsValidationFailureReason() {
+        CalculateRequest request = CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(200000000.0)
+                .loanTenure(7)
+                .downPayment(50000000.0)
+                .isExisting(IsExisting.N)
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> creditSimulatorService.calculate(request));
+
+        assertEquals(1.0, meterRegistry.get("credit_simulator.validation.failures")
+                .tag("reason", "loan_tenure").counter().count());
     }
 
     @Test
@@ -54,7 +212,7 @@ public class CreditSimulatorServiceImplementTest {
                 .installmentMonthlyAverage(new BigDecimal(2441233.33))
                 .build();
 
-        when(calculateLoanService.calculate(any(CalculateRequest.class)))
+        when(calculateLoanService.calculate(any(CalculateRequest.class), any(ProductCatalog.class)))
                 .thenReturn(expectedResponse);
 
         CalculateResponse response = creditSimulatorService.calculate(request);
@@ -90,7 +248,7 @@ public class CreditSimulatorServiceImplementTest {
                 .installmentMonthlyAverage(new BigDecimal(9309584.29))
                 .build();
 
-        when(calculateLoanService.calculate(any(CalculateRequest.class)))
+        when(calculateLoanService.calculate(any(CalculateRequest.class), any(ProductCatalog.class)))
                 .thenReturn(expected);
 
         CalculateResponse actual = creditSimulatorService.calculate(request);
@@ -191,7 +349,7 @@ public class CreditSimulatorServiceImplementTest {
         );
 
         assertEquals("Missing 'loanTenure' in request", exception.getMessage());
-        verify(calculateLoanService, never()).calculate(any());
+        verify(calculateLoanService, never()).calculate(any(), any());
     }
 
     @Test
@@ -211,7 +369,7 @@ public class CreditSimulatorServiceImplementTest {
         );
 
         assertEquals("Missing 'downPayment' in request", exception.getMessage());
-        verify(calculateLoanService, never()).calculate(any());
+        verify(calculateLoanService, never()).calculate(any(), any());
     }
 
     @Test
@@ -232,7 +390,7 @@ public class CreditSimulatorServiceImplementTest {
         );
 
         assertEquals("Loan tenure must be between 1 and 6 years", exception.getMessage());
-        verify(calculateLoanService, never()).calculate(any());
+        verify(calculateLoanService, never()).calculate(any(), any());
     }
 
     @Test
@@ -315,4 +473,168 @@ public class CreditSimulatorServiceImplementTest {
 
         assertEquals("Total loan amount must be > 0 and < 1 Billion", exception.getMessage());
     }
+
+    @Test
+    void validate_CollectsEveryViolationWithoutThrowing() {
+        CalculateRequest request = CalculateRequest.builder()
+                .vehicleCondition("Baru")
+                .vehicleYear(2000)
+                .totalLoanAmount(500000.0)
+                .loanTenure(9)
+                .downPayment(-1.0)
+                .isExisting(IsExisting.N)
+                .build();
+        ValidationResult result = new ValidationResult();
+
+        assertFalse(creditSimulatorService.validate(request, ProductCatalog.current(), result));
+
+        List<ValidationCode> codes = new ArrayList<>();
+        for (int i = 0; i < result.size(); i++) {
+            codes.add(result.getCode(i));
+        }
+        assertEquals(List.of(ValidationCode.MISSING_VEHICLE_TYPE, ValidationCode.NEW_VEHICLE_YEAR_TOO_OLD,
+                ValidationCode.LOAN_TENURE_OUT_OF_RANGE, ValidationCode.DOWN_PAYMENT_BELOW_MINIMUM,
+                ValidationCode.DOWN_PAYMENT_NEGATIVE, ValidationCode.LOAN_AMOUNT_BELOW_MINIMUM), codes);
+        assertEquals("Missing 'vehicleType' in request", result.getMessage(0));
+        assertEquals("Minimum loan amount is 1,000,000", result.getMessage(5));
+        assertEquals(1.0, meterRegistry.get("credit_simulator.validation.failures")
+                .tag("reason", "mandatory").counter().count());
+
+        // The same result is reused for the next request
+        assertTrue(creditSimulatorService.validate(request.toBuilder()
+                .vehicleType("Mobil")
+                .vehicleYear(2025)
+                .totalLoanAmount(100000000.0)
+                .loanTenure(3)
+                .downPayment(35000000.0)
+                .build(), ProductCatalog.current(), result));
+        assertEquals(0, result.size());
+    }
+
+    @Test
+    void validate_ThrowsStacklessExceptionWithAllViolations() {
+        CalculateRequest request = CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(200000000.0)
+                .loanTenure(7)
+                .downPayment(10000000.0)
+                .isExisting(IsExisting.N)
+                .build();
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> creditSimulatorService.validate(request, ProductCatalog.current()));
+
+        assertEquals("Loan tenure must be between 1 and 6 years", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(2, exception.getResult().size());
+        assertEquals("DOWN_PAYMENT_BELOW_MINIMUM", exception.getResult().getViolations().get(1).getCode());
+        assertEquals("downPayment", exception.getResult().getViolations().get(1).getField());
+    }
+
+    @Test
+    void validate_UnknownVehicleType_ReportedAsViolation() {
+        CalculateRequest request = CalculateRequest.builder()
+                .vehicleType("Truk")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(100000000.0)
+                .loanTenure(3)
+                .downPayment(25000000.0)
+                .isExisting(IsExisting.N)
+                .build();
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> creditSimulatorService.calculate(request));
+
+        assertEquals("Invalid vehicle type: Truk", exception.getMessage());
+        assertEquals(1, exception.getResult().size());
+        assertEquals("INVALID_VEHICLE_TYPE", exception.getResult().getViolations().get(0).getCode());
+        assertEquals("vehicleType", exception.getResult().getViolations().get(0).getField());
+        assertEquals(1.0, meterRegistry.get("credit_simulator.validation.failures")
+                .tag("reason", "vehicle_type").counter().count());
+        verifyNoInteractions(calculateLoanService);
+    }
+
+    @Test
+    void validate_UnknownVehicleCondition_ReportedWithoutDownPayment() {
+        CalculateRequest request = CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Rusak")
+                .vehicleYear(2024)
+                .totalLoanAmount(100000000.0)
+                .loanTenure(3)
+                .isExisting(IsExisting.N)
+                .build();
+        ValidationResult result = new ValidationResult();
+
+        assertFalse(creditSimulatorService.validate(request, ProductCatalog.current(), result));
+
+        assertEquals(2, result.size());
+        assertEquals(ValidationCode.MISSING_DOWN_PAYMENT, result.getCode(0));
+        assertEquals(ValidationCode.INVALID_VEHICLE_CONDITION, result.getCode(1));
+        assertEquals("Invalid vehicle condition: Rusak", result.getMessage(1));
+    }
+
+    @Test
+    void validate_UnknownVehicleCondition_ReportedWithDownPaymentAboveLoanAmount() {
+        CalculateRequest request = CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Rusak")
+                .vehicleYear(2024)
+                .totalLoanAmount(100000000.0)
+                .loanTenure(3)
+                .downPayment(150000000.0)
+                .isExisting(IsExisting.N)
+                .build();
+        ValidationResult result = new ValidationResult();
+
+        assertFalse(creditSimulatorService.validate(request, ProductCatalog.current(), result));
+
+        assertEquals(2, result.size());
+        assertEquals(ValidationCode.INVALID_VEHICLE_CONDITION, result.getCode(0));
+        assertEquals(ValidationCode.DOWN_PAYMENT_ABOVE_LOAN_AMOUNT, result.getCode(1));
+        assertEquals(1.0, meterRegistry.get("credit_simulator.validation.failures")
+                .tag("reason", "vehicle_condition").counter().count());
+    }
+
+    @Test
+    void validate_UnknownVehicleCondition_SkipsVehicleYearRules() {
+        CalculateRequest request = CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Rusak")
+                .vehicleYear(9999)
+                .totalLoanAmount(100000000.0)
+                .loanTenure(3)
+                .downPayment(25000000.0)
+                .isExisting(IsExisting.N)
+                .build();
+        ValidationResult result = new ValidationResult();
+
+        assertFalse(creditSimulatorService.validate(request, ProductCatalog.current(), result));
+
+        assertEquals(1, result.size());
+        assertEquals(ValidationCode.INVALID_VEHICLE_CONDITION, result.getCode(0));
+    }
+
+    @Test
+    void validate_UnknownVehicleTypeAndCondition_BothReported() {
+        CalculateRequest request = CalculateRequest.builder()
+                .vehicleType("Truk")
+                .vehicleCondition("Rusak")
+                .vehicleYear(2024)
+                .totalLoanAmount(100000000.0)
+                .loanTenure(3)
+                .downPayment(25000000.0)
+                .isExisting(IsExisting.N)
+                .build();
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> creditSimulatorService.validate(request, ProductCatalog.current()));
+
+        assertEquals(2, exception.getResult().size());
+        assertEquals("INVALID_VEHICLE_TYPE", exception.getResult().getViolations().get(0).getCode());
+        assertEquals("INVALID_VEHICLE_CONDITION", exception.getResult().getViolations().get(1).getCode());
+    }
 }
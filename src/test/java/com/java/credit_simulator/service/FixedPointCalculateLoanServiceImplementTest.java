@@ -0,0 +1,83 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.service.impl.CalculateLoanServiceImplement;
+import com.java.credit_simulator.service.impl.FixedPointCalculateLoanServiceImplement;
+import com.java.credit_simulator.util.IsExisting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FixedPointCalculateLoanServiceImplementTest {
+    private CalculateLoanServiceImplement bigDecimalService;
+
+    private FixedPointCalculateLoanServiceImplement fixedPointService;
+
+    @BeforeEach
+    void setUp() {
+        bigDecimalService = CalculateLoanServiceImplement.builder().build();
+        fixedPointService = FixedPointCalculateLoanServiceImplement.builder().build();
+    }
+
+    @Test
+    void calculate_NewCarLoan_Success() {
+        CalculateRequest request = CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Baru")
+                .vehicleYear(2024)
+                .totalLoanAmount(100000000.0)
+                .loanTenure(3)
+                .downPayment(25000000.0)
+                .isExisting(IsExisting.N)
+                .build();
+
+        CalculateResponse actual = fixedPointService.calculate(request);
+
+        assertEquals(3, actual.getYearlyInformations().size());
+        assertEquals(new BigDecimal("2441224.50"), actual.getInstallmentMonthlyAverage());
+
+        CalculateResponse.YearlyInformation thirdYear = actual.getYearlyInformations().get(2);
+        assertEquals(3, thirdYear.getYear());
+        assertEquals(8.6, thirdYear.getInterestRate());
+        assertEquals(new BigDecimal("29187000.00"), thirdYear.getPrincipalAmount());
+        assertEquals(new BigDecimal("31697082.00"), thirdYear.getTotalLoanAmount());
+        assertEquals(new BigDecimal("2641423.50"), thirdYear.getInstallmentMonthly());
+        assertEquals(new BigDecimal("31697082.00"), thirdYear.getInstallmentYearly());
+    }
+
+    @Test
+    void calculate_SameResultAsBigDecimalEngine() {
+        Random random = new Random(20251017L);
+
+        for (int i = 0; i < 20_000; i++) {
+            double totalLoanAmount;
+            double downPayment;
+            if (i % 2 == 0) {
+                totalLoanAmount = 1_000_000 + random.nextInt(999_000_001);
+                downPayment = Math.ceil(totalLoanAmount * 0.25) + random.nextInt((int) (totalLoanAmount * 0.7));
+            } else {
+                // Amounts with cents, where the engine reads the principal through a double subtraction
+                totalLoanAmount = 100_000_000 + random.nextInt(900_000_000) + random.nextInt(100) / 100.0;
+                downPayment = Math.round(totalLoanAmount * (0.25 + random.nextDouble() * 0.6) * 100) / 100.0;
+            }
+
+            CalculateRequest request = CalculateRequest.builder()
+                    .vehicleType(random.nextBoolean() ? "Mobil" : "Motor")
+                    .vehicleCondition("Bekas")
+                    .vehicleYear(2024)
+                    .totalLoanAmount(totalLoanAmount)
+                    .loanTenure(1 + random.nextInt(6))
+                    .downPayment(downPayment)
+                    .isExisting(IsExisting.N)
+                    .build();
+
+            assertEquals(bigDecimalService.calculate(request), fixedPointService.calculate(request),
+                    request::toString);
+        }
+    }
+}
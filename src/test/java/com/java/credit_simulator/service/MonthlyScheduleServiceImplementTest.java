@@ -0,0 +1,98 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.MonthlyInstallment;
+import com.java.credit_simulator.model.MonthlySchedulePage;
+import com.java.credit_simulator.service.impl.CalculateLoanServiceImplement;
+import com.java.credit_simulator.service.impl.MonthlyScheduleServiceImplement;
+import com.java.credit_simulator.util.IsExisting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonthlyScheduleServiceImplementTest {
+    private MonthlyScheduleServiceImplement monthlyScheduleService;
+
+    private CalculateResponse calculation;
+
+    @BeforeEach
+    void setUp() {
+        monthlyScheduleService = new MonthlyScheduleServiceImplement();
+        ReflectionTestUtils.setField(monthlyScheduleService, "maxPageSize", 72);
+
+        calculation = new CalculateLoanServiceImplement().calculate(CalculateRequest.builder()
+                .vehicleType("Motor")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2023)
+                .totalLoanAmount(123_456_789.0)
+                .loanTenure(6)
+                .downPayment(40_000_000.0)
+                .isExisting(IsExisting.N)
+                .build());
+    }
+
+    @Test
+    void page_MonthsAddUpToYearlyRows() {
+        MonthlySchedulePage whole = monthlyScheduleService.page(calculation, 0, 72);
+        assertEquals(72, whole.getTotalMonths());
+        assertEquals(1, whole.getTotalPages());
+
+        List<CalculateResponse.YearlyInformation> years = calculation.getYearlyInformations();
+        for (int yearIndex = 0; yearIndex < years.size(); yearIndex++) {
+            CalculateResponse.YearlyInformation year = years.get(yearIndex);
+            BigDecimal interest = BigDecimal.ZERO;
+            BigDecimal installments = BigDecimal.ZERO;
+            for (MonthlyInstallment month : whole.getMonths().subList(yearIndex * 12, yearIndex * 12 + 12)) {
+                assertEquals(yearIndex + 1, month.getYear());
+                assertEquals(year.getInstallmentMonthly(), month.getInstallment());
+                assertEquals(month.getInstallment(), month.getPrincipal().add(month.getInterest()));
+                interest = interest.add(month.getInterest());
+                installments = installments.add(month.getInstallment());
+            }
+            assertEquals(year.getTotalLoanAmount().subtract(year.getPrincipalAmount()), interest);
+            assertEquals(year.getInstallmentYearly(), installments);
+
+            // The balance closing a year opens the next one, up to the cent the engine rounds it to
+            BigDecimal closingBalance = whole.getMonths().get(yearIndex * 12 + 11).getOutstandingBalance();
+            BigDecimal openingBalance = yearIndex + 1 < years.size()
+                    ? years.get(yearIndex + 1).getPrincipalAmount()
+                    : BigDecimal.ZERO;
+            assertTrue(closingBalance.subtract(openingBalance).abs().compareTo(new BigDecimal("0.05")) <= 0,
+                    "year " + (yearIndex + 1) + ": " + closingBalance + " vs " + openingBalance);
+        }
+    }
+
+    @Test
+    void page_OnlyRequestedMonths() {
+        MonthlySchedulePage whole = monthlyScheduleService.page(calculation, 0, 72);
+        MonthlySchedulePage page = monthlyScheduleService.page(calculation, 4, 12);
+
+        assertEquals(6, page.getTotalPages());
+        assertEquals(whole.getMonths().subList(48, 60), page.getMonths());
+        assertEquals(60, page.getMonths().get(11).getMonth());
+        assertTrue(monthlyScheduleService.page(calculation, 6, 12).getMonths().isEmpty());
+
+        IllegalArgumentException err = assertThrows(IllegalArgumentException.class,
+                () -> monthlyScheduleService.page(calculation, 0, 73));
+        assertEquals("Page size must be between 1 and 72", err.getMessage());
+    }
+
+    @Test
+    void exportCsv_HeaderAndOneLinePerMonth() {
+        List<String> lines = new ArrayList<>();
+        monthlyScheduleService.exportCsv(calculation).forEach(lines::add);
+
+        assertEquals(73, lines.size());
+        assertEquals("month,year,installment,principal,interest,outstandingBalance\n", lines.get(0));
+        MonthlyInstallment last = monthlyScheduleService.page(calculation, 71, 1).getMonths().get(0);
+        assertEquals("72,6," + last.getInstallment() + "," + last.getPrincipal() + "," + last.getInterest()
+                + "," + last.getOutstandingBalance() + "\n", lines.get(72));
+    }
+}
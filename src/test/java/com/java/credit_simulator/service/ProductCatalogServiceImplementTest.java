@@ -0,0 +1,230 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.service.impl.CalculateLoanServiceImplement;
+import com.java.credit_simulator.service.impl.ProductCatalogServiceImplement;
+import com.java.credit_simulator.util.InterestRateSchedule;
+import com.java.credit_simulator.util.IsExisting;
+import com.java.credit_simulator.util.ProductCatalog;
+import com.java.credit_simulator.util.StepUpRule;
+import com.java.credit_simulator.util.VehicleTypeSpec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductCatalogServiceImplementTest {
+    @TempDir
+    Path directory;
+
+    private ProductCatalogServiceImplement productCatalogService;
+
+    @AfterEach
+    void tearDown() throws IOException, InterruptedException {
+        if (productCatalogService != null) {
+            productCatalogService.stop();
+        }
+        ProductCatalog.install(ProductCatalog.defaults());
+    }
+
+    @Test
+    void defaults_SameRatesAsBefore() {
+        ProductCatalog catalog = ProductCatalog.defaults();
+        InterestRateSchedule interestRateSchedule = catalog.getInterestRateSchedule();
+
+        assertArrayEquals(new double[]{8.0, 8.1, 8.6, 8.7, 9.2, 9.3},
+                interestRateSchedule.getRates(catalog.getVehicleType("Mobil")));
+        assertArrayEquals(new double[]{9.0, 9.1, 9.6, 9.7, 10.2, 10.3},
+                interestRateSchedule.getRates(catalog.getVehicleType("Motor")));
+        assertEquals(0.35, catalog.getVehicleCondition("Baru").getMinimumDownPaymentPercentage());
+        assertTrue(catalog.getVehicleCondition("Baru").isNewVehicle());
+        assertFalse(catalog.getVehicleCondition("Bekas").isNewVehicle());
+
+        assertSame(catalog.getVehicleType("Mobil"), catalog.findVehicleType("  mOBIL\t"));
+        assertSame("Mobil", catalog.findVehicleType("MOBIL").getType());
+        assertNull(catalog.findVehicleType("Mobi"));
+        assertNull(catalog.findVehicleType(""));
+        assertThrows(IllegalArgumentException.class, () -> catalog.getVehicleType("Truk"));
+    }
+
+    @Test
+    void stepUp_DefaultRule_SameAsHandCodedStepUp() {
+        StepUpRule stepUpRule = StepUpRule.compile("every 2 from 2: +0.1; every 2 from 3: +0.5", 6);
+        for (int baseHundredths = 0; baseHundredths <= 3000; baseHundredths += 5) {
+            double baseRate = baseHundredths / 100.0;
+            assertArrayEquals(handCodedStepUp(baseRate), stepUpRule.apply(baseRate), "Base rate " + baseRate);
+        }
+    }
+
+    @Test
+    void stepUp_RulePerVehicleType() {
+        ProductCatalog catalog = ProductCatalog.parse("""
+                {
+                  "vehicleTypes": [
+                    { "type": "Mobil", "baseInterestRate": 8.0 },
+                    { "type": "Motor", "baseInterestRate": 9.0, "stepUp": "years 1-2: +0; YEAR 5: =12; else: +0.25" },
+                    { "type": "Truk", "baseInterestRate": 10.0, "stepUp": "every 3 from 1: -0.5; year 2: +1" }
+                  ],
+                  "vehicleConditions": [ { "condition": "Bekas", "minimumDownPaymentPercentage": 0.25 } ],
+                  "stepUp": "every 2 from 2: +0.1; every 2 from 3: +0.5"
+                }
+                """.getBytes(), 2, "test");
+        InterestRateSchedule interestRateSchedule = catalog.getInterestRateSchedule();
+
+        assertArrayEquals(new double[]{8.0, 8.1, 8.6, 8.7, 9.2, 9.3},
+                interestRateSchedule.getRates(catalog.getVehicleType("Mobil")));
+        assertArrayEquals(new double[]{9.0, 9.0, 9.25, 9.5, 12.0, 12.25},
+                interestRateSchedule.getRates(catalog.getVehicleType("Motor")));
+        assertArrayEquals(new double[]{9.5, 10.5, 10.5, 10.0, 10.0, 10.0},
+                interestRateSchedule.getRates(catalog.getVehicleType("Truk")));
+        assertEquals(925, interestRateSchedule.getRateHundredths(catalog.getVehicleType("Motor"), 3));
+        assertEquals("every 2 from 2: +0.1; every 2 from 3: +0.5", catalog.getVehicleType("Mobil").getStepUpRule().getSource());
+
+        assertInvalidStepUp("year 1 +0.1", "at 8: expected ':'");
+        assertInvalidStepUp("month 1: +0.1", "expected 'year', 'years', 'every' or 'else' but found 'month'");
+        assertInvalidStepUp("years 4-2: +0.1", "'years 4-2' selects no year");
+        assertInvalidStepUp("every 0: +0.1", "years start at 1");
+        assertInvalidStepUp("else: *2", "expected '+', '-' or '='");
+        assertInvalidStepUp("else: +0.1.2", "expected a number");
+        assertInvalidStepUp("else: +0.1 else: +1", "expected ';'");
+        assertInvalidStepUp(" ", "Step-up rule cannot be empty");
+        assertThrows(IllegalArgumentException.class, () -> ProductCatalog.parse(
+                catalog(7.0, "Truk").replace("+0.5", "+50").getBytes(), 2, "test"));
+    }
+
+    @Test
+    void watch_ChangedFile_InstallsNextVersion() throws Exception {
+        Path file = directory.resolve("product-catalog.json");
+        write(file, catalog(7.0, "Truk"));
+        productCatalogService = open(file);
+
+        ProductCatalog loaded = productCatalogService.current();
+        assertEquals(2, loaded.getVersion());
+        assertEquals(7.0, loaded.getInterestRateSchedule().getRate(loaded.getVehicleType("mobil"), 1));
+        assertEquals(3, loaded.getVehicleTypes().size());
+        CalculateResponse response = CalculateLoanServiceImplement.builder().build().calculate(request("truk"));
+        assertEquals(7.0, response.getYearlyInformations().get(0).getInterestRate());
+        assertEquals(7.1, response.getYearlyInformations().get(1).getInterestRate());
+
+        write(file, catalog(6.5, "Bus"));
+        ProductCatalog reloaded = awaitVersion(3);
+        assertEquals(6.5, reloaded.getInterestRateSchedule().getRate(reloaded.getVehicleType("Mobil"), 1));
+        assertNotNull(reloaded.findVehicleType("Bus"));
+        assertNull(reloaded.findVehicleType("Truk"));
+
+        // The snapshot taken before the swap keeps its own rates
+        VehicleTypeSpec oldMobil = loaded.getVehicleType("Mobil");
+        assertEquals(7.0, reloaded.getInterestRateSchedule().getRate(oldMobil, 1));
+        assertEquals(7.0, loaded.getInterestRateSchedule().getRate(oldMobil, 1));
+    }
+
+    @Test
+    void reload_InvalidFile_KeepsSnapshot() throws Exception {
+        Path file = directory.resolve("product-catalog.json");
+        productCatalogService = open(file);
+        assertSame(ProductCatalog.defaults(), productCatalogService.current());
+
+        write(file, catalog(7.0, "MOBIL"));
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> productCatalogService.reload());
+        assertTrue(exception.getMessage().contains("Duplicate name: MOBIL"), exception.getMessage());
+
+        write(file, "{\"vehicleTypes\": [");
+        assertThrows(IllegalArgumentException.class, () -> productCatalogService.reload());
+        assertSame(ProductCatalog.defaults(), productCatalogService.current());
+
+        write(file, catalog(7.0, "Truk"));
+        assertEquals(2, productCatalogService.reload().getVersion());
+        assertEquals(2, productCatalogService.reload().getVersion());
+    }
+
+    private void assertInvalidStepUp(String stepUp, String message) {
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> StepUpRule.compile(stepUp, 6));
+        assertTrue(exception.getMessage().contains(message), exception.getMessage());
+    }
+
+    /**
+     * The step-up as it was hard coded before the rules: +0.1 in year 2, 4, 6 and +0.5 in year 3, 5.
+     */
+    private double[] handCodedStepUp(double baseRate) {
+        double[] rates = new double[6];
+        double rate = baseRate;
+        for (int year = 1; year <= 6; year++) {
+            double additionalRate = 0;
+            boolean isFirstYear = (year - 1) == 0;
+            boolean isEveryTwoYear = (year - 2) % 2 == 1;
+            if (!isFirstYear && !isEveryTwoYear) {
+                additionalRate += 0.1;
+            }
+            if (isEveryTwoYear) {
+                additionalRate += 0.5;
+            }
+            rate = Math.round((rate + additionalRate) * 100.0) / 100.0;
+            rates[year - 1] = rate;
+        }
+        return rates;
+    }
+
+    private ProductCatalogServiceImplement open(Path file) throws IOException {
+        ProductCatalogServiceImplement service = new ProductCatalogServiceImplement(file, true,
+                Duration.ofMillis(50), new SimpleMeterRegistry());
+        service.start();
+        return service;
+    }
+
+    private ProductCatalog awaitVersion(long version) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+        while (ProductCatalog.current().getVersion() < version) {
+            assertTrue(System.nanoTime() < deadline, "Catalog version " + version + " was not installed");
+            Thread.sleep(20);
+        }
+        return ProductCatalog.current();
+    }
+
+    /**
+     * Written next to the file and moved in place, the way the catalog is meant to be deployed.
+     */
+    private void write(Path file, String content) throws IOException {
+        Path temporary = Files.writeString(directory.resolve("catalog.tmp"), content);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private String catalog(double mobilBaseInterestRate, String extraVehicleType) {
+        return """
+                {
+                  "vehicleTypes": [
+                    { "type": "Mobil", "baseInterestRate": %s },
+                    { "type": "Motor", "baseInterestRate": 9.0 },
+                    { "type": "%s", "baseInterestRate": %s }
+                  ],
+                  "vehicleConditions": [
+                    { "condition": "Baru", "minimumDownPaymentPercentage": 0.35, "newVehicle": true },
+                    { "condition": "Bekas", "minimumDownPaymentPercentage": 0.25 }
+                  ],
+                  "stepUp": "every 2 from 2: +0.1; every 2 from 3: +0.5"
+                }
+                """.formatted(mobilBaseInterestRate, extraVehicleType, mobilBaseInterestRate);
+    }
+
+    private CalculateRequest request(String vehicleType) {
+        return CalculateRequest.builder()
+                .vehicleType(vehicleType)
+                .vehicleCondition("Bekas")
+                .vehicleYear(2020)
+                .totalLoanAmount(100_000_000.0)
+                .loanTenure(3)
+                .downPayment(25_000_000.0)
+                .isExisting(IsExisting.N)
+                .build();
+    }
+}
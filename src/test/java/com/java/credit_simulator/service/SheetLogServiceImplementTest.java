@@ -0,0 +1,146 @@
+package com.java.credit_simulator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.CalculationSheet;
+import com.java.credit_simulator.service.impl.SheetLogServiceImplement;
+import com.java.credit_simulator.util.IsExisting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SheetLogServiceImplementTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    private SheetLogServiceImplement sheetLogService;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        sheetLogService.close();
+    }
+
+    @Test
+    void append_GetAndListPages() throws IOException {
+        sheetLogService = open(100, 1000);
+        for (int i = 1; i <= 25; i++) {
+            assertEquals(i, sheetLogService.append(request(i), response(i)).getId());
+        }
+
+        assertEquals(25, sheetLogService.count());
+        CalculationSheet sheet = sheetLogService.get(7).orElseThrow();
+        assertEquals(7, sheet.getId());
+        assertEquals(7_000_000.0, sheet.getRequest().getTotalLoanAmount());
+        assertEquals(new BigDecimal("7.00"), sheet.getResponse().getInstallmentMonthlyAverage());
+        assertTrue(sheetLogService.get(0).isEmpty());
+        assertTrue(sheetLogService.get(26).isEmpty());
+
+        assertEquals(List.of(25L, 24L, 23L, 22L, 21L, 20L, 19L, 18L, 17L, 16L), ids(sheetLogService.list(0, 10)));
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), ids(sheetLogService.list(2, 10)));
+        assertTrue(sheetLogService.list(3, 10).isEmpty());
+    }
+
+    @Test
+    void open_KeepsSheetsOfPreviousRun() throws IOException {
+        sheetLogService = open(100, 1000);
+        sheetLogService.append(request(1), response(1));
+        sheetLogService.append(request(2), response(2));
+        sheetLogService.close();
+
+        sheetLogService = open(100, 1000);
+        assertEquals(2, sheetLogService.count());
+        assertEquals(3, sheetLogService.append(request(3), response(3)).getId());
+        assertEquals(2_000_000.0, sheetLogService.get(2).orElseThrow().getRequest().getTotalLoanAmount());
+    }
+
+    @Test
+    void compact_KeepsNewestSheetsWithTheirIds() throws IOException {
+        sheetLogService = open(10, 5);
+        for (int i = 1; i <= 23; i++) {
+            sheetLogService.append(request(i), response(i));
+        }
+
+        // Compacted after 20 appends, 3 more appended since
+        assertEquals(13, sheetLogService.count());
+        assertTrue(sheetLogService.get(10).isEmpty());
+        assertEquals(11_000_000.0, sheetLogService.get(11).orElseThrow().getRequest().getTotalLoanAmount());
+        assertEquals(List.of(23L, 22L, 21L), ids(sheetLogService.list(0, 3)));
+
+        sheetLogService.compact();
+        assertEquals(10, sheetLogService.count());
+        assertEquals(List.of(17L, 16L, 15L), ids(sheetLogService.list(2, 3)));
+        assertEquals(List.of(14L), ids(sheetLogService.list(3, 3)));
+        assertEquals(List.of(directory.resolve("sheets-14.log"), directory.resolve("sheets.idx")), files());
+
+        sheetLogService.close();
+        sheetLogService = open(10, 5);
+        assertEquals(24, sheetLogService.append(request(24), response(24)).getId());
+        assertEquals(14_000_000.0, sheetLogService.get(14).orElseThrow().getRequest().getTotalLoanAmount());
+    }
+
+    @Test
+    void open_DropsIncompleteRecords() throws IOException {
+        sheetLogService = open(100, 1000);
+        sheetLogService.append(request(1), response(1));
+        sheetLogService.append(request(2), response(2));
+        sheetLogService.close();
+
+        // Crash while appending: part of a record in the log, index entry written or not
+        Files.writeString(directory.resolve("sheets-1.log"), "{\"id\":3,\"savedAt\"", StandardOpenOption.APPEND);
+        Files.write(directory.resolve("sheets.idx"), new byte[]{0, 0, 0}, StandardOpenOption.APPEND);
+        // Left over from an interrupted compaction
+        Files.writeString(directory.resolve("sheets-2.log"), "");
+
+        sheetLogService = open(100, 1000);
+        assertEquals(2, sheetLogService.count());
+        assertEquals(3, sheetLogService.append(request(3), response(3)).getId());
+        assertEquals(List.of(3L, 2L, 1L), ids(sheetLogService.list(0, 10)));
+        assertEquals(List.of(directory.resolve("sheets-1.log"), directory.resolve("sheets.idx")), files());
+    }
+
+    private SheetLogServiceImplement open(int maxSheets, int compactEvery) {
+        return new SheetLogServiceImplement(directory, maxSheets, compactEvery, objectMapper);
+    }
+
+    private List<Path> files() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static List<Long> ids(List<CalculationSheet> sheets) {
+        return sheets.stream().map(CalculationSheet::getId).toList();
+    }
+
+    private static CalculateRequest request(int i) {
+        return CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(i * 1_000_000.0)
+                .loanTenure(1)
+                .downPayment(i * 250_000.0)
+                .isExisting(IsExisting.N)
+                .build();
+    }
+
+    private static CalculateResponse response(int i) {
+        return CalculateResponse.builder()
+                .yearlyInformations(new ArrayList<>())
+                .installmentMonthlyAverage(new BigDecimal(i + ".00"))
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.java.credit_simulator.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.service.impl.StreamCalculateServiceImplement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class StreamCalculateServiceImplementTest {
+    @Mock
+    private CreditSimulatorService creditSimulatorService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExecutorService calculationExecutor;
+
+    private StreamCalculateService streamCalculateService;
+
+    @BeforeEach
+    void setUp() {
+        calculationExecutor = Executors.newFixedThreadPool(4);
+        streamCalculateService = new StreamCalculateServiceImplement(creditSimulatorService, objectMapper,
+                calculationExecutor, 8);
+
+        // Echo the loan tenure back after a random delay, so late lines often finish first
+        when(creditSimulatorService.calculate(any(CalculateRequest.class))).thenAnswer(invocation -> {
+            CalculateRequest request = invocation.getArgument(0);
+            if (request.getLoanTenure() == 0) {
+                throw new IllegalArgumentException("Loan tenure must be between 1 and 6 years");
+            }
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+            return CalculateResponse.builder()
+                    .yearlyInformations(new ArrayList<>())
+                    .installmentMonthlyAverage(BigDecimal.valueOf(request.getLoanTenure()))
+                    .build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        calculationExecutor.shutdownNow();
+    }
+
+    @Test
+    void calculate_KeepsInputOrder() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 1; i <= 200; i++) {
+            input.append(requestLine(i % 7)).append('\n');
+            if (i == 100) {
+                input.append("\n{not json}\n");
+            }
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamCalculateService.calculate(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(201, lines.length);
+        for (int i = 1; i <= 200; i++) {
+            JsonNode line = objectMapper.readTree(lines[i <= 100 ? i - 1 : i]);
+            if (i % 7 == 0) {
+                assertEquals("Loan tenure must be between 1 and 6 years", line.get("errors").asText());
+            } else {
+                assertEquals(i % 7, line.get("data").get("installmentMonthlyAverage").asInt(), "line " + i);
+            }
+        }
+        assertEquals("Malformed request at line 102", objectMapper.readTree(lines[100]).get("errors").asText());
+    }
+
+    @Test
+    void calculate_AnswersEachLineWithoutWaitingForTheNext() throws Exception {
+        PipedOutputStream producer = new PipedOutputStream();
+        PipedInputStream requests = new PipedInputStream(producer);
+        PipedInputStream results = new PipedInputStream();
+        OutputStream resultSink = new PipedOutputStream(results);
+        // A pipe fails once the last thread that read it has ended, so every read of a pipe stays on
+        // one live thread: one for the stream, one for the answers
+        ExecutorService pipeThreads = Executors.newFixedThreadPool(2);
+        List<String> answers = new ArrayList<>();
+        try {
+            CompletableFuture<Void> stream = CompletableFuture.runAsync(() -> {
+                try (resultSink) {
+                    streamCalculateService.calculate(requests, resultSink);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, pipeThreads);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(results, StandardCharsets.UTF_8));
+
+            for (int tenure = 1; tenure <= 3; tenure++) {
+                producer.write((requestLine(tenure) + "\n").getBytes(StandardCharsets.UTF_8));
+                producer.flush();
+                answers.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return reader.readLine();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, pipeThreads).get(5, TimeUnit.SECONDS));
+            }
+            producer.close();
+            stream.get(5, TimeUnit.SECONDS);
+        } finally {
+            pipeThreads.shutdownNow();
+        }
+
+        for (int tenure = 1; tenure <= 3; tenure++) {
+            assertEquals(tenure, objectMapper.readTree(answers.get(tenure - 1))
+                    .get("data").get("installmentMonthlyAverage").asInt());
+        }
+    }
+
+    private static String requestLine(int loanTenure) {
+        return "{\"vehicleType\":\"Mobil\",\"vehicleCondition\":\"Bekas\",\"vehicleYear\":2024,"
+                + "\"totalLoanAmount\":100000000,\"loanTenure\":" + loanTenure
+                + ",\"downPayment\":25000000,\"isExisting\":\"N\"}";
+    }
+}
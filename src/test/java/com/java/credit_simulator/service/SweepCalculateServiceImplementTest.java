@@ -0,0 +1,109 @@
+package com.java.credit_simulator.service;
+
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.SweepRequest;
+import com.java.credit_simulator.model.SweepResponse;
+import com.java.credit_simulator.service.impl.CalculateLoanServiceImplement;
+import com.java.credit_simulator.service.impl.SweepCalculateServiceImplement;
+import com.java.credit_simulator.util.IsExisting;
+import com.java.credit_simulator.util.ProductCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class SweepCalculateServiceImplementTest {
+    private CreditSimulatorService creditSimulatorService;
+
+    private SweepCalculateServiceImplement sweepCalculateService;
+
+    @BeforeEach
+    void setUp() {
+        CreditSimulatorService validator = new CreditSimulatorServiceFixture().creditSimulatorService();
+
+        // Counts validations while keeping the real rules
+        creditSimulatorService = mock(CreditSimulatorService.class);
+        doAnswer(invocation -> {
+            validator.validate(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(creditSimulatorService).validate(any(CalculateRequest.class), any(ProductCatalog.class));
+
+        sweepCalculateService = new SweepCalculateServiceImplement(creditSimulatorService);
+        ReflectionTestUtils.setField(sweepCalculateService, "maxScenarios", 200);
+    }
+
+    @Test
+    void calculate_EveryCellSameAsCalculateEndpoint() {
+        SweepResponse response = sweepCalculateService.calculate(SweepRequest.builder()
+                .vehicleCondition("Bekas")
+                .vehicleYear(2024)
+                .totalLoanAmount(123_456_789.0)
+                .minDownPaymentPercentage(new BigDecimal("25"))
+                .maxDownPaymentPercentage(new BigDecimal("60"))
+                .downPaymentPercentageStep(new BigDecimal("2.5"))
+                .build());
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), response.getLoanTenures());
+        assertEquals(15, response.getDownPaymentPercentages().size());
+        assertEquals(2, response.getMatrices().size());
+        verify(creditSimulatorService, times(2)).validate(any(CalculateRequest.class), same(ProductCatalog.current()));
+
+        CalculateLoanServiceImplement calculateLoanService = new CalculateLoanServiceImplement();
+        for (SweepResponse.Matrix matrix : response.getMatrices()) {
+            for (int row = 0; row < response.getDownPayments().size(); row++) {
+                for (int column = 0; column < response.getLoanTenures().size(); column++) {
+                    CalculateResponse expected = calculateLoanService.calculate(CalculateRequest.builder()
+                            .vehicleType(matrix.getVehicleType())
+                            .vehicleCondition("Bekas")
+                            .vehicleYear(2024)
+                            .totalLoanAmount(123_456_789.0)
+                            .loanTenure(response.getLoanTenures().get(column))
+                            .downPayment(response.getDownPayments().get(row).doubleValue())
+                            .isExisting(IsExisting.N)
+                            .build());
+
+                    assertEquals(expected.getInstallmentMonthlyAverage(),
+                            matrix.getInstallmentMonthlyAverage().get(row).get(column));
+                    assertEquals(expected.getYearlyInformations().get(0).getInstallmentMonthly(),
+                            matrix.getInstallmentMonthlyFirstYear().get(row).get(column));
+                }
+            }
+        }
+    }
+
+    @Test
+    void calculate_RejectsGridBreakingRulesOrSizeLimit() {
+        SweepRequest belowMinimumDownPayment = SweepRequest.builder()
+                .vehicleTypes(List.of("Motor"))
+                .vehicleCondition("Baru")
+                .vehicleYear(2025)
+                .totalLoanAmount(100_000_000.0)
+                .minDownPaymentPercentage(new BigDecimal("30"))
+                .maxDownPaymentPercentage(new BigDecimal("50"))
+                .build();
+        IllegalArgumentException err = assertThrows(IllegalArgumentException.class,
+                () -> sweepCalculateService.calculate(belowMinimumDownPayment));
+        assertTrue(err.getMessage().startsWith("Down payment must be at least 35%"));
+
+        SweepRequest oversized = belowMinimumDownPayment.toBuilder().build();
+        oversized.setMinDownPaymentPercentage(new BigDecimal("35"));
+        oversized.setMaxDownPaymentPercentage(new BigDecimal("100"));
+        oversized.setDownPaymentPercentageStep(new BigDecimal("1"));
+        err = assertThrows(IllegalArgumentException.class, () -> sweepCalculateService.calculate(oversized));
+        assertEquals("Sweep of 396 scenarios exceeds the maximum of 200", err.getMessage());
+
+        SweepRequest hugeRange = oversized.toBuilder()
+                .minDownPaymentPercentage(new BigDecimal("-1E+30"))
+                .downPaymentPercentageStep(new BigDecimal("0.01"))
+                .build();
+        err = assertThrows(IllegalArgumentException.class, () -> sweepCalculateService.calculate(hugeRange));
+        assertTrue(err.getMessage().endsWith("scenarios exceeds the maximum of 200"), err.getMessage());
+    }
+}
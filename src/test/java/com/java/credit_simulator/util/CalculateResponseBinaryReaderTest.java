@@ -0,0 +1,165 @@
+package com.java.credit_simulator.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.WebResponse;
+import com.java.credit_simulator.service.impl.CalculateLoanServiceImplement;
+import com.java.credit_simulator.service.impl.FixedPointCalculateLoanServiceImplement;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalculateResponseBinaryReaderTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final CalculateLoanServiceImplement calculateLoanService = CalculateLoanServiceImplement.builder().build();
+
+    @Test
+    void readResponse_Calculations_SameJsonAsEncoded() throws Exception {
+        FixedPointCalculateLoanServiceImplement fixedPointService = FixedPointCalculateLoanServiceImplement.builder().build();
+        Random random = new Random(20261017L);
+
+        for (int i = 0; i < 5_000; i++) {
+            CalculateRequest request = request(random);
+            for (CalculateResponse calculateResponse : List.of(calculateLoanService.calculate(request),
+                    fixedPointService.calculate(request))) {
+                WebResponse<CalculateResponse> response = WebResponse.<CalculateResponse>builder().data(calculateResponse).build();
+                byte[] message = CalculateResponseBinaryWriter.get().writeResponse(response).toByteArray();
+                String json = objectMapper.writeValueAsString(response);
+
+                assertEquals(json, objectMapper.writeValueAsString(CalculateResponseBinaryReader.readResponse(message)));
+                assertTrue(message.length < json.length() / 2, json);
+            }
+        }
+    }
+
+    @Test
+    void readBatch_ErrorsAndNulls_SameJsonAsEncoded() throws Exception {
+        Random random = new Random(7L);
+        List<WebResponse<CalculateResponse>> results = new ArrayList<>();
+        assertBatchRoundTrip(WebResponse.<List<WebResponse<CalculateResponse>>>builder().data(results).build());
+
+        for (int i = 0; i < 20; i++) {
+            results.add(WebResponse.<CalculateResponse>builder().data(calculateLoanService.calculate(request(random))).build());
+        }
+        results.add(WebResponse.<CalculateResponse>builder().errors("Loan tenure must be between 1 and 6 years").build());
+        results.add(WebResponse.<CalculateResponse>builder().errors("").build());
+        results.add(WebResponse.<CalculateResponse>builder().errors("Jenis kendaraan \u00e9 \ud83d\ude97").build());
+        results.add(new WebResponse<>());
+        results.add(null);
+        results.add(WebResponse.<CalculateResponse>builder().data(new CalculateResponse()).build());
+        results.add(WebResponse.<CalculateResponse>builder().data(CalculateResponse.builder()
+                .yearlyInformations(List.of())
+                .installmentMonthlyAverage(new BigDecimal("-0.01"))
+                .build()).build());
+        results.add(WebResponse.<CalculateResponse>builder().data(CalculateResponse.builder()
+                .yearlyInformations(List.of(new CalculateResponse.YearlyInformation(1, null, new BigDecimal("1.50"),
+                        null, new BigDecimal("92233720368547758.07"), new BigDecimal("-92233720368547758.07"))))
+                .build()).build());
+        assertBatchRoundTrip(WebResponse.<List<WebResponse<CalculateResponse>>>builder().data(results).build());
+        assertBatchRoundTrip(WebResponse.<List<WebResponse<CalculateResponse>>>builder().errors("Batch is empty").build());
+    }
+
+    @Test
+    void writeResponse_FixedWidthRows() {
+        CalculateResponse calculateResponse = calculateLoanService.calculate(CalculateRequest.builder()
+                .vehicleType("Mobil")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2020)
+                .totalLoanAmount(100_000_000.0)
+                .loanTenure(3)
+                .downPayment(25_000_000.0)
+                .isExisting(IsExisting.N)
+                .build());
+        byte[] message = CalculateResponseBinaryWriter.get()
+                .writeResponse(WebResponse.<CalculateResponse>builder().data(calculateResponse).build())
+                .toByteArray();
+
+        ByteBuffer buffer = ByteBuffer.wrap(message);
+        assertArrayEquals(new byte[]{'L', 'N', 1, 1, 2, 2, 0, 0}, Arrays.copyOf(message, 8));
+        assertEquals(8 + 1 + 8 + 4 + 3 * 6 * 8, message.length);
+        assertEquals(0x05, buffer.get(8));
+        assertEquals(244122450L, buffer.getLong(9));
+        assertEquals(3, buffer.getInt(17));
+        // Year 3: year, rate, principal, total loan, monthly and yearly installment
+        assertEquals(3L, buffer.getLong(21 + 2 * 48));
+        assertEquals(860L, buffer.getLong(21 + 2 * 48 + 8));
+        assertEquals(2918700000L, buffer.getLong(21 + 2 * 48 + 16));
+        assertEquals(3169708200L, buffer.getLong(21 + 2 * 48 + 24));
+        assertEquals(264142350L, buffer.getLong(21 + 2 * 48 + 32));
+        assertEquals(3169708200L, buffer.getLong(21 + 2 * 48 + 40));
+    }
+
+    @Test
+    void writeResponse_MoreDecimalsThanFormat_Rejected() {
+        assertRejected(new CalculateResponse.YearlyInformation(1, 8.125, null, null, null, null), "Interest rate 8.125");
+        assertRejected(new CalculateResponse.YearlyInformation(1, 8.1, new BigDecimal("0.001"), null, null, null),
+                "principalAmount 0.001");
+        assertRejected(new CalculateResponse.YearlyInformation(1, 8.1, null, new BigDecimal("1E+20"), null, null),
+                "totalLoanAmount 1E+20");
+    }
+
+    @Test
+    void read_InvalidMessage_Rejected() {
+        byte[] message = CalculateResponseBinaryWriter.get()
+                .writeResponse(WebResponse.<CalculateResponse>builder().errors("error").build())
+                .toByteArray();
+        assertEquals("error", CalculateResponseBinaryReader.readResponse(message).getErrors());
+
+        assertInvalid(() -> CalculateResponseBinaryReader.readBatch(message), "expected kind 2 but found 1");
+        assertInvalid(() -> CalculateResponseBinaryReader.readResponse(Arrays.copyOf(message, 10)),
+                "truncated message");
+        assertInvalid(() -> CalculateResponseBinaryReader.readResponse(Arrays.copyOf(message, message.length + 1)),
+                "1 bytes after the message");
+        assertInvalid(() -> CalculateResponseBinaryReader.readResponse("{\"data\":null}".getBytes()),
+                "not a loan binary response");
+        byte[] nextVersion = message.clone();
+        nextVersion[2] = 2;
+        assertInvalid(() -> CalculateResponseBinaryReader.readResponse(nextVersion), "unsupported version 2");
+        byte[] oversizedErrors = message.clone();
+        oversizedErrors[9] = 1;
+        assertInvalid(() -> CalculateResponseBinaryReader.readResponse(oversizedErrors), "past the end of the message");
+    }
+
+    private void assertBatchRoundTrip(WebResponse<List<WebResponse<CalculateResponse>>> response) throws Exception {
+        byte[] message = CalculateResponseBinaryWriter.get().writeBatch(response).toByteArray();
+        assertEquals(objectMapper.writeValueAsString(response),
+                objectMapper.writeValueAsString(CalculateResponseBinaryReader.readBatch(message)));
+    }
+
+    private void assertRejected(CalculateResponse.YearlyInformation yearlyInformation, String message) {
+        WebResponse<CalculateResponse> response = WebResponse.<CalculateResponse>builder()
+                .data(CalculateResponse.builder().yearlyInformations(List.of(yearlyInformation)).build())
+                .build();
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CalculateResponseBinaryWriter.get().writeResponse(response));
+        assertTrue(exception.getMessage().startsWith(message), exception.getMessage());
+    }
+
+    private void assertInvalid(Runnable read, String message) {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, read::run);
+        assertTrue(exception.getMessage().contains(message), exception.getMessage());
+    }
+
+    private CalculateRequest request(Random random) {
+        double totalLoanAmount = 1_000_000 + random.nextInt(999_000_001) + random.nextInt(100) / 100.0;
+        return CalculateRequest.builder()
+                .vehicleType(random.nextBoolean() ? "Mobil" : "Motor")
+                .vehicleCondition("Bekas")
+                .vehicleYear(2020)
+                .totalLoanAmount(totalLoanAmount)
+                .loanTenure(1 + random.nextInt(6))
+                .downPayment(Math.round(totalLoanAmount * (0.25 + random.nextDouble() * 0.7) * 100) / 100.0)
+                .isExisting(IsExisting.N)
+                .build();
+    }
+}
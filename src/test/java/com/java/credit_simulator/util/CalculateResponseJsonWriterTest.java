@@ -0,0 +1,152 @@
+package com.java.credit_simulator.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.credit_simulator.model.CalculateRequest;
+import com.java.credit_simulator.model.CalculateResponse;
+import com.java.credit_simulator.model.WebResponse;
+import com.java.credit_simulator.service.impl.CalculateLoanServiceImplement;
+import com.java.credit_simulator.service.impl.FixedPointCalculateLoanServiceImplement;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalculateResponseJsonWriterTest {
+    /** Built the way Spring Boot builds the application's mapper */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void writeResponse_Calculations_SameBytesAsJackson() throws Exception {
+        CalculateLoanServiceImplement bigDecimalService = CalculateLoanServiceImplement.builder().build();
+        FixedPointCalculateLoanServiceImplement fixedPointService = FixedPointCalculateLoanServiceImplement.builder().build();
+        Random random = new Random(20261017L);
+
+        for (int i = 0; i < 5_000; i++) {
+            double totalLoanAmount = 1_000_000 + random.nextInt(999_000_001) + (i % 2 == 0 ? 0 : random.nextInt(100) / 100.0);
+            double downPayment = Math.round(totalLoanAmount * (0.35 + random.nextDouble() * 0.6) * 100) / 100.0;
+            CalculateRequest request = CalculateRequest.builder()
+                    .vehicleType(random.nextBoolean() ? "Mobil" : "Motor")
+                    .vehicleCondition(random.nextBoolean() ? "Baru" : "Bekas")
+                    .vehicleYear(2025)
+                    .totalLoanAmount(totalLoanAmount)
+                    .loanTenure(1 + random.nextInt(6))
+                    .downPayment(downPayment)
+                    .isExisting(IsExisting.N)
+                    .build();
+
+            assertSameBytes(WebResponse.<CalculateResponse>builder().data(bigDecimalService.calculate(request)).build());
+            assertSameBytes(WebResponse.<CalculateResponse>builder().data(fixedPointService.calculate(request)).build());
+        }
+    }
+
+    @Test
+    void writeResponse_NullsAndErrors_SameBytesAsJackson() throws Exception {
+        assertSameBytes(new WebResponse<>());
+        assertSameBytes(WebResponse.<CalculateResponse>builder().data(new CalculateResponse()).build());
+        assertSameBytes(WebResponse.<CalculateResponse>builder().data(CalculateResponse.builder()
+                .yearlyInformations(Arrays.asList(new CalculateResponse.YearlyInformation(), null))
+                .build()).build());
+        assertSameBytes(WebResponse.<CalculateResponse>builder().data(CalculateResponse.builder()
+                .yearlyInformations(List.of())
+                .installmentMonthlyAverage(BigDecimal.ZERO)
+                .build()).build());
+
+        for (String errors : List.of("", "Invalid vehicle type: Truk", "quote \" backslash \\ slash /",
+                "tab\t new line\n return\r back\b feed\f nul\u0000 unit\u001F del\u007F",
+                "Rp 1.000.000 \u2013 jenis kendaraan \u00e9\u00e8 \u4e2d\u6587 \ud83d\ude97",
+                "lone \ud83d surrogate \ude97")) {
+            assertSameBytes(WebResponse.<CalculateResponse>builder().errors(errors).build());
+        }
+    }
+
+    @Test
+    void writeResponse_UnusualNumbers_SameBytesAsJackson() throws Exception {
+        List<String> amounts = List.of("0", "0.00", "-0.01", "1E+3", "-1.5E+7", "0.1000", "0.00001", "-12345.6789",
+                "999999999999.99", "99999999999.9999", "1000000000000000", "123456789012345678.90",
+                "0.30000000000000004", "1E-20", "4503599627370496.5");
+        for (String amount : amounts) {
+            BigDecimal value = new BigDecimal(amount);
+            assertSameBytes(WebResponse.<CalculateResponse>builder().data(CalculateResponse.builder()
+                    .yearlyInformations(List.of(new CalculateResponse.YearlyInformation(
+                            Integer.MIN_VALUE, -0.5, value, value.negate(), value.movePointLeft(2), value.setScale(4, RoundingMode.HALF_UP))))
+                    .installmentMonthlyAverage(value)
+                    .build()).build());
+        }
+
+        double[] rates = {0.0, -0.0, 0.001, 1e-5, 0.015, 1000.0, 1000.01, 1234567.0, 1e7, 1e22, Double.MIN_VALUE,
+                Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (double rate : rates) {
+            assertSameBytes(WebResponse.<CalculateResponse>builder().data(CalculateResponse.builder()
+                    .yearlyInformations(List.of(new CalculateResponse.YearlyInformation(1, rate, null, null, null, null)))
+                    .build()).build());
+        }
+    }
+
+    @Test
+    void writeDouble_EveryRateInHundredths_SameAsDoubleToString() throws Exception {
+        for (int hundredths = 1; hundredths <= 100_000; hundredths++) {
+            double rate = hundredths / 100.0;
+            String expected = "{\"data\":{\"yearlyInformations\":[{\"year\":1,\"interestRate\":" + rate
+                    + ",\"principalAmount\":null,\"totalLoanAmount\":null,\"installmentMonthly\":null,"
+                    + "\"installmentYearly\":null}],\"installmentMonthlyAverage\":null},\"errors\":null}";
+            assertEquals(expected, CalculateResponseJsonWriter.get().writeResponse(WebResponse.<CalculateResponse>builder()
+                    .data(CalculateResponse.builder()
+                            .yearlyInformations(List.of(new CalculateResponse.YearlyInformation(1, rate, null, null, null, null)))
+                            .build())
+                    .build()).toString());
+        }
+    }
+
+    @Test
+    void writeBatch_SameBytesAsJackson() throws Exception {
+        CalculateLoanServiceImplement calculateLoanService = CalculateLoanServiceImplement.builder().build();
+        List<WebResponse<CalculateResponse>> results = new ArrayList<>();
+        assertSameBatchBytes(WebResponse.<List<WebResponse<CalculateResponse>>>builder().data(results).build());
+
+        for (int loanTenure = 1; loanTenure <= 6; loanTenure++) {
+            results.add(WebResponse.<CalculateResponse>builder().data(calculateLoanService.calculate(CalculateRequest.builder()
+                    .vehicleType("Mobil")
+                    .vehicleCondition("Bekas")
+                    .vehicleYear(2020)
+                    .totalLoanAmount(250_000_000.0)
+                    .loanTenure(loanTenure)
+                    .downPayment(62_500_000.0)
+                    .isExisting(IsExisting.N)
+                    .build())).build());
+        }
+        results.add(WebResponse.<CalculateResponse>builder().errors("Loan tenure must be between 1 and 6 years").build());
+        results.add(null);
+        assertSameBatchBytes(WebResponse.<List<WebResponse<CalculateResponse>>>builder().data(results).build());
+        assertSameBatchBytes(WebResponse.<List<WebResponse<CalculateResponse>>>builder().errors("Batch is empty").build());
+    }
+
+    @Test
+    void get_ReusesBufferPerThread() {
+        WebResponse<CalculateResponse> response = WebResponse.<CalculateResponse>builder().errors("error").build();
+        CalculateResponseJsonWriter writer = CalculateResponseJsonWriter.get().writeResponse(response).writeNewLine();
+        assertEquals("{\"data\":null,\"errors\":\"error\"}\n", writer.toString());
+
+        assertSame(writer, CalculateResponseJsonWriter.get());
+        assertEquals(0, writer.size());
+        assertEquals("{\"data\":null,\"errors\":\"error\"}", writer.writeResponse(response).toString());
+    }
+
+    private void assertSameBytes(WebResponse<CalculateResponse> response) throws Exception {
+        assertArrayEquals(objectMapper.writeValueAsBytes(response),
+                CalculateResponseJsonWriter.get().writeResponse(response).toByteArray(),
+                () -> response + " was written as " + CalculateResponseJsonWriter.get().writeResponse(response));
+    }
+
+    private void assertSameBatchBytes(WebResponse<List<WebResponse<CalculateResponse>>> response) throws Exception {
+        assertArrayEquals(objectMapper.writeValueAsBytes(response),
+                CalculateResponseJsonWriter.get().writeBatch(response).toByteArray(),
+                () -> response + " was written as " + CalculateResponseJsonWriter.get().writeBatch(response));
+    }
+}